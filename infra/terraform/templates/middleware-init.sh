@@ -173,8 +173,22 @@ openssl pkcs12 -export -in client-cert.pem -inkey client-key.pem \
 keytool -importcert -alias root-ca -file root-ca.pem -keystore client-truststore.p12 \
     -storetype PKCS12 -storepass "$PASSWORD" -noprompt
 
+# Create an empty CRL (middleware revocation check reloads it when replaced)
+touch crl-index.txt
+cat > crl.cnf << 'CRLEOF'
+[ca]
+default_ca = root_ca
+[root_ca]
+database = crl-index.txt
+certificate = root-ca.pem
+private_key = root-ca-key.pem
+default_md = sha256
+default_crl_days = 30
+CRLEOF
+openssl ca -config crl.cnf -gencrl -out crl.pem
+
 # Cleanup temp files
-rm -f *.csr *.srl *.cnf
+rm -f *.csr *.srl *.cnf crl-index.txt*
 
 # Set permissions
 chmod 644 $CERTS_DIR/*.pem
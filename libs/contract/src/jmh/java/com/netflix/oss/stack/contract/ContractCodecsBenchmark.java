@@ -0,0 +1,187 @@
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the contract types on the user-bff / mtls-middleware / core-backend
+ * hops against the per-service mutable beans they replaced, mapped reflectively
+ * by an ObjectMapper configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractCodecsBenchmark {
+
+    private final ObjectMapper legacyMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private ProcessRequest request;
+    private MiddlewareResponse response;
+    private LegacyProcessRequest legacyRequest;
+    private LegacyMiddlewareResponse legacyResponse;
+    private byte[] requestJson;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        request = new ProcessRequest("payment", "Process transaction", 150.00);
+        response = MiddlewareResponse.builder()
+                .backendResponse(ProcessResponse.builder()
+                        .requestId("6f1c2a52-3b7e-4f0e-9a51-2d7c6b8e4f10")
+                        .originalType("payment")
+                        .originalMessage("Process transaction")
+                        .originalAmount(150.00)
+                        .computedOutput("Processed payment request: 'Process transaction' with amount 150.00 (fee 2.25)")
+                        .processedBy("core-backend")
+                        .instanceInfo("ip-10-0-1-23")
+                        .timestamp("2024-01-15T10:30:00.123456Z")
+                        .clientCertSubject("CN=user-bff,OU=Services,O=Netflix OSS Stack")
+                        .clientCertSerial("1A2B3C4D")
+                        .build())
+                .middlewareProcessed(true)
+                .clientCertSubject("CN=user-bff,OU=Services,O=Netflix OSS Stack")
+                .clientCertSerial("1A2B3C4D")
+                .build();
+
+        requestJson = ContractCodecs.PROCESS_REQUEST_WRITER.writeValueAsBytes(request);
+        responseJson = ContractCodecs.MIDDLEWARE_RESPONSE_WRITER.writeValueAsBytes(response);
+        legacyRequest = legacyMapper.readValue(requestJson, LegacyProcessRequest.class);
+        legacyResponse = legacyMapper.readValue(responseJson, LegacyMiddlewareResponse.class);
+        if (!new String(legacyMapper.writeValueAsBytes(legacyResponse)).equals(new String(responseJson))) {
+            throw new IllegalStateException("Contract codecs and reflective mapping disagree");
+        }
+    }
+
+    @Benchmark
+    public ProcessRequest readRequest() throws IOException {
+        return ContractCodecs.PROCESS_REQUEST_READER.readValue(requestJson);
+    }
+
+    @Benchmark
+    public LegacyProcessRequest legacyReadRequest() throws IOException {
+        return legacyMapper.readValue(requestJson, LegacyProcessRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return ContractCodecs.PROCESS_REQUEST_WRITER.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] legacyWriteRequest() throws IOException {
+        return legacyMapper.writeValueAsBytes(legacyRequest);
+    }
+
+    @Benchmark
+    public MiddlewareResponse readResponse() throws IOException {
+        return ContractCodecs.MIDDLEWARE_RESPONSE_READER.readValue(responseJson);
+    }
+
+    @Benchmark
+    public LegacyMiddlewareResponse legacyReadResponse() throws IOException {
+        return legacyMapper.readValue(responseJson, LegacyMiddlewareResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return ContractCodecs.MIDDLEWARE_RESPONSE_WRITER.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] legacyWriteResponse() throws IOException {
+        return legacyMapper.writeValueAsBytes(legacyResponse);
+    }
+
+    /** First read on a fresh mapper, as on a service's first request: codec lookup and bean introspection. */
+    @Benchmark
+    public MiddlewareResponse firstReadResponse() throws IOException {
+        return JsonMapper.builder().build().readValue(responseJson, MiddlewareResponse.class);
+    }
+
+    @Benchmark
+    public LegacyMiddlewareResponse legacyFirstReadResponse() throws IOException {
+        return JsonMapper.builder().build().readValue(responseJson, LegacyMiddlewareResponse.class);
+    }
+
+    public static class LegacyProcessRequest {
+        private String type;
+        private String message;
+        private double amount;
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+        public double getAmount() { return amount; }
+        public void setAmount(double amount) { this.amount = amount; }
+    }
+
+    public static class LegacyBackendResponse {
+        private String requestId;
+        private String originalType;
+        private String originalMessage;
+        private double originalAmount;
+        private String computedOutput;
+        private String processedBy;
+        private String instanceInfo;
+        private String timestamp;
+        private String clientCertSubject;
+        private String clientCertSerial;
+
+        public String getRequestId() { return requestId; }
+        public void setRequestId(String requestId) { this.requestId = requestId; }
+        public String getOriginalType() { return originalType; }
+        public void setOriginalType(String originalType) { this.originalType = originalType; }
+        public String getOriginalMessage() { return originalMessage; }
+        public void setOriginalMessage(String originalMessage) { this.originalMessage = originalMessage; }
+        public double getOriginalAmount() { return originalAmount; }
+        public void setOriginalAmount(double originalAmount) { this.originalAmount = originalAmount; }
+        public String getComputedOutput() { return computedOutput; }
+        public void setComputedOutput(String computedOutput) { this.computedOutput = computedOutput; }
+        public String getProcessedBy() { return processedBy; }
+        public void setProcessedBy(String processedBy) { this.processedBy = processedBy; }
+        public String getInstanceInfo() { return instanceInfo; }
+        public void setInstanceInfo(String instanceInfo) { this.instanceInfo = instanceInfo; }
+        public String getTimestamp() { return timestamp; }
+        public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+        public String getClientCertSubject() { return clientCertSubject; }
+        public void setClientCertSubject(String clientCertSubject) { this.clientCertSubject = clientCertSubject; }
+        public String getClientCertSerial() { return clientCertSerial; }
+        public void setClientCertSerial(String clientCertSerial) { this.clientCertSerial = clientCertSerial; }
+    }
+
+    public static class LegacyMiddlewareResponse {
+        private LegacyBackendResponse backendResponse;
+        private boolean middlewareProcessed;
+        private String clientCertSubject;
+        private String clientCertSerial;
+
+        public LegacyBackendResponse getBackendResponse() { return backendResponse; }
+        public void setBackendResponse(LegacyBackendResponse backendResponse) { this.backendResponse = backendResponse; }
+        public boolean isMiddlewareProcessed() { return middlewareProcessed; }
+        public void setMiddlewareProcessed(boolean middlewareProcessed) { this.middlewareProcessed = middlewareProcessed; }
+        public String getClientCertSubject() { return clientCertSubject; }
+        public void setClientCertSubject(String clientCertSubject) { this.clientCertSubject = clientCertSubject; }
+        public String getClientCertSerial() { return clientCertSerial; }
+        public void setClientCertSerial(String clientCertSerial) { this.clientCertSerial = clientCertSerial; }
+    }
+}
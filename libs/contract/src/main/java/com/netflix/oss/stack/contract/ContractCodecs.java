@@ -0,0 +1,288 @@
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * JSON codecs for the contract types. The models name the hand-written
+ * serializers and deserializers below in their Jackson annotations, so every
+ * ObjectMapper (Spring MVC's, RestTemplate's, this class's) uses them instead
+ * of bean introspection and reflective access. They stream the same JSON as the
+ * reflective mapping of the old mutable models did: same field order, nulls
+ * written out, unknown fields skipped. Responses leave out the fields their
+ * {@link FieldSet} excludes, and missing fields read as null, 0 or false. A
+ * string field only takes a JSON string or null, and numbers and booleans go
+ * through Jackson's usual coercion, so anything else fails the read as it did.
+ * <p>
+ * Code that reads or writes the types directly should use the pre-built
+ * readers and writers, which resolve their codec once instead of per call.
+ */
+public final class ContractCodecs {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public static final ObjectReader PROCESS_REQUEST_READER = MAPPER.readerFor(ProcessRequest.class);
+    public static final ObjectWriter PROCESS_REQUEST_WRITER = MAPPER.writerFor(ProcessRequest.class);
+    public static final ObjectReader PROCESS_RESPONSE_READER = MAPPER.readerFor(ProcessResponse.class);
+    public static final ObjectWriter PROCESS_RESPONSE_WRITER = MAPPER.writerFor(ProcessResponse.class);
+    public static final ObjectReader MIDDLEWARE_RESPONSE_READER = MAPPER.readerFor(MiddlewareResponse.class);
+    public static final ObjectWriter MIDDLEWARE_RESPONSE_WRITER = MAPPER.writerFor(MiddlewareResponse.class);
+
+    // Field names quoted and encoded once
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString REQUEST_ID = new SerializedString("requestId");
+    private static final SerializableString ORIGINAL_TYPE = new SerializedString("originalType");
+    private static final SerializableString ORIGINAL_MESSAGE = new SerializedString("originalMessage");
+    private static final SerializableString ORIGINAL_AMOUNT = new SerializedString("originalAmount");
+    private static final SerializableString COMPUTED_OUTPUT = new SerializedString("computedOutput");
+    private static final SerializableString PROCESSED_BY = new SerializedString("processedBy");
+    private static final SerializableString INSTANCE_INFO = new SerializedString("instanceInfo");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString CLIENT_CERT_SUBJECT = new SerializedString("clientCertSubject");
+    private static final SerializableString CLIENT_CERT_SERIAL = new SerializedString("clientCertSerial");
+    private static final SerializableString BACKEND_RESPONSE = new SerializedString("backendResponse");
+    private static final SerializableString MIDDLEWARE_PROCESSED = new SerializedString("middlewareProcessed");
+
+    private ContractCodecs() {
+    }
+
+    /** Shared mapper the readers and writers come from, for the occasional generic use. */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static final class ProcessRequestSerializer extends StdSerializer<ProcessRequest> {
+
+        public ProcessRequestSerializer() {
+            super(ProcessRequest.class);
+        }
+
+        @Override
+        public void serialize(ProcessRequest value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(TYPE);
+            gen.writeString(value.getType());
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(value.getMessage());
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(value.getAmount());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class ProcessRequestDeserializer extends StdDeserializer<ProcessRequest> {
+
+        public ProcessRequestDeserializer() {
+            super(ProcessRequest.class);
+        }
+
+        @Override
+        public ProcessRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String type = null;
+            String message = null;
+            double amount = 0;
+            for (JsonToken t = startObject(p, ctxt, ProcessRequest.class); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "type" -> type = text(p, ctxt);
+                    case "message" -> message = text(p, ctxt);
+                    case "amount" -> amount = _parseDoublePrimitive(p, ctxt);
+                    default -> p.skipChildren();
+                }
+            }
+            return new ProcessRequest(type, message, amount);
+        }
+    }
+
+    public static final class ProcessResponseSerializer extends StdSerializer<ProcessResponse> {
+
+        public ProcessResponseSerializer() {
+            super(ProcessResponse.class);
+        }
+
+        @Override
+        public void serialize(ProcessResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, value.getFields(), gen);
+        }
+
+        static void write(ProcessResponse value, FieldSet fields, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            if (fields.includes(FieldSet.REQUEST_ID)) {
+                gen.writeFieldName(REQUEST_ID);
+                gen.writeString(value.getRequestId());
+            }
+            if (fields.includes(FieldSet.ORIGINAL_TYPE)) {
+                gen.writeFieldName(ORIGINAL_TYPE);
+                gen.writeString(value.getOriginalType());
+            }
+            if (fields.includes(FieldSet.ORIGINAL_MESSAGE)) {
+                gen.writeFieldName(ORIGINAL_MESSAGE);
+                gen.writeString(value.getOriginalMessage());
+            }
+            if (fields.includes(FieldSet.ORIGINAL_AMOUNT)) {
+                gen.writeFieldName(ORIGINAL_AMOUNT);
+                gen.writeNumber(value.getOriginalAmount());
+            }
+            if (fields.includes(FieldSet.COMPUTED_OUTPUT)) {
+                gen.writeFieldName(COMPUTED_OUTPUT);
+                gen.writeString(value.getComputedOutput());
+            }
+            if (fields.includes(FieldSet.PROCESSED_BY)) {
+                gen.writeFieldName(PROCESSED_BY);
+                gen.writeString(value.getProcessedBy());
+            }
+            if (fields.includes(FieldSet.INSTANCE_INFO)) {
+                gen.writeFieldName(INSTANCE_INFO);
+                gen.writeString(value.getInstanceInfo());
+            }
+            if (fields.includes(FieldSet.TIMESTAMP)) {
+                gen.writeFieldName(TIMESTAMP);
+                gen.writeString(value.getTimestamp());
+            }
+            if (fields.includes(FieldSet.CLIENT_CERT_SUBJECT)) {
+                gen.writeFieldName(CLIENT_CERT_SUBJECT);
+                gen.writeString(value.getClientCertSubject());
+            }
+            if (fields.includes(FieldSet.CLIENT_CERT_SERIAL)) {
+                gen.writeFieldName(CLIENT_CERT_SERIAL);
+                gen.writeString(value.getClientCertSerial());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class ProcessResponseDeserializer extends StdDeserializer<ProcessResponse> {
+
+        static final ProcessResponseDeserializer INSTANCE = new ProcessResponseDeserializer();
+
+        public ProcessResponseDeserializer() {
+            super(ProcessResponse.class);
+        }
+
+        @Override
+        public ProcessResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ProcessResponse.Builder builder = ProcessResponse.builder();
+            for (JsonToken t = startObject(p, ctxt, ProcessResponse.class); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "requestId" -> builder.requestId(text(p, ctxt));
+                    case "originalType" -> builder.originalType(text(p, ctxt));
+                    case "originalMessage" -> builder.originalMessage(text(p, ctxt));
+                    case "originalAmount" -> builder.originalAmount(_parseDoublePrimitive(p, ctxt));
+                    case "computedOutput" -> builder.computedOutput(text(p, ctxt));
+                    case "processedBy" -> builder.processedBy(text(p, ctxt));
+                    case "instanceInfo" -> builder.instanceInfo(text(p, ctxt));
+                    case "timestamp" -> builder.timestamp(text(p, ctxt));
+                    case "clientCertSubject" -> builder.clientCertSubject(text(p, ctxt));
+                    case "clientCertSerial" -> builder.clientCertSerial(text(p, ctxt));
+                    default -> p.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    public static final class MiddlewareResponseSerializer extends StdSerializer<MiddlewareResponse> {
+
+        public MiddlewareResponseSerializer() {
+            super(MiddlewareResponse.class);
+        }
+
+        @Override
+        public void serialize(MiddlewareResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            FieldSet fields = value.getFields();
+            gen.writeStartObject(value);
+            if (fields.includes(FieldSet.PROCESS_RESPONSE_FIELDS)) {
+                gen.writeFieldName(BACKEND_RESPONSE);
+                if (value.getBackendResponse() != null) {
+                    ProcessResponseSerializer.write(value.getBackendResponse(), fields, gen);
+                } else {
+                    gen.writeNull();
+                }
+            }
+            if (fields.includes(FieldSet.MIDDLEWARE_PROCESSED)) {
+                gen.writeFieldName(MIDDLEWARE_PROCESSED);
+                gen.writeBoolean(value.isMiddlewareProcessed());
+            }
+            if (fields.includes(FieldSet.CLIENT_CERT_SUBJECT)) {
+                gen.writeFieldName(CLIENT_CERT_SUBJECT);
+                gen.writeString(value.getClientCertSubject());
+            }
+            if (fields.includes(FieldSet.CLIENT_CERT_SERIAL)) {
+                gen.writeFieldName(CLIENT_CERT_SERIAL);
+                gen.writeString(value.getClientCertSerial());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class MiddlewareResponseDeserializer extends StdDeserializer<MiddlewareResponse> {
+
+        public MiddlewareResponseDeserializer() {
+            super(MiddlewareResponse.class);
+        }
+
+        @Override
+        public MiddlewareResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            MiddlewareResponse.Builder builder = MiddlewareResponse.builder();
+            for (JsonToken t = startObject(p, ctxt, MiddlewareResponse.class); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (name) {
+                    case "backendResponse" -> builder.backendResponse(value == JsonToken.VALUE_NULL
+                            ? null : ProcessResponseDeserializer.INSTANCE.deserialize(p, ctxt));
+                    case "middlewareProcessed" -> builder.middlewareProcessed(_parseBooleanPrimitive(p, ctxt));
+                    case "clientCertSubject" -> builder.clientCertSubject(text(p, ctxt));
+                    case "clientCertSerial" -> builder.clientCertSerial(text(p, ctxt));
+                    default -> p.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    /** A string field's value; numbers, objects and arrays are rejected rather than coerced or dropped. */
+    private static String text(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+
+    /** Steps into the object and returns its first field name, or END_OBJECT when it has none. */
+    private static JsonToken startObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            return p.nextToken();
+        }
+        if (t == JsonToken.FIELD_NAME || t == JsonToken.END_OBJECT) {
+            return t;
+        }
+        ctxt.handleUnexpectedToken(type, p);
+        return JsonToken.END_OBJECT;
+    }
+}
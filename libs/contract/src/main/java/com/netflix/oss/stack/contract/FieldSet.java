@@ -0,0 +1,127 @@
+package com.netflix.oss.stack.contract;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The response fields a caller asked for, as the flat field names of the
+ * client-facing response (GraphQL ProcessedResponse, REST fields=). Sent
+ * downstream in X-Fields so every hop can skip computing and writing the rest;
+ * a name applies wherever the field occurs, so clientCertSubject selects both
+ * the middleware's and the backend's. No header means all fields, an empty
+ * one none; unknown names are ignored.
+ */
+public final class FieldSet {
+
+    public static final String HEADER = "X-Fields";
+
+    public static final int REQUEST_ID = 1;
+    public static final int ORIGINAL_TYPE = 1 << 1;
+    public static final int ORIGINAL_MESSAGE = 1 << 2;
+    public static final int ORIGINAL_AMOUNT = 1 << 3;
+    public static final int COMPUTED_OUTPUT = 1 << 4;
+    public static final int PROCESSED_BY = 1 << 5;
+    public static final int INSTANCE_INFO = 1 << 6;
+    public static final int TIMESTAMP = 1 << 7;
+    public static final int CLIENT_CERT_SUBJECT = 1 << 8;
+    public static final int CLIENT_CERT_SERIAL = 1 << 9;
+    public static final int MIDDLEWARE_PROCESSED = 1 << 10;
+
+    /** Fields carried by {@link ProcessResponse}. */
+    static final int PROCESS_RESPONSE_FIELDS = (1 << 10) - 1;
+
+    private static final Map<String, Integer> BITS = Map.ofEntries(
+            Map.entry("requestId", REQUEST_ID),
+            Map.entry("originalType", ORIGINAL_TYPE),
+            Map.entry("originalMessage", ORIGINAL_MESSAGE),
+            Map.entry("originalAmount", ORIGINAL_AMOUNT),
+            Map.entry("computedOutput", COMPUTED_OUTPUT),
+            Map.entry("processedBy", PROCESSED_BY),
+            Map.entry("instanceInfo", INSTANCE_INFO),
+            Map.entry("timestamp", TIMESTAMP),
+            Map.entry("clientCertSubject", CLIENT_CERT_SUBJECT),
+            Map.entry("clientCertSerial", CLIENT_CERT_SERIAL),
+            Map.entry("middlewareProcessed", MIDDLEWARE_PROCESSED));
+
+    private static final int ALL_BITS = (1 << 11) - 1;
+
+    public static final FieldSet ALL = new FieldSet(ALL_BITS);
+
+    private final int bits;
+
+    private FieldSet(int bits) {
+        this.bits = bits;
+    }
+
+    public static FieldSet of(Iterable<String> names) {
+        int bits = 0;
+        for (String name : names) {
+            bits |= BITS.getOrDefault(name, 0);
+        }
+        return bits == ALL_BITS ? ALL : new FieldSet(bits);
+    }
+
+    /** Comma-separated names, as in X-Fields and fields=; null means all fields. */
+    public static FieldSet parse(String names) {
+        if (names == null) {
+            return ALL;
+        }
+        List<String> list = new ArrayList<>();
+        for (String name : names.split(",")) {
+            list.add(name.trim());
+        }
+        return of(list);
+    }
+
+    /** Names in the comma-separated list that are not response fields. */
+    public static List<String> unknown(String names) {
+        List<String> unknown = new ArrayList<>();
+        if (names != null) {
+            for (String name : names.split(",")) {
+                if (!name.isBlank() && !BITS.containsKey(name.trim())) {
+                    unknown.add(name.trim());
+                }
+            }
+        }
+        return unknown;
+    }
+
+    public boolean includes(int field) {
+        return (bits & field) != 0;
+    }
+
+    public boolean isAll() {
+        return bits == ALL_BITS;
+    }
+
+    /** Header value for the next hop, or null when all fields are wanted. */
+    public String toHeader() {
+        if (isAll()) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        BITS.forEach((name, bit) -> {
+            if (includes(bit)) {
+                joiner.add(name);
+            }
+        });
+        return joiner.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FieldSet other && bits == other.bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return bits;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : "[" + toHeader() + "]";
+    }
+}
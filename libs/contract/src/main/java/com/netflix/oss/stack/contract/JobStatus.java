@@ -0,0 +1,109 @@
+package com.netflix.oss.stack.contract;
+
+/**
+ * State of an async core-backend job (/backend/process?async=true), returned on
+ * submission and when polled; passed through unchanged by mtls-middleware and
+ * user-bff. Plain Jackson bean; the result uses {@link ProcessResponse}'s codec.
+ */
+public class JobStatus {
+    private String jobId;
+    private String status;
+    private String type;
+    private String submittedAt;
+    private String startedAt;
+    private String completedAt;
+    private ProcessResponse result;
+    private String error;
+
+    public JobStatus() {}
+
+    private JobStatus(Builder builder) {
+        this.jobId = builder.jobId;
+        this.status = builder.status;
+        this.type = builder.type;
+        this.submittedAt = builder.submittedAt;
+        this.startedAt = builder.startedAt;
+        this.completedAt = builder.completedAt;
+        this.result = builder.result;
+        this.error = builder.error;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String jobId;
+        private String status;
+        private String type;
+        private String submittedAt;
+        private String startedAt;
+        private String completedAt;
+        private ProcessResponse result;
+        private String error;
+
+        public Builder jobId(String jobId) {
+            this.jobId = jobId;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder type(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder submittedAt(String submittedAt) {
+            this.submittedAt = submittedAt;
+            return this;
+        }
+
+        public Builder startedAt(String startedAt) {
+            this.startedAt = startedAt;
+            return this;
+        }
+
+        public Builder completedAt(String completedAt) {
+            this.completedAt = completedAt;
+            return this;
+        }
+
+        public Builder result(ProcessResponse result) {
+            this.result = result;
+            return this;
+        }
+
+        public Builder error(String error) {
+            this.error = error;
+            return this;
+        }
+
+        public JobStatus build() {
+            return new JobStatus(this);
+        }
+    }
+
+    // Getters
+    public String getJobId() { return jobId; }
+    public String getStatus() { return status; }
+    public String getType() { return type; }
+    public String getSubmittedAt() { return submittedAt; }
+    public String getStartedAt() { return startedAt; }
+    public String getCompletedAt() { return completedAt; }
+    public ProcessResponse getResult() { return result; }
+    public String getError() { return error; }
+
+    // Setters
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public void setStatus(String status) { this.status = status; }
+    public void setType(String type) { this.type = type; }
+    public void setSubmittedAt(String submittedAt) { this.submittedAt = submittedAt; }
+    public void setStartedAt(String startedAt) { this.startedAt = startedAt; }
+    public void setCompletedAt(String completedAt) { this.completedAt = completedAt; }
+    public void setResult(ProcessResponse result) { this.result = result; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,85 @@
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * mtls-middleware's answer to user-bff: the backend's response plus the caller's
+ * mTLS identity. Only the fields in {@link #getFields()} are written to JSON, at
+ * this level and in the backend response.
+ */
+@JsonSerialize(using = ContractCodecs.MiddlewareResponseSerializer.class)
+@JsonDeserialize(using = ContractCodecs.MiddlewareResponseDeserializer.class)
+public final class MiddlewareResponse {
+    private final ProcessResponse backendResponse;
+    private final boolean middlewareProcessed;
+    private final String clientCertSubject;
+    private final String clientCertSerial;
+    private final FieldSet fields;
+
+    private MiddlewareResponse(Builder builder) {
+        this.backendResponse = builder.backendResponse;
+        this.middlewareProcessed = builder.middlewareProcessed;
+        this.clientCertSubject = builder.clientCertSubject;
+        this.clientCertSerial = builder.clientCertSerial;
+        this.fields = builder.fields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private ProcessResponse backendResponse;
+        private boolean middlewareProcessed;
+        private String clientCertSubject;
+        private String clientCertSerial;
+        private FieldSet fields = FieldSet.ALL;
+
+        public Builder backendResponse(ProcessResponse backendResponse) {
+            this.backendResponse = backendResponse;
+            return this;
+        }
+
+        public Builder middlewareProcessed(boolean middlewareProcessed) {
+            this.middlewareProcessed = middlewareProcessed;
+            return this;
+        }
+
+        public Builder clientCertSubject(String clientCertSubject) {
+            this.clientCertSubject = clientCertSubject;
+            return this;
+        }
+
+        public Builder clientCertSerial(String clientCertSerial) {
+            this.clientCertSerial = clientCertSerial;
+            return this;
+        }
+
+        public Builder fields(FieldSet fields) {
+            this.fields = fields;
+            return this;
+        }
+
+        public MiddlewareResponse build() {
+            return new MiddlewareResponse(this);
+        }
+    }
+
+    public ProcessResponse getBackendResponse() { return backendResponse; }
+    public boolean isMiddlewareProcessed() { return middlewareProcessed; }
+    public String getClientCertSubject() { return clientCertSubject; }
+    public String getClientCertSerial() { return clientCertSerial; }
+    public FieldSet getFields() { return fields; }
+
+    /** The same response, written with only the given fields. */
+    public MiddlewareResponse withFields(FieldSet fields) {
+        return builder()
+                .backendResponse(backendResponse)
+                .middlewareProcessed(middlewareProcessed)
+                .clientCertSubject(clientCertSubject)
+                .clientCertSerial(clientCertSerial)
+                .fields(fields)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Objects;
+
+/** Work item sent by user-bff, forwarded by mtls-middleware and processed by core-backend. */
+@JsonSerialize(using = ContractCodecs.ProcessRequestSerializer.class)
+@JsonDeserialize(using = ContractCodecs.ProcessRequestDeserializer.class)
+public final class ProcessRequest {
+    private final String type;
+    private final String message;
+    private final double amount;
+
+    public ProcessRequest(String type, String message, double amount) {
+        this.type = type;
+        this.message = message;
+        this.amount = amount;
+    }
+
+    public String getType() { return type; }
+    public String getMessage() { return message; }
+    public double getAmount() { return amount; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ProcessRequest other
+                && Objects.equals(type, other.type)
+                && Objects.equals(message, other.message)
+                && Double.compare(amount, other.amount) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, message, amount);
+    }
+}
@@ -1,18 +1,26 @@
-package com.netflix.oss.stack.backend.model;
-
-public class ProcessResponse {
-    private String requestId;
-    private String originalType;
-    private String originalMessage;
-    private double originalAmount;
-    private String computedOutput;
-    private String processedBy;
-    private String instanceInfo;
-    private String timestamp;
-    private String clientCertSubject;
-    private String clientCertSerial;
-
-    public ProcessResponse() {}
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * core-backend's result for a {@link ProcessRequest}, passed through unchanged by
+ * mtls-middleware. Only the fields in {@link #getFields()} are written to JSON.
+ */
+@JsonSerialize(using = ContractCodecs.ProcessResponseSerializer.class)
+@JsonDeserialize(using = ContractCodecs.ProcessResponseDeserializer.class)
+public final class ProcessResponse {
+    private final String requestId;
+    private final String originalType;
+    private final String originalMessage;
+    private final double originalAmount;
+    private final String computedOutput;
+    private final String processedBy;
+    private final String instanceInfo;
+    private final String timestamp;
+    private final String clientCertSubject;
+    private final String clientCertSerial;
+    private final FieldSet fields;
 
     private ProcessResponse(Builder builder) {
         this.requestId = builder.requestId;
@@ -25,6 +33,7 @@ public class ProcessResponse {
         this.timestamp = builder.timestamp;
         this.clientCertSubject = builder.clientCertSubject;
         this.clientCertSerial = builder.clientCertSerial;
+        this.fields = builder.fields;
     }
 
     public static Builder builder() {
@@ -42,6 +51,7 @@ public class ProcessResponse {
         private String timestamp;
         private String clientCertSubject;
         private String clientCertSerial;
+        private FieldSet fields = FieldSet.ALL;
 
         public Builder requestId(String requestId) {
             this.requestId = requestId;
@@ -93,12 +103,16 @@ public class ProcessResponse {
             return this;
         }
 
+        public Builder fields(FieldSet fields) {
+            this.fields = fields;
+            return this;
+        }
+
         public ProcessResponse build() {
             return new ProcessResponse(this);
         }
     }
 
-    // Getters
     public String getRequestId() { return requestId; }
     public String getOriginalType() { return originalType; }
     public String getOriginalMessage() { return originalMessage; }
@@ -109,16 +123,22 @@ public class ProcessResponse {
     public String getTimestamp() { return timestamp; }
     public String getClientCertSubject() { return clientCertSubject; }
     public String getClientCertSerial() { return clientCertSerial; }
-
-    // Setters
-    public void setRequestId(String requestId) { this.requestId = requestId; }
-    public void setOriginalType(String originalType) { this.originalType = originalType; }
-    public void setOriginalMessage(String originalMessage) { this.originalMessage = originalMessage; }
-    public void setOriginalAmount(double originalAmount) { this.originalAmount = originalAmount; }
-    public void setComputedOutput(String computedOutput) { this.computedOutput = computedOutput; }
-    public void setProcessedBy(String processedBy) { this.processedBy = processedBy; }
-    public void setInstanceInfo(String instanceInfo) { this.instanceInfo = instanceInfo; }
-    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
-    public void setClientCertSubject(String clientCertSubject) { this.clientCertSubject = clientCertSubject; }
-    public void setClientCertSerial(String clientCertSerial) { this.clientCertSerial = clientCertSerial; }
+    public FieldSet getFields() { return fields; }
+
+    /** The same response, written with only the given fields. */
+    public ProcessResponse withFields(FieldSet fields) {
+        return builder()
+                .requestId(requestId)
+                .originalType(originalType)
+                .originalMessage(originalMessage)
+                .originalAmount(originalAmount)
+                .computedOutput(computedOutput)
+                .processedBy(processedBy)
+                .instanceInfo(instanceInfo)
+                .timestamp(timestamp)
+                .clientCertSubject(clientCertSubject)
+                .clientCertSerial(clientCertSerial)
+                .fields(fields)
+                .build();
+    }
 }
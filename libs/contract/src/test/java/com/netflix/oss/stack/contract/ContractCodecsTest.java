@@ -0,0 +1,86 @@
+package com.netflix.oss.stack.contract;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractCodecsTest {
+
+    @Test
+    void processRequestRoundTrips() throws Exception {
+        ProcessRequest request = new ProcessRequest("order", "hello", 12.5);
+        String json = ContractCodecs.PROCESS_REQUEST_WRITER.writeValueAsString(request);
+
+        assertEquals("{\"type\":\"order\",\"message\":\"hello\",\"amount\":12.5}", json);
+        assertEquals(request, ContractCodecs.PROCESS_REQUEST_READER.readValue(json));
+    }
+
+    @Test
+    void middlewareResponseRoundTrips() throws Exception {
+        ProcessResponse backend = ProcessResponse.builder()
+                .requestId("r-1")
+                .originalType("order")
+                .originalMessage("hello")
+                .originalAmount(12.5)
+                .computedOutput("HELLO")
+                .processedBy("core-backend")
+                .instanceInfo("host:8082")
+                .timestamp("2024-01-01T00:00:00Z")
+                .clientCertSubject("CN=client")
+                .clientCertSerial("0a")
+                .build();
+        MiddlewareResponse response = MiddlewareResponse.builder()
+                .backendResponse(backend)
+                .middlewareProcessed(true)
+                .clientCertSubject("CN=bff")
+                .clientCertSerial("0b")
+                .build();
+        String json = ContractCodecs.MIDDLEWARE_RESPONSE_WRITER.writeValueAsString(response);
+
+        MiddlewareResponse read = ContractCodecs.MIDDLEWARE_RESPONSE_READER.readValue(json);
+        assertEquals(json, ContractCodecs.MIDDLEWARE_RESPONSE_WRITER.writeValueAsString(read));
+        assertEquals("HELLO", read.getBackendResponse().getComputedOutput());
+        assertTrue(read.isMiddlewareProcessed());
+    }
+
+    @Test
+    void unknownFieldsAreSkippedAndMissingFieldsDefault() throws Exception {
+        ProcessRequest read = ContractCodecs.PROCESS_REQUEST_READER.readValue(
+                "{\"extra\":{\"type\":\"nested\"},\"message\":null,\"amount\":\"2.5\"}");
+
+        assertNull(read.getType());
+        assertNull(read.getMessage());
+        assertEquals(2.5, read.getAmount());
+    }
+
+    @Test
+    void rejectsObjectForStringField() {
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.PROCESS_REQUEST_READER.readValue(
+                "{\"type\":{\"amount\":5},\"message\":\"x\",\"amount\":1}"));
+    }
+
+    @Test
+    void rejectsNumberForStringField() {
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.PROCESS_RESPONSE_READER.readValue(
+                "{\"requestId\":42}"));
+    }
+
+    @Test
+    void rejectsNonNumericAmount() {
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.PROCESS_REQUEST_READER.readValue(
+                "{\"type\":\"order\",\"amount\":\"abc\"}"));
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.PROCESS_REQUEST_READER.readValue(
+                "{\"type\":\"order\",\"amount\":[1]}"));
+    }
+
+    @Test
+    void rejectsNonObjectBody() {
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.PROCESS_REQUEST_READER.readValue("[]"));
+        assertThrows(MismatchedInputException.class, () -> ContractCodecs.MIDDLEWARE_RESPONSE_READER.readValue(
+                "{\"backendResponse\":\"oops\"}"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.netflix.oss.stack.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression ratio, bytes and CPU time per route and coding, so bandwidth
+ * saved can be weighed against CPU spent:
+ * <ul>
+ *   <li>http.compression.ratio — original / encoded size per response</li>
+ *   <li>http.compression.bytes{stage=original|encoded} — totals on either side of the codec</li>
+ *   <li>http.compression.cpu{operation=compress|decompress} — thread CPU time in the codec</li>
+ *   <li>http.compression.skipped{reason} — responses left as they were</li>
+ * </ul>
+ */
+public class CompressionMetrics {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final MeterRegistry meterRegistry;
+
+    public CompressionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** CPU time of the current thread, or wall time where the JVM cannot measure it. */
+    public static long cpuTimeNanos() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    public void compressed(String route, ContentCoding coding, int originalBytes, int encodedBytes, long cpuNanos) {
+        record(route, coding, "compress", originalBytes, encodedBytes, cpuNanos);
+    }
+
+    public void decompressed(String route, ContentCoding coding, int encodedBytes, int originalBytes, long cpuNanos) {
+        record(route, coding, "decompress", originalBytes, encodedBytes, cpuNanos);
+    }
+
+    public void skipped(String route, String reason) {
+        Counter.builder("http.compression.skipped")
+                .tag("route", route).tag("reason", reason)
+                .register(meterRegistry).increment();
+    }
+
+    private void record(String route, ContentCoding coding, String operation,
+                        int originalBytes, int encodedBytes, long cpuNanos) {
+        Timer.builder("http.compression.cpu")
+                .description("CPU time spent in the codec")
+                .tag("route", route).tag("coding", coding.token()).tag("operation", operation)
+                .register(meterRegistry).record(cpuNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.compression.ratio")
+                .description("Original size divided by encoded size")
+                .tag("route", route).tag("coding", coding.token()).tag("operation", operation)
+                .register(meterRegistry).record(encodedBytes == 0 ? 0 : (double) originalBytes / encodedBytes);
+        Counter.builder("http.compression.bytes").baseUnit("bytes")
+                .tag("route", route).tag("coding", coding.token()).tag("operation", operation).tag("stage", "original")
+                .register(meterRegistry).increment(originalBytes);
+        Counter.builder("http.compression.bytes").baseUnit("bytes")
+                .tag("route", route).tag("coding", coding.token()).tag("operation", operation).tag("stage", "encoded")
+                .register(meterRegistry).increment(encodedBytes);
+    }
+}
@@ -0,0 +1,104 @@
+package com.netflix.oss.stack.compression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response compression settings, bound by each service under "compression".
+ * The top-level min-size and content-types are the defaults; routes override
+ * them per gateway route id, or per set of request path patterns on the services.
+ */
+public class CompressionProperties {
+
+    private boolean enabled = true;
+    /** Codings we produce (and advertise on outbound calls), most preferred first. */
+    private List<ContentCoding> codings = new ArrayList<>(List.of(ContentCoding.ZSTD, ContentCoding.GZIP));
+    /** 1 (fastest) to 9 (smallest). */
+    private int gzipLevel = 6;
+    /** Smaller bodies are sent as they are. */
+    private int minSize = 1024;
+    /** Largest body we decode from a compressed response; bigger ones fail with 413. */
+    private int maxDecodedSize = 16 * 1024 * 1024;
+    /** Largest body the gateway holds in memory to compress; longer ones stream through as they are. */
+    private int maxBufferedSize = 1024 * 1024;
+    /** Media types worth compressing; wildcards such as text/* and application/*+xml work. */
+    private List<String> contentTypes = new ArrayList<>(List.of(
+            "application/json", "application/*+json", "application/xml", "application/*+xml", "text/*"));
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public static class Route {
+        private Boolean enabled;
+        /** Request path patterns (Ant style); only used by the services, not the gateway. */
+        private List<String> paths = new ArrayList<>();
+        private Integer minSize;
+        private List<String> contentTypes;
+
+        public Boolean getEnabled() { return enabled; }
+        public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public Integer getMinSize() { return minSize; }
+        public void setMinSize(Integer minSize) { this.minSize = minSize; }
+
+        public List<String> getContentTypes() { return contentTypes; }
+        public void setContentTypes(List<String> contentTypes) { this.contentTypes = contentTypes; }
+    }
+
+    /** Rule for a route id, falling back to the defaults when the route has no entry. */
+    public CompressionRule ruleFor(String name) {
+        return toRule(name, routes.get(name));
+    }
+
+    public CompressionRule defaultRule() {
+        return toRule("default", null);
+    }
+
+    /** Routes that declare path patterns, in configuration order. */
+    public List<CompressionRule> pathRules() {
+        List<CompressionRule> rules = new ArrayList<>();
+        routes.forEach((name, route) -> {
+            if (!route.getPaths().isEmpty()) {
+                rules.add(toRule(name, route));
+            }
+        });
+        return rules;
+    }
+
+    private CompressionRule toRule(String name, Route route) {
+        if (route == null) {
+            return new CompressionRule(name, enabled, minSize, contentTypes, List.of());
+        }
+        return new CompressionRule(name,
+                enabled && (route.getEnabled() == null || route.getEnabled()),
+                route.getMinSize() != null ? route.getMinSize() : minSize,
+                route.getContentTypes() != null ? route.getContentTypes() : contentTypes,
+                route.getPaths());
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<ContentCoding> getCodings() { return codings; }
+    public void setCodings(List<ContentCoding> codings) { this.codings = codings; }
+
+    public int getGzipLevel() { return gzipLevel; }
+    public void setGzipLevel(int gzipLevel) { this.gzipLevel = gzipLevel; }
+
+    public int getMinSize() { return minSize; }
+    public void setMinSize(int minSize) { this.minSize = minSize; }
+
+    public int getMaxDecodedSize() { return maxDecodedSize; }
+    public void setMaxDecodedSize(int maxDecodedSize) { this.maxDecodedSize = maxDecodedSize; }
+    public int getMaxBufferedSize() { return maxBufferedSize; }
+    public void setMaxBufferedSize(int maxBufferedSize) { this.maxBufferedSize = maxBufferedSize; }
+
+    public List<String> getContentTypes() { return contentTypes; }
+    public void setContentTypes(List<String> contentTypes) { this.contentTypes = contentTypes; }
+
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+}
@@ -0,0 +1,70 @@
+package com.netflix.oss.stack.compression;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Resolved compression settings for one route: whether to compress at all, the
+ * minimum body size and the media types that qualify.
+ */
+public final class CompressionRule {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String name;
+    private final boolean enabled;
+    private final int minSize;
+    private final List<MediaType> contentTypes;
+    private final List<String> paths;
+
+    CompressionRule(String name, boolean enabled, int minSize, List<String> contentTypes, List<String> paths) {
+        this.name = name;
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.contentTypes = contentTypes.stream().map(MediaType::parseMediaType).toList();
+        this.paths = List.copyOf(paths);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int minSize() {
+        return minSize;
+    }
+
+    public boolean matchesPath(String path) {
+        for (String pattern : paths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether a response with this Content-Type may be compressed. */
+    public boolean allows(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType allowed : contentTypes) {
+            if (allowed.includes(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+package com.netflix.oss.stack.compression;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP content codings we can produce and read. zstd (RFC 8878) compresses
+ * several times faster than gzip at a similar ratio; gzip is the fallback every
+ * client understands.
+ */
+public enum ContentCoding {
+
+    ZSTD("zstd") {
+        // Stateless; the decompressor keeps per-frame state and is created per call
+        private final ZstdCompressor compressor = new ZstdCompressor();
+
+        @Override
+        public byte[] encode(byte[] data, int length, int gzipLevel) {
+            byte[] out = new byte[compressor.maxCompressedLength(length)];
+            int written = compressor.compress(data, 0, length, out, 0, out.length);
+            return Arrays.copyOf(out, written);
+        }
+
+        @Override
+        public byte[] decode(byte[] data, int maxSize) {
+            // The frame header's size is the sender's claim; check it before allocating for it
+            long size = ZstdDecompressor.getDecompressedSize(data, 0, data.length);
+            if (size > maxSize) {
+                throw new DecodedSizeExceededException(this, maxSize);
+            }
+            if (size >= 0) {
+                byte[] out = new byte[(int) size];
+                new ZstdDecompressor().decompress(data, 0, data.length, out, 0, out.length);
+                return out;
+            }
+            return readFully(this, new ZstdInputStream(new ByteArrayInputStream(data)), maxSize);
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        public byte[] encode(byte[] data, int length, int gzipLevel) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+                {
+                    def.setLevel(gzipLevel);
+                }
+            }) {
+                gzip.write(data, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public byte[] decode(byte[] data, int maxSize) {
+            try {
+                return readFully(this, new GZIPInputStream(new ByteArrayInputStream(data), 8192), maxSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /** Token used in Content-Encoding and Accept-Encoding. */
+    public String token() {
+        return token;
+    }
+
+    /** Compresses the first {@code length} bytes; the level only applies to gzip. */
+    public abstract byte[] encode(byte[] data, int length, int gzipLevel);
+
+    /**
+     * Decompresses a whole body.
+     *
+     * @throws DecodedSizeExceededException when it would decode to more than {@code maxSize} bytes
+     */
+    public abstract byte[] decode(byte[] data, int maxSize);
+
+    /** Coding for a Content-Encoding value, or null when it is not one of ours. */
+    public static ContentCoding forToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String normalized = token.trim().toLowerCase(Locale.ROOT);
+        for (ContentCoding coding : values()) {
+            if (coding.token.equals(normalized) || (coding == GZIP && normalized.equals("x-gzip"))) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the first of our codings, in our order of preference, that the
+     * Accept-Encoding header allows with q &gt; 0. "*" is only taken to mean gzip,
+     * the one coding every client can read. Returns null when the client accepts none of them.
+     */
+    public static ContentCoding negotiate(String acceptEncoding, List<ContentCoding> preferred) {
+        if (acceptEncoding == null || acceptEncoding.isBlank() || preferred.isEmpty()) {
+            return null;
+        }
+        float wildcard = -1;
+        float[] quality = new float[values().length];
+        Arrays.fill(quality, -1);
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            float q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            } else {
+                ContentCoding coding = forToken(name);
+                if (coding != null) {
+                    quality[coding.ordinal()] = q;
+                }
+            }
+        }
+        for (ContentCoding coding : preferred) {
+            float q = quality[coding.ordinal()] >= 0 ? quality[coding.ordinal()] : coding == GZIP ? wildcard : 0;
+            if (q > 0) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /** Accept-Encoding value advertising the given codings in order. */
+    public static String acceptEncoding(List<ContentCoding> codings) {
+        return String.join(", ", codings.stream().map(ContentCoding::token).toList());
+    }
+
+    private static byte[] readFully(ContentCoding coding, InputStream in, int maxSize) {
+        try (in) {
+            byte[] out = in.readNBytes(maxSize);
+            if (in.read() >= 0) {
+                throw new DecodedSizeExceededException(coding, maxSize);
+            }
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.netflix.oss.stack.compression;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A compressed body would decode to more than compression.max-decoded-size
+ * bytes; answered with 413 instead of allocating it.
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class DecodedSizeExceededException extends RuntimeException {
+
+    public DecodedSizeExceededException(ContentCoding coding, int maxSize) {
+        super(coding.token() + " body decodes to more than " + maxSize + " bytes");
+    }
+}
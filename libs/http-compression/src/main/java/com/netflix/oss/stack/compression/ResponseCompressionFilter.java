@@ -0,0 +1,105 @@
+package com.netflix.oss.stack.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compresses buffered responses for callers that send Accept-Encoding, using the
+ * first configured coding they accept. The rule is picked by request path;
+ * bodies below its minimum size, other content types and responses that are
+ * already encoded go out unchanged.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionProperties properties;
+    private final CompressionMetrics metrics;
+    private final List<CompressionRule> pathRules;
+    private final CompressionRule defaultRule;
+
+    public ResponseCompressionFilter(CompressionProperties properties, CompressionMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.pathRules = properties.pathRules();
+        this.defaultRule = properties.defaultRule();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || "HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompressionRule rule = ruleFor(request.getRequestURI().substring(request.getContextPath().length()));
+        ContentCoding coding = ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), properties.getCodings());
+        if (!rule.isEnabled() || coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            write(rule, coding, response, buffered);
+        }
+    }
+
+    private CompressionRule ruleFor(String path) {
+        for (CompressionRule rule : pathRules) {
+            if (rule.matchesPath(path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private void write(CompressionRule rule, ContentCoding coding, HttpServletResponse response,
+                       ContentCachingResponseWrapper buffered) throws IOException {
+        String skipReason = skipReason(rule, response, buffered);
+        if (skipReason != null) {
+            if (!"empty".equals(skipReason)) {
+                metrics.skipped(rule.name(), skipReason);
+            }
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        int length = buffered.getContentSize();
+        long start = CompressionMetrics.cpuTimeNanos();
+        byte[] encoded = coding.encode(buffered.getContentAsByteArray(), length, properties.getGzipLevel());
+        metrics.compressed(rule.name(), coding, length, encoded.length, CompressionMetrics.cpuTimeNanos() - start);
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    private String skipReason(CompressionRule rule, HttpServletResponse response, ContentCachingResponseWrapper buffered) {
+        int status = response.getStatus();
+        if (response.isCommitted() || buffered.getContentSize() == 0 || status == 204 || status == 304) {
+            return "empty";
+        }
+        if (response.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return "already-encoded";
+        }
+        if (!rule.allows(response.getContentType())) {
+            return "content-type";
+        }
+        if (buffered.getContentSize() < rule.minSize()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return "too-small";
+        }
+        return null;
+    }
+}
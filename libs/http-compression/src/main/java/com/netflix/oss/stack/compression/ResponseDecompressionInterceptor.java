@@ -0,0 +1,106 @@
+package com.netflix.oss.stack.compression;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * RestTemplate side of an internal hop: advertises our codings in
+ * Accept-Encoding and decodes compressed responses before the message
+ * converters see them, recording the decode cost under the target's name.
+ * A body that would decode to more than maxDecodedSize bytes fails with
+ * {@link DecodedSizeExceededException} (413).
+ * Clients that decode on their own (Apache HttpClient) need that switched off.
+ */
+public class ResponseDecompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String route;
+    private final String acceptEncoding;
+    private final int maxDecodedSize;
+    private final CompressionMetrics metrics;
+
+    public ResponseDecompressionInterceptor(String route, List<ContentCoding> codings, int maxDecodedSize,
+                                            CompressionMetrics metrics) {
+        this.route = route;
+        this.acceptEncoding = ContentCoding.acceptEncoding(codings);
+        this.maxDecodedSize = maxDecodedSize;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        ContentCoding coding = ContentCoding.forToken(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        if (coding == null) {
+            return response;
+        }
+
+        byte[] encoded;
+        try (InputStream in = response.getBody()) {
+            encoded = in.readAllBytes();
+        }
+        long start = CompressionMetrics.cpuTimeNanos();
+        byte[] decoded;
+        try {
+            decoded = coding.decode(encoded, maxDecodedSize);
+        } catch (DecodedSizeExceededException e) {
+            response.close();
+            throw e;
+        }
+        metrics.decompressed(route, coding, encoded.length, decoded.length, CompressionMetrics.cpuTimeNanos() - start);
+        return new DecodedResponse(response, decoded);
+    }
+
+    private static final class DecodedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        DecodedResponse(ClientHttpResponse delegate, byte[] body) {
+            this.delegate = delegate;
+            this.body = body;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
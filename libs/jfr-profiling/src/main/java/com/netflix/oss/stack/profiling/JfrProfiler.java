@@ -0,0 +1,249 @@
+package com.netflix.oss.stack.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs one bounded JFR recording at a time and summarizes it when it ends.
+ * Guards for live instances: the settings must be one of profiling.settings, the
+ * duration and on-disk size are capped, a cooldown separates recordings, and the
+ * recording is read back on a single low-priority background thread. JFR is
+ * JVM-wide, so the one-at-a-time rule holds across application contexts
+ * (services/collocated runs several in one JVM).
+ */
+public class JfrProfiler implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrProfiler.class);
+
+    private static final DateTimeFormatter ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private static final AtomicBoolean RECORDING = new AtomicBoolean();
+    private static volatile Instant lastEnded = Instant.EPOCH;
+
+    public enum State { RUNNING, SUMMARIZING, DONE, FAILED }
+
+    /** Why a recording was not started; the endpoint maps each to an HTTP status. */
+    public enum Refusal { INVALID, BUSY, COOLDOWN }
+
+    public static class RefusedException extends RuntimeException {
+        private final Refusal refusal;
+
+        RefusedException(Refusal refusal, String message) {
+            super(message);
+            this.refusal = refusal;
+        }
+
+        public Refusal getRefusal() { return refusal; }
+    }
+
+    private final ProfilingProperties properties;
+    private final String applicationName;
+    private final ScheduledExecutorService executor;
+
+    private Session session;
+
+    public JfrProfiler(ProfilingProperties properties, String applicationName) {
+        this.properties = properties;
+        this.applicationName = applicationName;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jfr-profiler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a recording of {@code durationSeconds} (profiling.default-duration-seconds
+     * when null) with the named JFR settings ("default" when null).
+     */
+    public synchronized Map<String, Object> start(Integer durationSeconds, String settings) {
+        int seconds = durationSeconds != null ? durationSeconds : properties.getDefaultDurationSeconds();
+        String settingsName = settings != null ? settings : "default";
+        if (seconds < 1 || seconds > properties.getMaxDurationSeconds()) {
+            throw new RefusedException(Refusal.INVALID,
+                    "durationSeconds must be between 1 and " + properties.getMaxDurationSeconds());
+        }
+        if (!properties.getSettings().contains(settingsName)) {
+            throw new RefusedException(Refusal.INVALID, "settings must be one of " + properties.getSettings());
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new RefusedException(Refusal.INVALID, "Unknown JFR settings " + settingsName);
+        }
+        Instant now = Instant.now();
+        Instant cooledDown = lastEnded.plusSeconds(properties.getCooldownSeconds());
+        if (now.isBefore(cooledDown)) {
+            throw new RefusedException(Refusal.COOLDOWN, "Next recording possible in "
+                    + Duration.between(now, cooledDown).toSeconds() + "s");
+        }
+        if (!RECORDING.compareAndSet(false, true)) {
+            throw new RefusedException(Refusal.BUSY, "A recording is already running in this JVM");
+        }
+
+        try {
+            if (session != null) {
+                Files.deleteIfExists(session.file);
+            }
+            String id = ID_FORMAT.format(now);
+            Path file = Path.of(properties.getDirectory(), applicationName + "-" + id + ".jfr");
+            Recording recording = new Recording(configuration);
+            recording.setName(applicationName + "-" + id);
+            recording.setToDisk(true);
+            recording.setMaxSize(properties.getMaxSizeMb() * 1024L * 1024L);
+            recording.start();
+            session = new Session(id, settingsName, seconds, now.truncatedTo(ChronoUnit.SECONDS), file, recording);
+            executor.schedule(() -> finish(id), seconds, TimeUnit.SECONDS);
+            logger.info("Started JFR recording {} ({} settings, {}s)", id, settingsName, seconds);
+            return session.status();
+        } catch (Exception e) {
+            RECORDING.set(false);
+            throw new IllegalStateException("Could not start JFR recording: " + e.getMessage(), e);
+        }
+    }
+
+    /** Ends the running recording early; it is summarized as if its time had run out. */
+    public synchronized Map<String, Object> stop() {
+        if (session == null || session.state != State.RUNNING) {
+            return null;
+        }
+        String id = session.id;
+        executor.execute(() -> finish(id));
+        return session.status();
+    }
+
+    /** The latest recording's status, with its summary once done; null before the first one. */
+    public synchronized Map<String, Object> status() {
+        return session == null ? null : session.status();
+    }
+
+    /** The finished recording with the given ID, or null. */
+    public synchronized Path recording(String id) {
+        return session != null && session.id.equals(id) && session.state == State.DONE ? session.file : null;
+    }
+
+    private void finish(String id) {
+        Session current;
+        synchronized (this) {
+            current = session;
+            if (current == null || !current.id.equals(id) || current.state != State.RUNNING) {
+                return;
+            }
+            current.state = State.SUMMARIZING;
+            current.endedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        }
+        boolean released = false;
+        try {
+            current.recording.stop();
+            current.recording.dump(current.file);
+            current.recording.close();
+            release();
+            released = true;
+            long start = System.nanoTime();
+            Map<String, Object> summary = JfrSummary.of(current.file, properties.getTop(),
+                    properties.getApplicationPackage());
+            synchronized (this) {
+                current.summary = summary;
+                current.sizeBytes = Files.size(current.file);
+                current.state = State.DONE;
+            }
+            logger.info("JFR recording {} summarized in {} ms ({} bytes)", id,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), current.sizeBytes);
+        } catch (Exception e) {
+            logger.warn("JFR recording {} failed: {}", id, e.getMessage(), e);
+            current.recording.close();
+            if (!released) {
+                release();
+            }
+            synchronized (this) {
+                current.error = e.getMessage();
+                current.state = State.FAILED;
+            }
+        }
+    }
+
+    private static void release() {
+        lastEnded = Instant.now();
+        RECORDING.set(false);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        synchronized (this) {
+            if (session != null && session.state == State.RUNNING) {
+                session.recording.close();
+                session.state = State.FAILED;
+                session.error = "Application shut down";
+                release();
+            }
+        }
+    }
+
+    private static final class Session {
+        final String id;
+        final String settings;
+        final int durationSeconds;
+        final Instant startedAt;
+        final Path file;
+        final Recording recording;
+        State state = State.RUNNING;
+        Instant endedAt;
+        Map<String, Object> summary;
+        long sizeBytes;
+        String error;
+
+        Session(String id, String settings, int durationSeconds, Instant startedAt, Path file, Recording recording) {
+            this.id = id;
+            this.settings = settings;
+            this.durationSeconds = durationSeconds;
+            this.startedAt = startedAt;
+            this.file = file;
+            this.recording = recording;
+        }
+
+        Map<String, Object> status() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("id", id);
+            status.put("state", state);
+            status.put("settings", settings);
+            status.put("durationSeconds", durationSeconds);
+            status.put("startedAt", startedAt.toString());
+            if (endedAt != null) {
+                status.put("endedAt", endedAt.toString());
+            } else {
+                status.put("endsAt", startedAt.plusSeconds(durationSeconds).toString());
+            }
+            if (state == State.DONE) {
+                status.put("sizeBytes", sizeBytes);
+                status.put("summary", summary);
+            }
+            if (error != null) {
+                status.put("error", error);
+            }
+            return status;
+        }
+    }
+}
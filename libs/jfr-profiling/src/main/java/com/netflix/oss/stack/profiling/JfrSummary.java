@@ -0,0 +1,226 @@
+package com.netflix.oss.stack.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a recording back into rankings: CPU samples by top frame (and by first
+ * application frame), sampled allocation by site and class, lock contention
+ * (monitor enters, and parks on a lock or semaphore Sync) and GC pauses.
+ * Contention only includes waits above the JFR settings' threshold (20 ms in
+ * "default", 10 ms in "profile").
+ */
+final class JfrSummary {
+
+    private final int top;
+    private final String applicationPackage;
+
+    private final Tally cpu = new Tally();
+    private final Tally cpuApplication = new Tally();
+    private final Tally allocation = new Tally();
+    private final Tally locks = new Tally();
+    private final Tally gc = new Tally();
+    private long cpuSamples;
+    private long allocatedBytes;
+
+    private JfrSummary(int top, String applicationPackage) {
+        this.top = top;
+        this.applicationPackage = applicationPackage;
+    }
+
+    static Map<String, Object> of(Path file, int top, String applicationPackage) throws IOException {
+        JfrSummary summary = new JfrSummary(top, applicationPackage);
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                summary.add(recording.readEvent());
+            }
+        }
+        return summary.toMap();
+    }
+
+    private void add(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.ExecutionSample" -> {
+                cpuSamples++;
+                cpu.add(topFrame(event.getStackTrace()), 1);
+                String application = applicationFrame(event.getStackTrace());
+                if (application != null) {
+                    cpuApplication.add(application, 1);
+                }
+            }
+            case "jdk.ObjectAllocationSample" -> {
+                long weight = event.getLong("weight");
+                allocatedBytes += weight;
+                allocation.add(topFrame(event.getStackTrace()) + " (" + className(event.getClass("objectClass")) + ")",
+                        weight);
+            }
+            case "jdk.JavaMonitorEnter" -> locks.add("monitor " + className(event.getClass("monitorClass"))
+                    + " at " + topApplicationOrTopFrame(event.getStackTrace()), event.getDuration().toNanos());
+            case "jdk.ThreadPark" -> {
+                RecordedClass parked = event.getClass("parkedClass");
+                if (parked != null && parked.getName().endsWith("Sync")) {
+                    locks.add("park " + parked.getName() + " at " + topApplicationOrTopFrame(event.getStackTrace()),
+                            event.getDuration().toNanos());
+                }
+            }
+            case "jdk.GarbageCollection" -> {
+                Duration pauses = event.getDuration("sumOfPauses");
+                gc.add(event.getString("name"), pauses.toNanos(), event.getDuration("longestPause").toNanos());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+
+        Map<String, Object> cpuSection = new LinkedHashMap<>();
+        cpuSection.put("samples", cpuSamples);
+        cpuSection.put("topMethods", ranked(cpu, "method", "samples", cpuSamples, false));
+        cpuSection.put("topApplicationMethods", ranked(cpuApplication, "method", "samples", cpuSamples, false));
+        summary.put("cpu", cpuSection);
+
+        Map<String, Object> allocationSection = new LinkedHashMap<>();
+        allocationSection.put("sampledBytes", allocatedBytes);
+        allocationSection.put("topSites", ranked(allocation, "site", "bytes", allocatedBytes, false));
+        summary.put("allocation", allocationSection);
+
+        Map<String, Object> lockSection = new LinkedHashMap<>();
+        lockSection.put("events", locks.events());
+        lockSection.put("totalMs", millis(locks.total()));
+        lockSection.put("top", ranked(locks, "lock", "totalMs", locks.total(), true));
+        summary.put("locks", lockSection);
+
+        Map<String, Object> gcSection = new LinkedHashMap<>();
+        gcSection.put("collections", gc.events());
+        gcSection.put("totalPauseMs", millis(gc.total()));
+        gcSection.put("maxPauseMs", millis(gc.max()));
+        gcSection.put("byCollector", ranked(gc, "collector", "totalPauseMs", gc.total(), true));
+        summary.put("gc", gcSection);
+        return summary;
+    }
+
+    private List<Map<String, Object>> ranked(Tally tally, String keyName, String weightName, long whole,
+                                             boolean durations) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(tally.entries.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        List<Map<String, Object>> ranked = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            long[] values = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(keyName, entry.getKey());
+            if (durations) {
+                row.put("events", values[0]);
+                row.put(weightName, millis(values[1]));
+                row.put("maxMs", millis(values[2]));
+            } else {
+                row.put(weightName, values[1]);
+            }
+            row.put("percent", whole == 0 ? 0.0 : Math.round(values[1] * 1000.0 / whole) / 10.0);
+            ranked.add(row);
+        }
+        return ranked;
+    }
+
+    private String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                RecordedMethod method = frame.getMethod();
+                if (method != null && method.getType().getName().startsWith(applicationPackage)) {
+                    return methodName(method);
+                }
+            }
+        }
+        return null;
+    }
+
+    private String topApplicationOrTopFrame(RecordedStackTrace stackTrace) {
+        String application = applicationFrame(stackTrace);
+        return application != null ? application : topFrame(stackTrace);
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "[unknown]";
+        }
+        RecordedMethod method = stackTrace.getFrames().get(0).getMethod();
+        return method == null ? "[unknown]" : methodName(method);
+    }
+
+    private static String methodName(RecordedMethod method) {
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    /** Java source form, so arrays read as byte[] rather than [B. */
+    private static String className(RecordedClass recordedClass) {
+        if (recordedClass == null) {
+            return "[unknown]";
+        }
+        String name = recordedClass.getName();
+        int dimensions = 0;
+        while (name.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        if (dimensions == 0) {
+            return name;
+        }
+        String element = switch (name.charAt(dimensions)) {
+            case 'Z' -> "boolean";
+            case 'B' -> "byte";
+            case 'C' -> "char";
+            case 'S' -> "short";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            case 'F' -> "float";
+            case 'D' -> "double";
+            default -> name.substring(dimensions + 1, name.length() - 1);
+        };
+        return element + "[]".repeat(dimensions);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /** Per key: events, summed weight, largest single weight. */
+    private static final class Tally {
+        final Map<String, long[]> entries = new HashMap<>();
+
+        void add(String key, long weight) {
+            add(key, weight, weight);
+        }
+
+        void add(String key, long weight, long max) {
+            long[] values = entries.computeIfAbsent(key, k -> new long[3]);
+            values[0]++;
+            values[1] += weight;
+            values[2] = Math.max(values[2], max);
+        }
+
+        long events() {
+            return entries.values().stream().mapToLong(values -> values[0]).sum();
+        }
+
+        long total() {
+            return entries.values().stream().mapToLong(values -> values[1]).sum();
+        }
+
+        long max() {
+            return entries.values().stream().mapToLong(values -> values[2]).max().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflix.oss.stack.profiling;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the JFR profiler and /actuator/profile when profiling.enabled is true
+ * and the endpoint is exposed (management.endpoints.web.exposure.include).
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "profiling", name = "enabled", havingValue = "true")
+@ConditionalOnAvailableEndpoint(endpoint = ProfilingEndpoint.class)
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingAutoConfiguration {
+
+    @Bean
+    public JfrProfiler jfrProfiler(ProfilingProperties properties, Environment environment) {
+        return new JfrProfiler(properties, environment.getProperty("spring.application.name", "application"));
+    }
+
+    @Bean
+    public ProfilingEndpoint profilingEndpoint(JfrProfiler jfrProfiler) {
+        return new ProfilingEndpoint(jfrProfiler);
+    }
+}
@@ -0,0 +1,66 @@
+package com.netflix.oss.stack.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * POST /actuator/profile {"durationSeconds": 30, "settings": "profile"} starts a JFR
+ * recording (409 while one runs, 429 during the cooldown, 400 outside the limits);
+ * GET /actuator/profile shows it, with the summary once it has ended;
+ * GET /actuator/profile/{id} downloads the .jfr file; DELETE ends it early.
+ */
+@Endpoint(id = "profile")
+public class ProfilingEndpoint {
+
+    private final JfrProfiler profiler;
+
+    public ProfilingEndpoint(JfrProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable Integer durationSeconds,
+                                                         @Nullable String settings) {
+        try {
+            return new WebEndpointResponse<>(profiler.start(durationSeconds, settings), 202);
+        } catch (JfrProfiler.RefusedException e) {
+            int status = switch (e.getRefusal()) {
+                case INVALID -> WebEndpointResponse.STATUS_BAD_REQUEST;
+                case BUSY -> 409;
+                case COOLDOWN -> WebEndpointResponse.STATUS_TOO_MANY_REQUESTS;
+            };
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), status);
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, Object>> status() {
+        Map<String, Object> status = profiler.status();
+        return status == null ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                : new WebEndpointResponse<>(status);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String id) {
+        Path file = profiler.recording(id);
+        return file == null ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                : new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Map<String, Object>> stop() {
+        Map<String, Object> status = profiler.stop();
+        return status == null ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                : new WebEndpointResponse<>(status);
+    }
+}
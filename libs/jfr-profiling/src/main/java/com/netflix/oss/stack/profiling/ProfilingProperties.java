@@ -0,0 +1,54 @@
+package com.netflix.oss.stack.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "profiling")
+public class ProfilingProperties {
+
+    private boolean enabled = false;
+    /** Used when the request names no duration. */
+    private int defaultDurationSeconds = 30;
+    /** Longer requests are refused. */
+    private int maxDurationSeconds = 120;
+    /** On-disk cap of a recording; beyond it the oldest data is dropped, so the summary covers the most recent part. */
+    private int maxSizeMb = 64;
+    /** Minimum time from the end of one recording to the start of the next. */
+    private int cooldownSeconds = 60;
+    /** JFR settings that may be requested; the JDK ships "default" (about 1% overhead) and "profile" (about 2%). */
+    private List<String> settings = List.of("default", "profile");
+    /** Entries per ranking in the summary. */
+    private int top = 20;
+    /** Methods under this package are also ranked on their own, past JDK and library frames. */
+    private String applicationPackage = "com.netflix.oss.stack";
+    /** Where the latest recording is kept for download. */
+    private String directory = System.getProperty("java.io.tmpdir");
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getDefaultDurationSeconds() { return defaultDurationSeconds; }
+    public void setDefaultDurationSeconds(int defaultDurationSeconds) { this.defaultDurationSeconds = defaultDurationSeconds; }
+
+    public int getMaxDurationSeconds() { return maxDurationSeconds; }
+    public void setMaxDurationSeconds(int maxDurationSeconds) { this.maxDurationSeconds = maxDurationSeconds; }
+
+    public int getMaxSizeMb() { return maxSizeMb; }
+    public void setMaxSizeMb(int maxSizeMb) { this.maxSizeMb = maxSizeMb; }
+
+    public int getCooldownSeconds() { return cooldownSeconds; }
+    public void setCooldownSeconds(int cooldownSeconds) { this.cooldownSeconds = cooldownSeconds; }
+
+    public List<String> getSettings() { return settings; }
+    public void setSettings(List<String> settings) { this.settings = settings; }
+
+    public int getTop() { return top; }
+    public void setTop(int top) { this.top = top; }
+
+    public String getApplicationPackage() { return applicationPackage; }
+    public void setApplicationPackage(String applicationPackage) { this.applicationPackage = applicationPackage; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+}
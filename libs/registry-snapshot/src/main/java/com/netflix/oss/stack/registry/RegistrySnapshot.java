@@ -0,0 +1,162 @@
+package com.netflix.oss.stack.registry;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * UP instances per service (keyed by upper-case VIP address, as Eureka looks them up)
+ * captured at one point in time.
+ *
+ * <p>File layout, big-endian: int magic, short version, long captured-at millis, int service
+ * count, then per service a UTF name and int instance count followed by each instance's UTF id,
+ * UTF host, int port, boolean secure, short metadata count and UTF key/value pairs. A trailing
+ * CRC32C covers everything before it, so a torn or foreign file is rejected instead of routed to.
+ */
+public final class RegistrySnapshot {
+
+    private static final int MAGIC = 0x52534e50; // "RSNP"
+    private static final short VERSION = 1;
+
+    record Instance(String instanceId, String host, int port, boolean secure, Map<String, String> metadata) {
+    }
+
+    private final long capturedAtMillis;
+    private final Map<String, List<Instance>> services;
+
+    RegistrySnapshot(long capturedAtMillis, Map<String, List<Instance>> services) {
+        this.capturedAtMillis = capturedAtMillis;
+        Map<String, List<Instance>> copy = new TreeMap<>();
+        services.forEach((service, instances) -> copy.put(service.toUpperCase(Locale.ROOT), List.copyOf(instances)));
+        this.services = copy;
+    }
+
+    public long capturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    public int serviceCount() {
+        return services.size();
+    }
+
+    public int instanceCount() {
+        return services.values().stream().mapToInt(List::size).sum();
+    }
+
+    /** Same services and instances, ignoring when each snapshot was taken. */
+    boolean sameRegistry(RegistrySnapshot other) {
+        return other != null && services.equals(other.services);
+    }
+
+    Map<String, List<Instance>> services() {
+        return services;
+    }
+
+    public List<String> serviceIds() {
+        return services.keySet().stream().map(service -> service.toLowerCase(Locale.ROOT)).toList();
+    }
+
+    public List<ServiceInstance> instances(String serviceId) {
+        List<Instance> instances = services.get(serviceId.toUpperCase(Locale.ROOT));
+        if (instances == null) {
+            return List.of();
+        }
+        List<ServiceInstance> result = new ArrayList<>(instances.size());
+        for (Instance instance : instances) {
+            result.add(new DefaultServiceInstance(instance.instanceId(), serviceId, instance.host(), instance.port(),
+                    instance.secure(), instance.metadata()));
+        }
+        return result;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + 128 * instanceCount());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(capturedAtMillis);
+            out.writeInt(services.size());
+            for (Map.Entry<String, List<Instance>> service : services.entrySet()) {
+                out.writeUTF(service.getKey());
+                out.writeInt(service.getValue().size());
+                for (Instance instance : service.getValue()) {
+                    out.writeUTF(instance.instanceId());
+                    out.writeUTF(instance.host());
+                    out.writeInt(instance.port());
+                    out.writeBoolean(instance.secure());
+                    out.writeShort(instance.metadata().size());
+                    for (Map.Entry<String, String> entry : instance.metadata().entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        out.writeUTF(entry.getValue());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        int checksum = (int) crc.getValue();
+        bytes.write(checksum >>> 24);
+        bytes.write(checksum >>> 16);
+        bytes.write(checksum >>> 8);
+        bytes.write(checksum);
+        return bytes.toByteArray();
+    }
+
+    static RegistrySnapshot decode(byte[] data) throws IOException {
+        if (data.length < 4) {
+            throw new IOException("Snapshot file is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data, 0, data.length - 4);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        in.skipNBytes(data.length - 4);
+        if (in.readInt() != (int) crc.getValue()) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a registry snapshot");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long capturedAt = in.readLong();
+        int serviceCount = in.readInt();
+        Map<String, List<Instance>> services = new LinkedHashMap<>();
+        for (int s = 0; s < serviceCount; s++) {
+            String service = in.readUTF();
+            int instanceCount = in.readInt();
+            List<Instance> instances = new ArrayList<>(instanceCount);
+            for (int i = 0; i < instanceCount; i++) {
+                String instanceId = in.readUTF();
+                String host = in.readUTF();
+                int port = in.readInt();
+                boolean secure = in.readBoolean();
+                int metadataCount = in.readShort();
+                Map<String, String> metadata = new LinkedHashMap<>();
+                for (int m = 0; m < metadataCount; m++) {
+                    metadata.put(in.readUTF(), in.readUTF());
+                }
+                instances.add(new Instance(instanceId, host, port, secure, metadata));
+            }
+            services.put(service, instances);
+        }
+        return new RegistrySnapshot(capturedAt, services);
+    }
+}
@@ -0,0 +1,48 @@
+package com.netflix.oss.stack.registry;
+
+import com.netflix.discovery.EurekaClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ConditionalOnReactiveDiscoveryEnabled;
+import org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+
+/**
+ * Registers the snapshot store and the snapshot discovery clients when
+ * discovery.snapshot.enabled is true.
+ */
+@AutoConfiguration(after = EurekaClientAutoConfiguration.class)
+@ConditionalOnClass(EurekaClient.class)
+@ConditionalOnProperty(prefix = "discovery.snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RegistrySnapshotProperties.class)
+public class RegistrySnapshotAutoConfiguration {
+
+    @Bean
+    public RegistrySnapshotStore registrySnapshotStore(RegistrySnapshotProperties properties,
+                                                       ObjectProvider<EurekaClient> eurekaClient,
+                                                       MeterRegistry meterRegistry) {
+        return new RegistrySnapshotStore(properties, eurekaClient, meterRegistry);
+    }
+
+    @Bean
+    public SnapshotDiscoveryClient snapshotDiscoveryClient(RegistrySnapshotStore registrySnapshotStore) {
+        return new SnapshotDiscoveryClient(registrySnapshotStore);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Flux.class)
+    @ConditionalOnReactiveDiscoveryEnabled
+    static class ReactiveSnapshotConfiguration {
+
+        @Bean
+        public SnapshotReactiveDiscoveryClient snapshotReactiveDiscoveryClient(RegistrySnapshotStore registrySnapshotStore) {
+            return new SnapshotReactiveDiscoveryClient(registrySnapshotStore);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.netflix.oss.stack.registry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "discovery.snapshot")
+public class RegistrySnapshotProperties {
+
+    private boolean enabled = false;
+    private String path = "registry-snapshot.bin";
+    /** How often the live registry is compared with the file and rewritten if it changed. */
+    private int writeIntervalSeconds = 30;
+    /** Snapshots older than this are not served at startup. */
+    private int maxAgeHours = 72;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getWriteIntervalSeconds() { return writeIntervalSeconds; }
+    public void setWriteIntervalSeconds(int writeIntervalSeconds) { this.writeIntervalSeconds = writeIntervalSeconds; }
+
+    public int getMaxAgeHours() { return maxAgeHours; }
+    public void setMaxAgeHours(int maxAgeHours) { this.maxAgeHours = maxAgeHours; }
+}
@@ -0,0 +1,250 @@
+package com.netflix.oss.stack.registry;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Application;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last known Eureka registry on disk and serves it until Eureka answers.
+ * At startup the snapshot file is loaded (unless older than max-age-hours) and
+ * handed to the snapshot discovery clients. Once the Eureka client has completed a
+ * registry fetch that returned any application, the snapshot stops being served for
+ * good and Eureka's view wins. A background thread rewrites the file after every
+ * successful fetch (signalled by the client's HeartbeatEvent), never with an empty registry.
+ */
+public class RegistrySnapshotStore implements InitializingBean, DisposableBean, ApplicationListener<HeartbeatEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshotStore.class);
+
+    private final RegistrySnapshotProperties properties;
+    private final ObjectProvider<EurekaClient> eurekaClient;
+    private final MeterRegistry meterRegistry;
+    private final Path path;
+    private final Counter writes;
+    private final Counter writeFailures;
+
+    private volatile RegistrySnapshot snapshot;
+    private volatile RegistrySnapshot loaded;
+    private volatile boolean reconciled;
+    private volatile long lastFetchMillis;
+    private long lastWriteMillis;
+    private ScheduledExecutorService writer;
+
+    public RegistrySnapshotStore(RegistrySnapshotProperties properties, ObjectProvider<EurekaClient> eurekaClient,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eurekaClient = eurekaClient;
+        this.meterRegistry = meterRegistry;
+        this.path = Path.of(properties.getPath());
+        this.writes = Counter.builder("discovery.snapshot.writes").tag("result", "success").register(meterRegistry);
+        this.writeFailures = Counter.builder("discovery.snapshot.writes").tag("result", "failure").register(meterRegistry);
+
+        Gauge.builder("discovery.snapshot.age", this, store -> store.snapshotAgeSeconds())
+                .description("Seconds since the held registry snapshot was captured from Eureka")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("discovery.registry.fetch.age", this, store -> store.fetchAgeSeconds())
+                .description("Seconds since the last successful Eureka registry refresh, -1 before the first")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("discovery.snapshot.serving", this, store -> store.reconciled || store.loaded == null ? 0 : 1)
+                .description("1 while lookups are answered from the snapshot file").register(meterRegistry);
+        Gauge.builder("discovery.snapshot.instances", this,
+                store -> store.snapshot == null ? 0 : store.snapshot.instanceCount()).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        load();
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registry-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int interval = Math.max(1, properties.getWriteIntervalSeconds());
+        writer.scheduleWithFixedDelay(this::persist, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private void load() {
+        try {
+            RegistrySnapshot fromDisk = RegistrySnapshot.decode(Files.readAllBytes(path));
+            Duration age = Duration.ofMillis(System.currentTimeMillis() - fromDisk.capturedAtMillis());
+            if (age.toHours() >= properties.getMaxAgeHours()) {
+                logger.warn("Ignoring registry snapshot {} captured {} ago (max age {}h)",
+                        path.toAbsolutePath(), age, properties.getMaxAgeHours());
+                return;
+            }
+            snapshot = fromDisk;
+            loaded = fromDisk;
+            logger.info("Serving registry snapshot {} until Eureka answers: {} services, {} instances, captured {} ago",
+                    path.toAbsolutePath(), fromDisk.serviceCount(), fromDisk.instanceCount(), age);
+        } catch (NoSuchFileException e) {
+            logger.info("No registry snapshot at {} yet", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable registry snapshot {}: {}", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshot to answer lookups from, or null once Eureka has delivered a registry.
+     */
+    RegistrySnapshot serving() {
+        if (reconciled) {
+            return null;
+        }
+        RegistrySnapshot fromDisk = loaded;
+        if (fromDisk == null) {
+            return null;
+        }
+        if (eurekaHasRegistry()) {
+            reconciled = true;
+            logReconciliation(fromDisk);
+            return null;
+        }
+        return fromDisk;
+    }
+
+    void recordLookup(String serviceId) {
+        Counter.builder("discovery.snapshot.lookups")
+                .description("Discovery lookups answered from the snapshot file")
+                .tag("service", serviceId.toLowerCase(Locale.ROOT))
+                .register(meterRegistry).increment();
+    }
+
+    /** Published by the Eureka client after each successful registry refresh. */
+    @Override
+    public void onApplicationEvent(HeartbeatEvent event) {
+        lastFetchMillis = System.currentTimeMillis();
+    }
+
+    private boolean eurekaHasRegistry() {
+        EurekaClient client = eurekaClient.getIfAvailable();
+        return client != null && !client.getApplications().getRegisteredApplications().isEmpty();
+    }
+
+    private void persist() {
+        try {
+            EurekaClient client = eurekaClient.getIfAvailable();
+            if (client == null) {
+                return;
+            }
+            long fetchedAt = lastFetchMillis;
+            if (fetchedAt == 0 || fetchedAt <= lastWriteMillis) {
+                return; // nothing new from Eureka since the last write
+            }
+            RegistrySnapshot live = capture(client, fetchedAt);
+            if (live.serviceCount() == 0) {
+                return;
+            }
+            write(live);
+            if (!reconciled && loaded != null) {
+                serving();
+            }
+        } catch (RuntimeException e) {
+            writeFailures.increment();
+            logger.warn("Failed to capture registry snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void write(RegistrySnapshot live) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(temp, live.encode());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!live.sameRegistry(snapshot)) {
+                logger.info("Registry snapshot written to {}: {} services, {} instances",
+                        path.toAbsolutePath(), live.serviceCount(), live.instanceCount());
+            }
+            snapshot = live;
+            lastWriteMillis = live.capturedAtMillis();
+            writes.increment();
+        } catch (IOException e) {
+            writeFailures.increment();
+            logger.warn("Failed to write registry snapshot {}: {}", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /** UP instances by VIP address, the key Spring's Eureka discovery client looks services up by. */
+    private static RegistrySnapshot capture(EurekaClient client, long capturedAtMillis) {
+        Map<String, List<RegistrySnapshot.Instance>> services = new HashMap<>();
+        for (Application application : client.getApplications().getRegisteredApplications()) {
+            for (InstanceInfo info : application.getInstances()) {
+                if (info.getStatus() != InstanceInfo.InstanceStatus.UP) {
+                    continue;
+                }
+                boolean secure = info.isPortEnabled(InstanceInfo.PortType.SECURE);
+                String vipAddress = info.getVIPAddress() != null ? info.getVIPAddress() : application.getName();
+                services.computeIfAbsent(vipAddress, key -> new ArrayList<>())
+                        .add(new RegistrySnapshot.Instance(info.getId(), info.getHostName(),
+                                secure ? info.getSecurePort() : info.getPort(), secure,
+                                new TreeMap<>(info.getMetadata())));
+            }
+        }
+        services.values().forEach(instances -> instances.sort((a, b) -> a.instanceId().compareTo(b.instanceId())));
+        return new RegistrySnapshot(capturedAtMillis, services);
+    }
+
+    private void logReconciliation(RegistrySnapshot fromDisk) {
+        EurekaClient client = eurekaClient.getIfAvailable();
+        if (client == null) {
+            return;
+        }
+        RegistrySnapshot live = capture(client, System.currentTimeMillis());
+        TreeSet<String> changed = new TreeSet<>();
+        TreeSet<String> all = new TreeSet<>(fromDisk.services().keySet());
+        all.addAll(live.services().keySet());
+        for (String service : all) {
+            if (!fromDisk.services().getOrDefault(service, List.of()).equals(live.services().getOrDefault(service, List.of()))) {
+                changed.add(service);
+            }
+        }
+        logger.info("Eureka registry fetched; no longer serving the snapshot ({} of {} services changed{})",
+                changed.size(), all.size(), changed.isEmpty() ? "" : ": " + changed);
+    }
+
+    private double snapshotAgeSeconds() {
+        RegistrySnapshot held = snapshot;
+        return held == null ? Double.NaN : (System.currentTimeMillis() - held.capturedAtMillis()) / 1000.0;
+    }
+
+    private double fetchAgeSeconds() {
+        long fetchedAt = lastFetchMillis;
+        return fetchedAt == 0 ? -1 : (System.currentTimeMillis() - fetchedAt) / 1000.0;
+    }
+
+    @Override
+    public void destroy() {
+        if (writer != null) {
+            writer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.netflix.oss.stack.registry;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Answers from the registry snapshot until Eureka has delivered a registry, and
+ * with nothing afterwards. Ordered after the Eureka client, so the composite
+ * client only falls through to it while Eureka has no instances.
+ */
+public class SnapshotDiscoveryClient implements DiscoveryClient {
+
+    private final RegistrySnapshotStore store;
+
+    public SnapshotDiscoveryClient(RegistrySnapshotStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public String description() {
+        return "Registry snapshot discovery client";
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+        RegistrySnapshot snapshot = store.serving();
+        if (snapshot == null) {
+            return List.of();
+        }
+        List<ServiceInstance> instances = snapshot.instances(serviceId);
+        if (!instances.isEmpty()) {
+            store.recordLookup(serviceId);
+        }
+        return instances;
+    }
+
+    @Override
+    public List<String> getServices() {
+        RegistrySnapshot snapshot = store.serving();
+        return snapshot == null ? List.of() : snapshot.serviceIds();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
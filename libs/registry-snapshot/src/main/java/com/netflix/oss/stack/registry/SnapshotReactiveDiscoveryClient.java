@@ -0,0 +1,39 @@
+package com.netflix.oss.stack.registry;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of {@link SnapshotDiscoveryClient}. The reactive composite
+ * concatenates every client's instances, which is safe because this one goes
+ * empty as soon as Eureka has a registry.
+ */
+public class SnapshotReactiveDiscoveryClient implements ReactiveDiscoveryClient {
+
+    private final SnapshotDiscoveryClient delegate;
+
+    public SnapshotReactiveDiscoveryClient(RegistrySnapshotStore store) {
+        this.delegate = new SnapshotDiscoveryClient(store);
+    }
+
+    @Override
+    public String description() {
+        return "Reactive registry snapshot discovery client";
+    }
+
+    @Override
+    public Flux<ServiceInstance> getInstances(String serviceId) {
+        return Flux.defer(() -> Flux.fromIterable(delegate.getInstances(serviceId)));
+    }
+
+    @Override
+    public Flux<String> getServices() {
+        return Flux.defer(() -> Flux.fromIterable(delegate.getServices()));
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+}
@@ -0,0 +1,66 @@
+package com.netflix.oss.stack.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which the caller stops waiting for a request. It travels
+ * between hops in the X-Deadline-Ms header as the milliseconds left when the
+ * request was sent, so the hosts' clocks do not have to agree; each hop turns
+ * it back into a local deadline on arrival.
+ */
+public final class Deadline {
+
+    public static final String HEADER = "X-Deadline-Ms";
+
+    static final String ATTRIBUTE = Deadline.class.getName();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /** Deadline of the request handled on this thread, or null when it has none. */
+    public static Deadline current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (Deadline) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /** Budget carried by a header value; -1 when it is missing or not a number. */
+    public static long parse(String header) {
+        if (header == null || header.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /** True when it has passed or fewer than {@code millis} are left. */
+    public boolean expiresWithin(long millis) {
+        return expiresAtNanos - System.nanoTime() <= TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public String toString() {
+        return remainingMillis() + "ms left";
+    }
+}
@@ -0,0 +1,56 @@
+package com.netflix.oss.stack.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet side of a hop: turns the caller's X-Deadline-Ms into a local
+ * {@link Deadline} for the rest of the request ({@link Deadline#current()}) and
+ * answers 504 straight away when the budget is already spent.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineFilter.class);
+
+    private final DeadlineProperties properties;
+    private final DeadlineMetrics metrics;
+
+    public DeadlineFilter(DeadlineGuard guard) {
+        this.properties = guard.properties();
+        this.metrics = guard.metrics();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long budget = properties.budgetFor(request.getHeader(Deadline.HEADER));
+        if (budget < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Deadline deadline = Deadline.after(budget);
+        metrics.arrived(budget);
+        if (deadline.expiresWithin(properties.getMinRemainingMs())) {
+            metrics.expired(DeadlineMetrics.ARRIVAL);
+            logger.debug("Dropping {} {}: deadline expired before it arrived ({}ms left)",
+                    request.getMethod(), request.getRequestURI(), budget);
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request deadline expired");
+            return;
+        }
+        request.setAttribute(Deadline.ATTRIBUTE, deadline);
+        chain.doFilter(request, response);
+    }
+}
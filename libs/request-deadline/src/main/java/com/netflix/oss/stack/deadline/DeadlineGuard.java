@@ -0,0 +1,40 @@
+package com.netflix.oss.stack.deadline;
+
+/**
+ * Check to run before starting a piece of work on behalf of the current
+ * request: refuses it, and counts it as dropped, when the deadline is spent.
+ */
+public class DeadlineGuard {
+
+    private final DeadlineProperties properties;
+    private final DeadlineMetrics metrics;
+
+    public DeadlineGuard(DeadlineProperties properties, DeadlineMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Throws {@link DeadlineExceededException} when fewer than min-remaining-ms are
+     * left on the current request's deadline; {@code work} names what was skipped.
+     */
+    public void check(String stage, String work) {
+        check(Deadline.current(), stage, work);
+    }
+
+    /** Same check for a deadline captured earlier, e.g. by work queued for another thread. */
+    public void check(Deadline deadline, String stage, String work) {
+        if (deadline != null && properties.isEnabled() && deadline.expiresWithin(properties.getMinRemainingMs())) {
+            metrics.expired(stage);
+            throw new DeadlineExceededException("Request deadline expired before " + work);
+        }
+    }
+
+    public DeadlineProperties properties() {
+        return properties;
+    }
+
+    public DeadlineMetrics metrics() {
+        return metrics;
+    }
+}
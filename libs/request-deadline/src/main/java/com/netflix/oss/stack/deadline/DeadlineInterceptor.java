@@ -0,0 +1,56 @@
+package com.netflix.oss.stack.deadline;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * RestTemplate side of a hop: passes what is left of the current request's
+ * deadline on in X-Deadline-Ms and refuses the call when nothing useful is
+ * left. A call that times out once the deadline has passed, or that the next
+ * hop answered 504 because it was too late, ends as {@link DeadlineExceededException}.
+ * Pair with {@link DeadlineRequestFactories} so the call's timeouts follow the budget.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String target;
+    private final DeadlineGuard guard;
+
+    public DeadlineInterceptor(String target, DeadlineGuard guard) {
+        this.target = target;
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null || !guard.properties().isEnabled()) {
+            return execution.execute(request, body);
+        }
+        guard.check(DeadlineMetrics.OUTBOUND, "calling " + target);
+        request.getHeaders().set(Deadline.HEADER, Long.toString(deadline.remainingMillis()));
+
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getStatusCode().value() == 504) {
+                // Dropped and counted downstream
+                response.close();
+                throw new DeadlineExceededException("Request deadline expired at " + target);
+            }
+            return response;
+        } catch (InterruptedIOException e) {
+            // Socket read or pool lease timed out, which the request factory bounds by the deadline
+            // in whole milliseconds, so it can fire just short of it
+            if (!deadline.expiresWithin(guard.properties().getMinRemainingMs() + 1)) {
+                throw e;
+            }
+            guard.metrics().expired(DeadlineMetrics.TIMEOUT);
+            throw new DeadlineExceededException("Request deadline expired waiting for " + target, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.netflix.oss.stack.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * How much budget requests arrive with and how much work is dropped because
+ * the caller had already given up:
+ * <ul>
+ *   <li>deadline.budget — milliseconds left when a request arrived</li>
+ *   <li>deadline.expired{stage} — requests dropped: on arrival, while queued,
+ *       before an outbound call, or when an outbound call ran out of time</li>
+ * </ul>
+ */
+public class DeadlineMetrics {
+
+    public static final String ARRIVAL = "arrival";
+    public static final String QUEUED = "queued";
+    public static final String OUTBOUND = "outbound";
+    public static final String TIMEOUT = "timeout";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary budget;
+
+    public DeadlineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.budget = DistributionSummary.builder("deadline.budget")
+                .description("Time left on the request deadline when it arrived")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void arrived(long budgetMillis) {
+        budget.record(budgetMillis);
+    }
+
+    public void expired(String stage) {
+        Counter.builder("deadline.expired")
+                .description("Work dropped because the request deadline had passed")
+                .tag("stage", stage)
+                .register(meterRegistry).increment();
+    }
+}
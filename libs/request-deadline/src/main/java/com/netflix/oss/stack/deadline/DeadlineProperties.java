@@ -0,0 +1,39 @@
+package com.netflix.oss.stack.deadline;
+
+/**
+ * Deadline settings, bound by each service under "deadline".
+ */
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+    /** Budget for requests that arrive without X-Deadline-Ms; 0 leaves them unbounded. */
+    private long defaultMs = 0;
+    /** Upper bound on a caller-supplied budget; 0 accepts any. */
+    private long maxMs = 0;
+    /** Work with less than this left is refused rather than started. */
+    private long minRemainingMs = 0;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getDefaultMs() { return defaultMs; }
+    public void setDefaultMs(long defaultMs) { this.defaultMs = defaultMs; }
+
+    public long getMaxMs() { return maxMs; }
+    public void setMaxMs(long maxMs) { this.maxMs = maxMs; }
+
+    public long getMinRemainingMs() { return minRemainingMs; }
+    public void setMinRemainingMs(long minRemainingMs) { this.minRemainingMs = minRemainingMs; }
+
+    /**
+     * Budget for an incoming request from its X-Deadline-Ms header value: the
+     * caller's budget capped at max-ms, default-ms without one, -1 for no deadline.
+     */
+    public long budgetFor(String header) {
+        long budget = Deadline.parse(header);
+        if (budget < 0) {
+            return defaultMs > 0 ? defaultMs : -1;
+        }
+        return maxMs > 0 ? Math.min(budget, maxMs) : budget;
+    }
+}
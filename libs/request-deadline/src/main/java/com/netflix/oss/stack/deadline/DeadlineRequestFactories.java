@@ -0,0 +1,72 @@
+package com.netflix.oss.stack.deadline;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * Request factories whose timeouts shrink to what is left of the current
+ * request's deadline, so an outbound call gives up when the caller has.
+ * Requests without a deadline keep the factory's own timeouts.
+ */
+public final class DeadlineRequestFactories {
+
+    private DeadlineRequestFactories() {
+    }
+
+    /** JDK HttpURLConnection: connect and read timeouts capped by the deadline. */
+    public static SimpleClientHttpRequestFactory simple() {
+        return new SimpleClientHttpRequestFactory() {
+            @Override
+            protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+                super.prepareConnection(connection, httpMethod);
+                Deadline deadline = Deadline.current();
+                if (deadline != null) {
+                    int remaining = timeoutMillis(deadline);
+                    connection.setReadTimeout(cap(connection.getReadTimeout(), remaining));
+                    connection.setConnectTimeout(cap(connection.getConnectTimeout(), remaining));
+                }
+            }
+        };
+    }
+
+    /** Apache HttpClient: pool lease and response timeouts capped by the deadline. */
+    public static HttpComponentsClientHttpRequestFactory httpComponents(HttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                Deadline deadline = Deadline.current();
+                if (deadline == null) {
+                    return super.createHttpContext(httpMethod, uri);
+                }
+                Timeout remaining = Timeout.ofMilliseconds(timeoutMillis(deadline));
+                RequestConfig base = createRequestConfig(getHttpClient());
+                RequestConfig config = (base != null ? RequestConfig.copy(base) : RequestConfig.custom())
+                        .setConnectionRequestTimeout(remaining)
+                        .setResponseTimeout(remaining)
+                        .build();
+                HttpClientContext context = HttpClientContext.create();
+                context.setRequestConfig(config);
+                return context;
+            }
+        };
+    }
+
+    /** Never 0, which both clients read as "no timeout". */
+    private static int timeoutMillis(Deadline deadline) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, deadline.remainingMillis()));
+    }
+
+    private static int cap(int configured, int remaining) {
+        return configured > 0 ? Math.min(configured, remaining) : remaining;
+    }
+}
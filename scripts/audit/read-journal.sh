@@ -0,0 +1,24 @@
+#!/bin/bash
+#
+# Audit Journal Reader
+# Scans core-backend audit journal segments offline and filters them.
+#
+# Usage: ./read-journal.sh <journal-dir> [--from ISO-INSTANT] [--to ISO-INSTANT] [--serial SERIAL]
+#                          [--subject TEXT] [--type TYPE] [--request-id ID] [--json] [--count]
+#   JAR defaults to services/core-backend/target/core-backend.jar (on a server: /opt/core-backend/app.jar)
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+JAR="${JAR:-${ROOT_DIR}/services/core-backend/target/core-backend.jar}"
+
+if [ ! -f "$JAR" ]; then
+    echo "core-backend jar not found at $JAR (build it or set JAR=...)" >&2
+    exit 1
+fi
+
+exec java -cp "$JAR" \
+    -Dloader.main=com.netflix.oss.stack.backend.audit.AuditJournalReader \
+    org.springframework.boot.loader.launch.PropertiesLauncher "$@"
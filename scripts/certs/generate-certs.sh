@@ -235,6 +235,7 @@ main() {
     generate_middleware_cert
     generate_client_cert
     generate_truststores
+    CERTS_DIR="${CERTS_DIR}" bash "${SCRIPT_DIR}/generate-crl.sh" > /dev/null
     display_cert_info
     
     # Cleanup temporary files
@@ -249,6 +250,7 @@ main() {
     log_info "  - middleware-truststore.p12: Middleware truststore (for client verification)"
     log_info "  - client-keystore.p12    : Client (user-bff) keystore"
     log_info "  - client-truststore.p12  : Client truststore (for server verification)"
+    log_info "  - crl.pem                : Empty CRL (./generate-crl.sh cert.pem ... to revoke)"
     log_info ""
     log_info "Keystore password: ${PASSWORD}"
 }
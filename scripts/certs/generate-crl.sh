@@ -0,0 +1,49 @@
+#!/bin/bash
+#
+# CRL Generation Script
+# Writes crl.pem signed by the Root CA, revoking every certificate passed in.
+# With no arguments the CRL is empty. mtls-middleware picks up a replaced
+# crl.pem without a restart (middleware.revocation.reload-interval-seconds).
+#
+# Usage: ./generate-crl.sh [revoked-cert.pem ...]
+#   CERTS_DIR defaults to this script's directory and must hold root-ca.pem / root-ca-key.pem.
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+CERTS_DIR="${CERTS_DIR:-${SCRIPT_DIR}}"
+CRL_DAYS="${CRL_DAYS:-30}"
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+GREEN='\033[0;32m'
+NC='\033[0m'
+
+log_info() {
+    echo -e "${GREEN}[INFO]${NC} $1"
+}
+
+touch "${WORK_DIR}/index.txt"
+cat > "${WORK_DIR}/ca.cnf" << EOF
+[ca]
+default_ca = root_ca
+
+[root_ca]
+database = ${WORK_DIR}/index.txt
+certificate = ${CERTS_DIR}/root-ca.pem
+private_key = ${CERTS_DIR}/root-ca-key.pem
+default_md = sha256
+default_crl_days = ${CRL_DAYS}
+EOF
+
+for cert in "$@"; do
+    log_info "Revoking $(openssl x509 -in "$cert" -noout -subject) (serial $(openssl x509 -in "$cert" -noout -serial | cut -d= -f2))"
+    openssl ca -config "${WORK_DIR}/ca.cnf" -revoke "$cert" 2> /dev/null
+done
+
+# Write to a temp file first so the middleware never reads a half-written CRL
+openssl ca -config "${WORK_DIR}/ca.cnf" -gencrl -out "${WORK_DIR}/crl.pem" 2> /dev/null
+mv "${WORK_DIR}/crl.pem" "${CERTS_DIR}/crl.pem"
+
+log_info "CRL written to ${CERTS_DIR}/crl.pem ($# revoked, valid ${CRL_DAYS} days)"
@@ -0,0 +1,135 @@
+#!/bin/bash
+#
+# Collocated vs Distributed Benchmark
+# Drives the BFF with the load generator twice at the same arrival rate: once with
+# core-backend, mtls-middleware and user-bff as three JVMs talking HTTP/mTLS, and
+# once as the single collocated JVM with in-process transports. Reports land in reports/:
+#   distributed-report.json, collocated-report.json (throughput, errors, latency percentiles)
+#   collocated-comparison.json (resident memory of the JVMs under load, next to the report names)
+#
+# Usage: ./compare_modes.sh [rate] [duration-seconds]
+#   CERTS_DIR=scripts/certs  MIX=rest=1,soap=1,graphql=1  WARMUP=10  TIMEOUT_MS=5000  SETTLE=30
+#   Build first (mvn package -DskipTests) and generate certificates (scripts/certs/generate-certs.sh).
+#   Runs on localhost without Eureka or the config server; ports 8081, 8082 and 8443/8444 must be free.
+#
+
+set -e
+
+RATE="${1:-50}"
+DURATION="${2:-60}"
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+REPORTS_DIR="${ROOT_DIR}/reports"
+CERTS_DIR="${CERTS_DIR:-${ROOT_DIR}/scripts/certs}"
+LOADGEN="${ROOT_DIR}/tools/load-generator/target/load-generator.jar"
+AUDIT_DIR="$(mktemp -d)"
+TIMEOUT_SECONDS=120
+PIDS=()
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+log_info() { echo -e "${BLUE}[INFO]${NC} $1"; }
+log_pass() { echo -e "${GREEN}[PASS]${NC} $1"; }
+log_fail() { echo -e "${RED}[FAIL]${NC} $1"; }
+
+stop_all() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap 'stop_all; rm -rf "$AUDIT_DIR"' EXIT
+
+for jar in core-backend mtls-middleware user-bff collocated; do
+    if [ ! -f "${ROOT_DIR}/services/${jar}/target/${jar}.jar" ]; then
+        log_fail "services/${jar}/target/${jar}.jar missing, run mvn package -DskipTests first"
+        exit 1
+    fi
+done
+if [ ! -f "$LOADGEN" ]; then
+    log_info "Building load generator..."
+    (cd "$ROOT_DIR" && mvn -q package -DskipTests -pl tools/load-generator)
+fi
+
+mkdir -p "$REPORTS_DIR"
+
+# Starts a jar in the background with the given environment, remembering its PID
+start() {
+    local jar="$1"
+    shift
+    env "$@" java $JAVA_OPTS -jar "${ROOT_DIR}/services/${jar}/target/${jar}.jar" \
+        --eureka.client.enabled=false > "${REPORTS_DIR}/${jar}-benchmark.log" 2>&1 &
+    PIDS+=($!)
+}
+
+wait_for() {
+    local url="$1"
+    local deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url" 2>/dev/null)" = "200" ]; do
+        if [ "$(date +%s)" -gt "$deadline" ]; then
+            log_fail "$url did not come up within ${TIMEOUT_SECONDS}s"
+            exit 1
+        fi
+        sleep 0.5
+    done
+}
+
+# Total resident memory of the started JVMs, in MB
+rss_mb() {
+    ps -o rss= -p "$(IFS=,; echo "${PIDS[*]}")" | awk '{sum += $1} END {printf "%.0f", sum / 1024}'
+}
+
+# Idle time after startup so background JIT compilation is not billed to either mode
+run_load() {
+    local name="$1"
+    sleep "${SETTLE:-30}"
+    java -jar "$LOADGEN" \
+        --target "http://localhost:8081" \
+        --rate "$RATE" \
+        --duration "$DURATION" \
+        --warmup "${WARMUP:-10}" \
+        --mix "${MIX:-rest=1,soap=1,graphql=1}" \
+        --timeout-ms "${TIMEOUT_MS:-5000}" \
+        --report-dir "$REPORTS_DIR" \
+        --name "$name"
+}
+
+log_info "Distributed: core-backend, mtls-middleware and user-bff as separate JVMs"
+start core-backend AUDIT_DIR="${AUDIT_DIR}/distributed"
+start mtls-middleware KEYSTORE_PATH="${CERTS_DIR}/middleware-keystore.p12" \
+    TRUSTSTORE_PATH="${CERTS_DIR}/middleware-truststore.p12" CRL_PATH="${CERTS_DIR}/crl.pem"
+wait_for "http://localhost:8082/backend/health"
+wait_for "http://localhost:8444/actuator/health"
+# Only the load generator's warm-up, as in collocated mode, which has no pools to warm
+start user-bff BFF_WARMUP_ENABLED=false KEYSTORE_PATH="${CERTS_DIR}/client-keystore.p12" TRUSTSTORE_PATH="${CERTS_DIR}/client-truststore.p12"
+wait_for "http://localhost:8081/api/rest/health"
+run_load distributed
+DISTRIBUTED_RSS=$(rss_mb)
+stop_all
+
+log_info "Collocated: one JVM, in-process transports"
+start collocated AUDIT_DIR="${AUDIT_DIR}/collocated" \
+    KEYSTORE_PATH="${CERTS_DIR}/client-keystore.p12" TRUSTSTORE_PATH="${CERTS_DIR}/client-truststore.p12" \
+    MIDDLEWARE_TRUSTSTORE_PATH="${CERTS_DIR}/middleware-truststore.p12" CRL_PATH="${CERTS_DIR}/crl.pem"
+wait_for "http://localhost:8081/api/rest/health"
+run_load collocated
+COLLOCATED_RSS=$(rss_mb)
+stop_all
+
+cat > "${REPORTS_DIR}/collocated-comparison.json" << EOF2
+{
+  "timestamp": "$(date -u +"%Y-%m-%dT%H:%M:%SZ")",
+  "offered_rate_per_second": $RATE,
+  "duration_seconds": $DURATION,
+  "distributed": {"jvms": 3, "rss_mb": $DISTRIBUTED_RSS, "report": "distributed-report.json"},
+  "collocated": {"jvms": 1, "rss_mb": $COLLOCATED_RSS, "report": "collocated-report.json"}
+}
+EOF2
+
+log_pass "Resident memory under load: distributed ${DISTRIBUTED_RSS} MB, collocated ${COLLOCATED_RSS} MB"
+log_info "Comparison written to ${REPORTS_DIR}/collocated-comparison.json"
@@ -0,0 +1,62 @@
+#!/bin/bash
+#
+# Load Test Script for Netflix OSS Stack
+# Runs the sanity suite against the gateway and, if it passes, drives the REST,
+# SOAP and GraphQL routes at a fixed arrival rate with the load generator.
+# Reports land in reports/ next to the sanity reports:
+#   load-report.json (throughput, errors, latency percentiles) and load-<route>.hgrm
+#
+# Usage: ./run_load.sh [gateway-ip] [rate] [duration-seconds]
+#   MIX=rest=1,soap=1,graphql=1  WARMUP=10  TIMEOUT_MS=5000  NAME=load  SKIP_SANITY=1
+#
+# For a one-machine benchmark of the whole chain, start core-backend in stub mode:
+#   BACKEND_STUB_ENABLED=true BACKEND_STUB_LATENCY_MS=5 BACKEND_STUB_JITTER_MS=5 \
+#   BACKEND_STUB_ERROR_RATE=0.001 java -jar services/core-backend/target/core-backend.jar
+#
+
+set -e
+
+GATEWAY_IP="${1:-localhost}"
+RATE="${2:-50}"
+DURATION="${3:-60}"
+GATEWAY_URL="http://${GATEWAY_IP}:8080"
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+REPORTS_DIR="${ROOT_DIR}/reports"
+JAR="${ROOT_DIR}/tools/load-generator/target/load-generator.jar"
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+log_info() { echo -e "${BLUE}[INFO]${NC} $1"; }
+log_pass() { echo -e "${GREEN}[PASS]${NC} $1"; }
+log_fail() { echo -e "${RED}[FAIL]${NC} $1"; }
+
+if [ ! -f "$JAR" ]; then
+    log_info "Building load generator..."
+    (cd "$ROOT_DIR" && mvn -q package -DskipTests -pl tools/load-generator)
+fi
+
+if [ "${SKIP_SANITY:-0}" != "1" ]; then
+    log_info "Running sanity suite before loading the stack..."
+    if ! bash "${SCRIPT_DIR}/run_sanity.sh" "$GATEWAY_IP"; then
+        log_fail "Sanity tests failed; not starting the load test"
+        exit 1
+    fi
+fi
+
+log_info "Load test: ${RATE} req/s for ${DURATION}s against ${GATEWAY_URL}"
+java -jar "$JAR" \
+    --target "$GATEWAY_URL" \
+    --rate "$RATE" \
+    --duration "$DURATION" \
+    --warmup "${WARMUP:-10}" \
+    --mix "${MIX:-rest=1,soap=1,graphql=1}" \
+    --timeout-ms "${TIMEOUT_MS:-5000}" \
+    --report-dir "$REPORTS_DIR" \
+    --name "${NAME:-load}"
+
+log_pass "Load report: ${REPORTS_DIR}/${NAME:-load}-report.json"
@@ -0,0 +1,106 @@
+#!/bin/bash
+#
+# Fast Startup Build Script
+# Builds AOT-processed jars (-Pfast-startup) and an AppCDS archive per service.
+#
+# Usage: ./build-fast-startup.sh [service ...]
+#   With no arguments all six services are built.
+#
+# Output per service (services/<name>/target/fast-startup/):
+#   application.jar   - application classes repacked as a jar (CDS only archives jars)
+#   lib/              - dependency jars extracted from the Boot fat jar
+#   classpath         - exact classpath used for the training run (must match at runtime)
+#   application.jsa   - AppCDS archive from a training run that exits on context refresh
+#   run.sh            - launcher using the archive and the AOT-generated initializers
+#
+# The middleware training run needs its keystores; generate them first with
+# scripts/certs/generate-certs.sh and export KEYSTORE_PATH / TRUSTSTORE_PATH.
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+ALL_SERVICES="config-server eureka-server cloud-gateway core-backend mtls-middleware user-bff"
+SERVICES="${*:-$ALL_SERVICES}"
+
+# Same runtime flags for training and for run.sh - CDS rejects a mismatched setup
+RUNTIME_FLAGS="-Dspring.aot.enabled=true"
+RUNTIME_ARGS="--spring.cloud.refresh.enabled=false"
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+log_info() { echo -e "${BLUE}[INFO]${NC} $1"; }
+log_pass() { echo -e "${GREEN}[DONE]${NC} $1"; }
+log_fail() { echo -e "${RED}[FAIL]${NC} $1"; }
+
+build_jars() {
+    local modules=""
+    for service in $SERVICES; do
+        modules="${modules:+$modules,}services/$service"
+    done
+    log_info "Building AOT-processed jars for: $SERVICES"
+    (cd "$ROOT_DIR" && mvn -B -q -Pfast-startup -pl "$modules" -am clean package -DskipTests)
+}
+
+prepare_service() {
+    local service="$1"
+    local target="$ROOT_DIR/services/$service/target"
+    local out="$target/fast-startup"
+
+    log_info "[$service] Extracting $service.jar..."
+    rm -rf "$out"
+    mkdir -p "$out/exploded"
+    (cd "$out/exploded" && jar xf "$target/$service.jar")
+
+    local main_class
+    main_class=$(grep '^Start-Class:' "$out/exploded/META-INF/MANIFEST.MF" | cut -d' ' -f2 | tr -d '\r')
+
+    # CDS cannot archive classes loaded from directories, so repack the app classes
+    jar cf "$out/application.jar" -C "$out/exploded/BOOT-INF/classes" .
+    mv "$out/exploded/BOOT-INF/lib" "$out/lib"
+    rm -rf "$out/exploded"
+
+    # Classpath order is fixed here and reused verbatim by run.sh
+    local classpath="application.jar"
+    for lib in $(ls "$out/lib" | sort); do
+        classpath="$classpath:lib/$lib"
+    done
+    echo "$classpath" > "$out/classpath"
+
+    log_info "[$service] Training run for AppCDS archive ($main_class)..."
+    (cd "$out" && java -XX:ArchiveClassesAtExit=application.jsa \
+        -Dspring.context.exit=onRefresh $RUNTIME_FLAGS \
+        -cp "$classpath" "$main_class" $RUNTIME_ARGS > training.log 2>&1) || true
+
+    if [ ! -f "$out/application.jsa" ]; then
+        log_fail "[$service] No archive produced, see $out/training.log"
+        return 1
+    fi
+
+    cat > "$out/run.sh" << EOF
+#!/bin/bash
+# Generated by build-fast-startup.sh - AOT initializers + AppCDS archive
+cd "\$(dirname "\$0")"
+exec java \$JAVA_OPTS -XX:SharedArchiveFile=application.jsa -Xshare:auto $RUNTIME_FLAGS \\
+    -cp "$classpath" $main_class $RUNTIME_ARGS "\$@"
+EOF
+    chmod +x "$out/run.sh"
+    log_pass "[$service] $(du -h "$out/application.jsa" | cut -f1) archive at $out"
+}
+
+build_jars
+FAILED=0
+for service in $SERVICES; do
+    prepare_service "$service" || FAILED=$((FAILED + 1))
+done
+
+if [ $FAILED -gt 0 ]; then
+    log_fail "$FAILED service(s) failed to produce an archive"
+    exit 1
+fi
+log_pass "Fast startup artifacts ready. Measure with scripts/startup/startup_benchmark.sh"
@@ -0,0 +1,113 @@
+#!/bin/bash
+#
+# Startup Benchmark Script
+# Measures time-to-first-successful-request for each service, comparing the
+# plain fat jar (java -jar) with the fast-startup build (AOT + AppCDS).
+#
+# Usage: ./startup_benchmark.sh [runs] [service ...]
+#   Run build-fast-startup.sh first. Services are started one at a time on
+#   localhost, so ports 8080-8082, 8443/8444, 8761 and 8888 must be free.
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+REPORTS_DIR="${ROOT_DIR}/reports"
+RUNS="${1:-3}"
+shift || true
+SERVICES="${*:-config-server eureka-server cloud-gateway core-backend mtls-middleware user-bff}"
+TIMEOUT_SECONDS=120
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+log_info() { echo -e "${BLUE}[INFO]${NC} $1"; }
+log_pass() { echo -e "${GREEN}[PASS]${NC} $1"; }
+log_fail() { echo -e "${RED}[FAIL]${NC} $1"; }
+
+mkdir -p "$REPORTS_DIR"
+
+# First request that proves the service is actually serving traffic
+probe_url() {
+    case "$1" in
+        config-server)   echo "http://localhost:8888/actuator/health" ;;
+        eureka-server)   echo "http://localhost:8761/actuator/health" ;;
+        cloud-gateway)   echo "http://localhost:8080/actuator/health" ;;
+        core-backend)    echo "http://localhost:8082/backend/health" ;;
+        mtls-middleware) echo "http://localhost:8444/actuator/health" ;;
+        user-bff)        echo "http://localhost:8081/api/rest/health" ;;
+    esac
+}
+
+now_ms() { date +%s%3N; }
+
+# Starts the given command, returns milliseconds until probe answers HTTP 200
+measure() {
+    local url="$1"
+    shift
+    local start
+    start=$(now_ms)
+    "$@" > /dev/null 2>&1 &
+    local pid=$!
+    local elapsed=-1
+    while kill -0 $pid 2>/dev/null; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$url" 2>/dev/null)" = "200" ]; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if [ $(( $(now_ms) - start )) -gt $((TIMEOUT_SECONDS * 1000)) ]; then
+            break
+        fi
+        sleep 0.05
+    done
+    kill $pid 2>/dev/null || true
+    wait $pid 2>/dev/null || true
+    echo $elapsed
+}
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{a[NR]=$1} END {print (NR % 2) ? a[(NR+1)/2] : int((a[NR/2] + a[NR/2+1]) / 2)}'
+}
+
+RESULTS=""
+for service in $SERVICES; do
+    jar="$ROOT_DIR/services/$service/target/$service.jar"
+    fast="$ROOT_DIR/services/$service/target/fast-startup/run.sh"
+    url=$(probe_url "$service")
+
+    if [ ! -x "$fast" ]; then
+        log_fail "$service: $fast missing, run build-fast-startup.sh first"
+        continue
+    fi
+
+    baseline_runs=()
+    fast_runs=()
+    for i in $(seq 1 "$RUNS"); do
+        log_info "$service run $i/$RUNS..."
+        baseline_runs+=("$(measure "$url" java $JAVA_OPTS -jar "$jar")")
+        fast_runs+=("$(measure "$url" "$fast")")
+    done
+
+    baseline_ms=$(median "${baseline_runs[@]}")
+    fast_ms=$(median "${fast_runs[@]}")
+    log_pass "$service: baseline ${baseline_ms}ms, fast-startup ${fast_ms}ms (median of $RUNS)"
+
+    RESULTS="${RESULTS:+$RESULTS,}
+    {\"service\": \"$service\", \"probe\": \"$url\", \"baselineMs\": $baseline_ms, \"fastStartupMs\": $fast_ms,
+     \"baselineRuns\": [$(IFS=,; echo "${baseline_runs[*]}")], \"fastStartupRuns\": [$(IFS=,; echo "${fast_runs[*]}")]}"
+done
+
+cat > "$REPORTS_DIR/startup-report.json" << EOF
+{
+  "timestamp": "$(date -u +"%Y-%m-%dT%H:%M:%SZ")",
+  "runs": $RUNS,
+  "results": [$RESULTS
+  ]
+}
+EOF
+
+log_info "Report written to $REPORTS_DIR/startup-report.json"
@@ -0,0 +1,93 @@
+#!/bin/bash
+#
+# TLS Handshake Benchmark
+# Starts mtls-middleware locally (server JVM), drives new mTLS connections from
+# a JMH client JVM with and without client-side session reuse, and reads the
+# server's full vs. resumed handshake counters for each mode.
+#
+# Usage: ./handshake_benchmark.sh
+#   Requires Java 17 and Maven. Ports 8443/8444 must be free.
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+REPORTS_DIR="${ROOT_DIR}/reports"
+MODULE_DIR="${ROOT_DIR}/services/mtls-middleware"
+WORK_DIR="$(mktemp -d)"
+METRICS_URL="http://localhost:8444/actuator/metrics/middleware.tls.handshakes"
+
+# Colors
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+log_info() { echo -e "${BLUE}[INFO]${NC} $1"; }
+log_pass() { echo -e "${GREEN}[DONE]${NC} $1"; }
+log_fail() { echo -e "${RED}[FAIL]${NC} $1"; }
+
+SERVER_PID=""
+cleanup() {
+    [ -n "$SERVER_PID" ] && kill $SERVER_PID 2>/dev/null || true
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+count() {
+    local value
+    value=$(curl -s "${METRICS_URL}?tag=type:$1" | jq '[.measurements[] | select(.statistic=="COUNT") | .value] | add // 0 | floor' 2>/dev/null)
+    echo "${value:-0}"
+}
+
+log_info "Generating throwaway certificates in $WORK_DIR..."
+cp "$ROOT_DIR/scripts/certs/generate-certs.sh" "$ROOT_DIR/scripts/certs/generate-crl.sh" "$WORK_DIR/"
+(cd "$WORK_DIR" && bash generate-certs.sh > /dev/null)
+
+log_info "Building mtls-middleware and benchmark classes..."
+(cd "$ROOT_DIR" && mvn -B -q -Pbenchmark -pl services/mtls-middleware -am install test-compile -DskipTests)
+(cd "$MODULE_DIR" && mvn -B -q -Pbenchmark dependency:build-classpath -Dmdep.includeScope=test \
+    -Dmdep.outputFile="$WORK_DIR/classpath")
+CLASSPATH="$MODULE_DIR/target/test-classes:$MODULE_DIR/target/classes:$(cat "$WORK_DIR/classpath")"
+
+log_info "Starting mtls-middleware (server JVM)..."
+KEYSTORE_PATH="$WORK_DIR/middleware-keystore.p12" TRUSTSTORE_PATH="$WORK_DIR/middleware-truststore.p12" \
+    java -jar "$MODULE_DIR/target/mtls-middleware.jar" --eureka.client.enabled=false \
+    > "$WORK_DIR/middleware.log" 2>&1 &
+SERVER_PID=$!
+for i in {1..60}; do
+    curl -s http://localhost:8444/actuator/health 2>/dev/null | grep -q '"status":"UP"' && break
+    sleep 2
+done
+
+RESULTS=""
+for reuse in true false; do
+    full_before=$(count full)
+    resumed_before=$(count resumed)
+
+    log_info "Running client JVM with reuseSessions=$reuse..."
+    TLS_BENCH_KEYSTORE="$WORK_DIR/client-keystore.p12" TLS_BENCH_TRUSTSTORE="$WORK_DIR/client-truststore.p12" \
+        java -cp "$CLASSPATH" org.openjdk.jmh.Main TlsHandshakeBenchmark -p reuseSessions=$reuse \
+        -rf json -rff "$WORK_DIR/jmh-$reuse.json" > "$WORK_DIR/jmh-$reuse.log"
+
+    full=$(( $(count full) - full_before ))
+    resumed=$(( $(count resumed) - resumed_before ))
+    rate=$(awk -v f=$full -v r=$resumed 'BEGIN { printf "%.4f", (f + r > 0) ? r / (f + r) : 0 }')
+    latency=$(jq '.[0].primaryMetric.score' "$WORK_DIR/jmh-$reuse.json")
+    log_pass "reuseSessions=$reuse: full=$full resumed=$resumed resumptionRate=$rate clientLatencyUs=$latency"
+
+    RESULTS="${RESULTS:+$RESULTS,}
+    {\"reuseSessions\": $reuse, \"fullHandshakes\": $full, \"resumedHandshakes\": $resumed,
+     \"resumptionRate\": $rate, \"clientHandshakeLatencyUs\": $latency}"
+done
+
+mkdir -p "$REPORTS_DIR"
+cat > "$REPORTS_DIR/tls-handshake-report.json" << EOR
+{
+  "timestamp": "$(date -u +"%Y-%m-%dT%H:%M:%SZ")",
+  "results": [$RESULTS
+  ]
+}
+EOR
+log_info "Report written to $REPORTS_DIR/tls-handshake-report.json"
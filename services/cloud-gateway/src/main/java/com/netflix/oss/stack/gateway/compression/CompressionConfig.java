@@ -0,0 +1,23 @@
+package com.netflix.oss.stack.gateway.compression;
+
+import com.netflix.oss.stack.compression.CompressionMetrics;
+import com.netflix.oss.stack.compression.CompressionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "compression")
+    public CompressionProperties compressionProperties() {
+        return new CompressionProperties();
+    }
+
+    @Bean
+    public CompressionMetrics compressionMetrics(MeterRegistry meterRegistry) {
+        return new CompressionMetrics(meterRegistry);
+    }
+}
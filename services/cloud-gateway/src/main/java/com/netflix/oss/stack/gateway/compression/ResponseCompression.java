@@ -0,0 +1,156 @@
+package com.netflix.oss.stack.gateway.compression;
+
+import com.netflix.oss.stack.compression.CompressionMetrics;
+import com.netflix.oss.stack.compression.CompressionProperties;
+import com.netflix.oss.stack.compression.CompressionRule;
+import com.netflix.oss.stack.compression.ContentCoding;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route response compression for the gateway. The filter wraps the response
+ * before the Netty write filter copies the upstream body: bodies that qualify
+ * under the route's rule are compressed with the first coding the client accepts.
+ * Event streams and NDJSON are never buffered, and at most
+ * compression.max-buffered-size bytes of any other body are held; a longer body
+ * (declared or not) goes out uncompressed, the held part first.
+ */
+@Component
+public class ResponseCompression {
+
+    private final CompressionProperties properties;
+    private final CompressionMetrics metrics;
+
+    public ResponseCompression(CompressionProperties properties, CompressionMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /** Filter for a route, configured by compression.routes.&lt;routeId&gt; or the defaults. */
+    public GatewayFilter forRoute(String routeId) {
+        CompressionRule rule = properties.ruleFor(routeId);
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!rule.isEnabled() || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+                return chain.filter(exchange);
+            }
+            ContentCoding coding = ContentCoding.negotiate(
+                    exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING), properties.getCodings());
+            if (coding == null) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange.mutate()
+                    .response(new CompressingResponse(exchange.getResponse(), rule, coding))
+                    .build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final CompressionRule rule;
+        private final ContentCoding coding;
+
+        CompressingResponse(ServerHttpResponse delegate, CompressionRule rule, ContentCoding coding) {
+            super(delegate);
+            this.rule = rule;
+            this.coding = coding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            String skipReason = skipReason(headers);
+            if (skipReason != null) {
+                if (!"empty".equals(skipReason)) {
+                    metrics.skipped(rule.name(), skipReason);
+                }
+                return super.writeWith(body);
+            }
+
+            // Hold the body until it ends or outgrows max-buffered-size; only the first window is buffered
+            int maxSize = properties.getMaxBufferedSize();
+            AtomicLong seen = new AtomicLong();
+            Flux<DataBuffer> bounded = Flux.from(body)
+                    .windowUntil(buffer -> {
+                        long before = seen.getAndAdd(buffer.readableByteCount());
+                        return before <= maxSize && before + buffer.readableByteCount() > maxSize;
+                    })
+                    .index()
+                    .concatMap(window -> window.getT1() > 0 ? window.getT2()
+                            : DataBufferUtils.join(window.getT2()).map(head -> seen.get() > maxSize
+                                    ? skipTooLarge(head, headers) : compress(head, headers)));
+            return super.writeWith(bounded);
+        }
+
+        private DataBuffer skipTooLarge(DataBuffer head, HttpHeaders headers) {
+            metrics.skipped(rule.name(), "too-large");
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return head;
+        }
+
+        private DataBuffer compress(DataBuffer joined, HttpHeaders headers) {
+            int length = joined.readableByteCount();
+            if (length < rule.minSize()) {
+                metrics.skipped(rule.name(), "too-small");
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                return joined;
+            }
+            byte[] original = new byte[length];
+            joined.read(original);
+            DataBufferUtils.release(joined);
+
+            long start = CompressionMetrics.cpuTimeNanos();
+            byte[] encoded = coding.encode(original, length, properties.getGzipLevel());
+            metrics.compressed(rule.name(), coding, length, encoded.length,
+                    CompressionMetrics.cpuTimeNanos() - start);
+
+            headers.set(HttpHeaders.CONTENT_ENCODING, coding.token());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            headers.setContentLength(encoded.length);
+            return bufferFactory().wrap(encoded);
+        }
+
+        private String skipReason(HttpHeaders headers) {
+            HttpStatusCode status = getStatusCode();
+            if (headers.getContentLength() == 0
+                    || (status != null && (status.value() == 204 || status.value() == 304))) {
+                return "empty";
+            }
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return "already-encoded";
+            }
+            MediaType contentType = headers.getContentType();
+            if (contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                    || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType))) {
+                return "streaming";
+            }
+            if (contentType == null || !rule.allows(contentType.toString())) {
+                return "content-type";
+            }
+            long declaredLength = headers.getContentLength();
+            if (declaredLength >= 0 && declaredLength < rule.minSize()) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                return "too-small";
+            }
+            if (declaredLength > properties.getMaxBufferedSize()) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                return "too-large";
+            }
+            return null;
+        }
+    }
+}
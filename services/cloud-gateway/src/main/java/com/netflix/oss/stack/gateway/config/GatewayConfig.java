@@ -1,5 +1,7 @@
 package com.netflix.oss.stack.gateway.config;
 
+import com.netflix.oss.stack.gateway.compression.ResponseCompression;
+import com.netflix.oss.stack.gateway.shadow.TrafficShadow;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -8,25 +10,37 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class GatewayConfig {
 
+    /**
+     * Responses are compressed per route according to compression.routes.&lt;route id&gt;.
+     * The API routes are mirrored to a shadow service according to shadow.routes.&lt;route id&gt;.
+     */
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, ResponseCompression compression,
+                                           TrafficShadow shadow) {
         return builder.routes()
                 // REST API route
                 .route("user-bff-rest", r -> r
                         .path("/api/rest/**")
+                        .filters(f -> f.filter(compression.forRoute("user-bff-rest"))
+                                .filter(shadow.forRoute("user-bff-rest")))
                         .uri("lb://USER-BFF"))
                 // SOAP/WS route
                 .route("user-bff-ws", r -> r
                         .path("/ws/**")
+                        .filters(f -> f.filter(compression.forRoute("user-bff-ws"))
+                                .filter(shadow.forRoute("user-bff-ws")))
                         .uri("lb://USER-BFF"))
                 // GraphQL route
                 .route("user-bff-graphql", r -> r
                         .path("/graphql/**")
+                        .filters(f -> f.filter(compression.forRoute("user-bff-graphql"))
+                                .filter(shadow.forRoute("user-bff-graphql")))
                         .uri("lb://USER-BFF"))
-                // Health check route for BFF
+                // Health check route for BFF: only health and info, the rest of its actuator stays internal
                 .route("user-bff-actuator", r -> r
-                        .path("/bff/actuator/**")
-                        .filters(f -> f.stripPrefix(1))
+                        .path("/bff/actuator/health", "/bff/actuator/health/**", "/bff/actuator/info")
+                        .filters(f -> f.stripPrefix(1)
+                                .filter(compression.forRoute("user-bff-actuator")))
                         .uri("lb://USER-BFF"))
                 .build();
     }
@@ -0,0 +1,23 @@
+package com.netflix.oss.stack.gateway.deadline;
+
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.deadline.DeadlineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "deadline")
+    public DeadlineProperties deadlineProperties() {
+        return new DeadlineProperties();
+    }
+
+    @Bean
+    public DeadlineMetrics deadlineMetrics(MeterRegistry meterRegistry) {
+        return new DeadlineMetrics(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.netflix.oss.stack.gateway.deadline;
+
+import com.netflix.oss.stack.deadline.Deadline;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.deadline.DeadlineProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Where request deadlines start. Every proxied request gets one: the client's
+ * own X-Deadline-Ms capped at deadline.max-ms, or deadline.default-ms. The
+ * budget left is sent on to the BFF, and when it runs out the gateway answers
+ * 504 and cancels the upstream call, closing the connection, so the hops
+ * behind it see that nobody is waiting any more.
+ */
+@Component
+public class RequestDeadlineFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    private final DeadlineProperties properties;
+    private final DeadlineMetrics metrics;
+
+    public RequestDeadlineFilter(DeadlineProperties properties, DeadlineMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        logger.info("Request deadlines enabled={}: default {}ms, max {}ms", properties.isEnabled(),
+                properties.getDefaultMs(), properties.getMaxMs());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long budget = properties.isEnabled()
+                ? properties.budgetFor(exchange.getRequest().getHeaders().getFirst(Deadline.HEADER)) : -1;
+        if (budget < 0) {
+            return chain.filter(exchange);
+        }
+
+        metrics.arrived(budget);
+        Deadline deadline = Deadline.after(budget);
+        if (deadline.expiresWithin(properties.getMinRemainingMs())) {
+            metrics.expired(DeadlineMetrics.ARRIVAL);
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return exchange.getResponse().setComplete();
+        }
+
+        ServerWebExchange forwarded = exchange.mutate()
+                .request(request -> request.headers(headers ->
+                        headers.set(Deadline.HEADER, Long.toString(deadline.remainingMillis()))))
+                .build();
+        return chain.filter(forwarded)
+                .timeout(Duration.ofMillis(budget))
+                .onErrorResume(TimeoutException.class, e -> {
+                    metrics.expired(DeadlineMetrics.TIMEOUT);
+                    logger.debug("Deadline of {}ms expired for {} {}", budget,
+                            exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+                    if (exchange.getResponse().isCommitted()) {
+                        return Mono.error(e);
+                    }
+                    exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    /** Ahead of routing and load balancing, so the timeout covers the whole proxied call. */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
@@ -0,0 +1,16 @@
+package com.netflix.oss.stack.gateway.shadow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ShadowProperties.class)
+public class ShadowConfig {
+
+    @Bean
+    public ShadowMetrics shadowMetrics(MeterRegistry meterRegistry) {
+        return new ShadowMetrics(meterRegistry);
+    }
+}
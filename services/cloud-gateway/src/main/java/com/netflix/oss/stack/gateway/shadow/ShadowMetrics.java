@@ -0,0 +1,65 @@
+package com.netflix.oss.stack.gateway.shadow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a shadow deployment compares with the primary on the same requests:
+ * <ul>
+ *   <li>gateway.shadow.requests{result} — sampled requests: mirrored, or why not
+ *       (saturated, body-too-large, aborted)</li>
+ *   <li>gateway.shadow.latency{target=primary|shadow} — response time of each side
+ *       for requests both answered</li>
+ *   <li>gateway.shadow.latency.ratio — shadow latency divided by primary latency</li>
+ *   <li>gateway.shadow.status{primary,shadow,match} — status classes (2xx, 4xx, 5xx,
+ *       error, timeout, cancelled) of each pair</li>
+ * </ul>
+ * All tagged by route.
+ */
+public class ShadowMetrics {
+
+    public static final String MIRRORED = "mirrored";
+    public static final String SATURATED = "saturated";
+    public static final String BODY_TOO_LARGE = "body-too-large";
+    public static final String ABORTED = "aborted";
+
+    private final MeterRegistry meterRegistry;
+
+    public ShadowMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void sampled(String route, String result) {
+        Counter.builder("gateway.shadow.requests")
+                .description("Requests sampled for shadowing, by whether they were mirrored")
+                .tag("route", route).tag("result", result)
+                .register(meterRegistry).increment();
+    }
+
+    public void compared(String route, String primaryStatus, long primaryNanos, String shadowStatus, long shadowNanos) {
+        latency(route, "primary", primaryNanos);
+        latency(route, "shadow", shadowNanos);
+        DistributionSummary.builder("gateway.shadow.latency.ratio")
+                .description("Shadow response time divided by primary response time")
+                .tag("route", route)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry).record(primaryNanos == 0 ? 0 : (double) shadowNanos / primaryNanos);
+        Counter.builder("gateway.shadow.status")
+                .description("Primary and shadow status classes per mirrored request")
+                .tag("route", route).tag("primary", primaryStatus).tag("shadow", shadowStatus)
+                .tag("match", String.valueOf(primaryStatus.equals(shadowStatus)))
+                .register(meterRegistry).increment();
+    }
+
+    private void latency(String route, String target, long nanos) {
+        Timer.builder("gateway.shadow.latency")
+                .description("Response time of mirrored requests on the primary and the shadow")
+                .tag("route", route).tag("target", target)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
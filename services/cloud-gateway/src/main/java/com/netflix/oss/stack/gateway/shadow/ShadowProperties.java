@@ -0,0 +1,69 @@
+package com.netflix.oss.stack.gateway.shadow;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Traffic shadowing: percent of a route's requests are also sent to the
+ * service-id instance(s) behind lb://, and only the comparison is kept.
+ * routes override service-id, percent and enabled per gateway route id.
+ * At most max-in-flight shadow requests run at once, bodies above
+ * max-body-bytes are not mirrored, and a shadow request is given up after
+ * timeout-ms.
+ */
+@ConfigurationProperties(prefix = "shadow")
+public class ShadowProperties {
+
+    private boolean enabled = false;
+    private String serviceId = "USER-BFF-SHADOW";
+    private double percent = 0;
+    private int maxBodyBytes = 256 * 1024;
+    private int maxInFlight = 64;
+    private long timeoutMs = 5000;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public static class Route {
+        private Boolean enabled;
+        private String serviceId;
+        private Double percent;
+
+        public Boolean getEnabled() { return enabled; }
+        public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+        public String getServiceId() { return serviceId; }
+        public void setServiceId(String serviceId) { this.serviceId = serviceId; }
+        public Double getPercent() { return percent; }
+        public void setPercent(Double percent) { this.percent = percent; }
+    }
+
+    /** Settings for one gateway route after applying its overrides. */
+    public record Rule(String route, boolean enabled, String serviceId, double percent) {}
+
+    public Rule ruleFor(String routeId) {
+        Route route = routes.get(routeId);
+        if (route == null) {
+            return new Rule(routeId, enabled && percent > 0, serviceId, percent);
+        }
+        double routePercent = route.getPercent() != null ? route.getPercent() : percent;
+        return new Rule(routeId,
+                enabled && (route.getEnabled() == null || route.getEnabled()) && routePercent > 0,
+                route.getServiceId() != null ? route.getServiceId() : serviceId,
+                routePercent);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getServiceId() { return serviceId; }
+    public void setServiceId(String serviceId) { this.serviceId = serviceId; }
+    public double getPercent() { return percent; }
+    public void setPercent(double percent) { this.percent = percent; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+    public long getTimeoutMs() { return timeoutMs; }
+    public void setTimeoutMs(long timeoutMs) { this.timeoutMs = timeoutMs; }
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+}
@@ -0,0 +1,227 @@
+package com.netflix.oss.stack.gateway.shadow;
+
+import com.netflix.oss.stack.deadline.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mirrors a sample of a route's requests to a shadow service (lb://service-id)
+ * and compares the two answers. The primary request is not held up: its body
+ * is copied as the routing filter streams it upstream, and the shadow copy is
+ * sent once the body is complete, as its own subscription on the event loop.
+ * Shadow responses are drained and dropped, and shadow failures only show up
+ * in {@link ShadowMetrics}. Shadow requests carry X-Shadow-Request: true and a
+ * deadline of shadow.timeout-ms.
+ */
+@Component
+public class TrafficShadow {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficShadow.class);
+
+    public static final String SHADOW_HEADER = "X-Shadow-Request";
+
+    /** Connection-level headers that belong to the client's hop, not the mirrored request. */
+    private static final List<String> HOP_HEADERS = List.of(HttpHeaders.HOST, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, "Keep-Alive", HttpHeaders.TE,
+            HttpHeaders.UPGRADE, HttpHeaders.EXPECT, "Proxy-Connection");
+
+    private final ShadowProperties properties;
+    private final ShadowMetrics metrics;
+    private final WebClient webClient;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public TrafficShadow(ShadowProperties properties, ShadowMetrics metrics, WebClient.Builder webClientBuilder,
+                         ReactorLoadBalancerExchangeFilterFunction loadBalancer) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.webClient = webClientBuilder.filter(loadBalancer).build();
+        if (properties.isEnabled()) {
+            logger.info("Traffic shadowing enabled: {}% to {} (routes {})", properties.getPercent(),
+                    properties.getServiceId(), properties.getRoutes().keySet());
+        }
+    }
+
+    /** Filter for a route, configured by shadow.routes.&lt;routeId&gt; or the defaults. */
+    public GatewayFilter forRoute(String routeId) {
+        ShadowProperties.Rule rule = properties.ruleFor(routeId);
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!rule.enabled() || ThreadLocalRandom.current().nextDouble(100) >= rule.percent()) {
+                return chain.filter(exchange);
+            }
+            if (inFlight.incrementAndGet() > properties.getMaxInFlight()) {
+                inFlight.decrementAndGet();
+                metrics.sampled(rule.route(), ShadowMetrics.SATURATED);
+                return chain.filter(exchange);
+            }
+
+            ServerHttpRequest request = exchange.getRequest();
+            Mirror mirror = new Mirror(rule, request);
+            long start = System.nanoTime();
+            Mono<Void> primary;
+            if (hasBody(request.getHeaders())) {
+                primary = chain.filter(exchange.mutate().request(new TeeRequest(request, mirror)).build());
+            } else {
+                mirror.send();
+                primary = chain.filter(exchange);
+            }
+            return primary.doFinally(signal -> mirror.primaryDone(signal == SignalType.CANCEL ? "cancelled"
+                    : statusClass(exchange.getResponse().getStatusCode()), System.nanoTime() - start));
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+    }
+
+    private static boolean hasBody(HttpHeaders headers) {
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    private static String statusClass(HttpStatusCode status) {
+        return status == null ? "error" : (status.value() / 100) + "xx";
+    }
+
+    /** Passes the request body through unchanged, copying it for the mirror. */
+    private static class TeeRequest extends ServerHttpRequestDecorator {
+
+        private final Mirror mirror;
+
+        TeeRequest(ServerHttpRequest delegate, Mirror mirror) {
+            super(delegate);
+            this.mirror = mirror;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody()
+                    .doOnNext(mirror::append)
+                    .doOnComplete(mirror::send)
+                    .doOnError(e -> mirror.abandon(ShadowMetrics.ABORTED))
+                    .doOnCancel(() -> mirror.abandon(ShadowMetrics.ABORTED));
+        }
+    }
+
+    /**
+     * One mirrored request: its copy of the primary request, and both outcomes,
+     * compared once the primary and the shadow have each finished.
+     */
+    private class Mirror {
+
+        private final ShadowProperties.Rule rule;
+        private final HttpMethod method;
+        private final URI uri;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        /** Set once the shadow request is sent or given up; releases the in-flight slot exactly once. */
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger(2);
+
+        private volatile String primaryStatus;
+        private volatile long primaryNanos;
+        private volatile String shadowStatus;
+        private volatile long shadowNanos;
+
+        Mirror(ShadowProperties.Rule rule, ServerHttpRequest request) {
+            this.rule = rule;
+            this.method = request.getMethod();
+            String rawQuery = request.getURI().getRawQuery();
+            this.uri = URI.create("http://" + rule.serviceId() + request.getURI().getRawPath()
+                    + (rawQuery != null ? "?" + rawQuery : ""));
+            headers.addAll(request.getHeaders());
+            HOP_HEADERS.forEach(headers::remove);
+            headers.set(SHADOW_HEADER, "true");
+            headers.set(Deadline.HEADER, Long.toString(properties.getTimeoutMs()));
+        }
+
+        void append(DataBuffer buffer) {
+            if (started.get()) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (body.size() + length > properties.getMaxBodyBytes()) {
+                abandon(ShadowMetrics.BODY_TOO_LARGE);
+                return;
+            }
+            try {
+                byte[] bytes = new byte[length];
+                buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+                body.write(bytes, 0, length);
+            } catch (RuntimeException e) {
+                abandon(ShadowMetrics.ABORTED);
+            }
+        }
+
+        void abandon(String reason) {
+            if (started.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                metrics.sampled(rule.route(), reason);
+            }
+        }
+
+        void send() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            metrics.sampled(rule.route(), ShadowMetrics.MIRRORED);
+            long start = System.nanoTime();
+            try {
+                WebClient.RequestBodySpec spec = webClient.method(method).uri(uri)
+                        .headers(target -> target.addAll(headers));
+                (body.size() > 0 ? spec.bodyValue(body.toByteArray()) : spec)
+                        .exchangeToMono(response -> response.releaseBody()
+                                .thenReturn(statusClass(response.statusCode())))
+                        .timeout(Duration.ofMillis(properties.getTimeoutMs()))
+                        .onErrorResume(e -> {
+                            logger.debug("Shadow request {} {} failed: {}", method, uri, e.toString());
+                            return Mono.just(e instanceof TimeoutException ? "timeout" : "error");
+                        })
+                        .subscribe(status -> shadowDone(status, System.nanoTime() - start));
+            } catch (RuntimeException e) {
+                logger.debug("Shadow request {} {} not sent: {}", method, uri, e.toString());
+                shadowDone("error", System.nanoTime() - start);
+            }
+        }
+
+        private void shadowDone(String status, long nanos) {
+            inFlight.decrementAndGet();
+            shadowStatus = status;
+            shadowNanos = nanos;
+            complete();
+        }
+
+        void primaryDone(String status, long nanos) {
+            // A primary that ends before its body was read (e.g. rejected early) has nothing to mirror
+            abandon(ShadowMetrics.ABORTED);
+            primaryStatus = status;
+            primaryNanos = nanos;
+            complete();
+        }
+
+        private void complete() {
+            if (pending.decrementAndGet() == 0 && shadowStatus != null) {
+                metrics.compared(rule.route(), primaryStatus, primaryNanos, shadowStatus, shadowNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.netflix.oss.stack.collocated;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+
+/**
+ * The BFF's client certificate, read from the keystore it would use for mTLS
+ * (mtls.client.keystore.*), to stand in for the handshake in-process.
+ */
+final class ClientIdentity {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientIdentity.class);
+
+    private ClientIdentity() {
+    }
+
+    static X509Certificate load(Environment environment) {
+        String path = environment.getRequiredProperty("mtls.client.keystore.path");
+        char[] password = environment.getProperty("mtls.client.keystore.password", "changeit").toCharArray();
+        try (InputStream in = Files.newInputStream(Path.of(path))) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Certificate certificate = keyStore.getCertificate(alias);
+                if (keyStore.isKeyEntry(alias) && certificate instanceof X509Certificate x509) {
+                    logger.info("Collocated client identity: {} (serial {})", x509.getSubjectX500Principal().getName(),
+                            x509.getSerialNumber().toString(16).toUpperCase());
+                    return x509;
+                }
+            }
+            throw new IllegalStateException("No client certificate in keystore " + path);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot read the client identity from keystore " + path, e);
+        }
+    }
+}
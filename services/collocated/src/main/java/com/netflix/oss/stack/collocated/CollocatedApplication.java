@@ -0,0 +1,59 @@
+package com.netflix.oss.stack.collocated;
+
+import com.netflix.oss.stack.backend.CoreBackendApplication;
+import com.netflix.oss.stack.backend.controller.BackendController;
+import com.netflix.oss.stack.bff.UserBffApplication;
+import com.netflix.oss.stack.bff.service.MiddlewareTransport;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.middleware.MtlsMiddlewareApplication;
+import com.netflix.oss.stack.middleware.controller.MiddlewareController;
+import com.netflix.oss.stack.middleware.revocation.CrlRevocationService;
+import com.netflix.oss.stack.middleware.service.BackendTransport;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.function.Function;
+
+/**
+ * Runs core-backend, mtls-middleware and user-bff in one JVM, each in its own
+ * application context configured by collocated-&lt;service&gt;.yml. Only the BFF
+ * listens for HTTP; it reaches the middleware, and the middleware the backend,
+ * through in-process transports that call the controllers directly.
+ */
+public class CollocatedApplication {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext backend = service(CoreBackendApplication.class, "collocated-backend",
+                WebApplicationType.NONE)
+                .run(args);
+
+        ConfigurableApplicationContext middleware = service(MtlsMiddlewareApplication.class, "collocated-middleware",
+                WebApplicationType.NONE)
+                .initializers(bind(BackendTransport.class, context -> new InProcessBackendTransport(
+                        backend.getBean(BackendController.class), context.getBean(DeadlineGuard.class))))
+                .run(args);
+
+        service(UserBffApplication.class, "collocated-bff", WebApplicationType.SERVLET)
+                .initializers(bind(MiddlewareTransport.class, context -> new InProcessMiddlewareTransport(
+                        middleware.getBean(MiddlewareController.class),
+                        ClientIdentity.load(context.getEnvironment()), middleware.getBean(CrlRevocationService.class),
+                        context.getBean(DeadlineGuard.class))))
+                .run(args);
+    }
+
+    private static SpringApplicationBuilder service(Class<?> application, String configName,
+                                                    WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(application)
+                .web(webApplicationType)
+                .properties("spring.config.name=" + configName);
+    }
+
+    /** Registers the transport in the calling service's context, built when that context needs it. */
+    private static <T> ApplicationContextInitializer<ConfigurableApplicationContext> bind(
+            Class<T> type, Function<ConfigurableApplicationContext, T> factory) {
+        return context -> ((GenericApplicationContext) context).registerBean(type, () -> factory.apply(context));
+    }
+}
@@ -0,0 +1,68 @@
+package com.netflix.oss.stack.collocated;
+
+import com.netflix.oss.stack.backend.controller.BackendController;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.middleware.service.BackendTransport;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The middleware's {@link BackendTransport} when core-backend runs in the same JVM:
+ * calls {@link BackendController} directly with the client certificate's subject and
+ * serial as the X-Client-* headers would carry them. Error statuses surface as the
+ * same exceptions RestTemplate throws for them.
+ */
+public class InProcessBackendTransport implements BackendTransport {
+
+    private final BackendController backendController;
+    private final DeadlineGuard deadlineGuard;
+
+    public InProcessBackendTransport(BackendController backendController, DeadlineGuard deadlineGuard) {
+        this.backendController = backendController;
+        this.deadlineGuard = deadlineGuard;
+    }
+
+    @Override
+    public ProcessResponse forwardToBackend(ProcessRequest request, String clientSubject, String clientSerial,
+                                            String idempotencyKey, FieldSet fields) {
+        deadlineGuard.check(DeadlineMetrics.OUTBOUND, "calling core-backend");
+        ResponseEntity<ProcessResponse> response = backendController.process(request, clientSubject, clientSerial,
+                idempotencyKey, fields.toHeader());
+        return checked(response).getBody();
+    }
+
+    @Override
+    public JobStatus submitToBackend(ProcessRequest request, String clientSubject, String clientSerial) {
+        deadlineGuard.check(DeadlineMetrics.OUTBOUND, "submitting to core-backend");
+        ResponseEntity<JobStatus> response = backendController.processAsync(request, clientSubject, clientSerial, null);
+        if (response.getStatusCode().value() == 503) {
+            throw new RejectedExecutionException("Backend job queue is full");
+        }
+        return checked(response).getBody();
+    }
+
+    @Override
+    public Optional<JobStatus> jobStatus(String jobId, String clientSerial) {
+        ResponseEntity<JobStatus> response = backendController.jobStatus(jobId, clientSerial);
+        return response.getStatusCode().is2xxSuccessful() ? Optional.ofNullable(response.getBody()) : Optional.empty();
+    }
+
+    private static <T> ResponseEntity<T> checked(ResponseEntity<T> response) {
+        if (response.getStatusCode().is4xxClientError()) {
+            throw HttpClientErrorException.create(response.getStatusCode(), "", response.getHeaders(), null, null);
+        }
+        if (response.getStatusCode().isError()) {
+            throw HttpServerErrorException.create(response.getStatusCode(), "", response.getHeaders(), null, null);
+        }
+        return response;
+    }
+}
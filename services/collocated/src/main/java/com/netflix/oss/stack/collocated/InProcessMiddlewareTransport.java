@@ -0,0 +1,67 @@
+package com.netflix.oss.stack.collocated;
+
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.bff.service.MiddlewareTransport;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.middleware.controller.MiddlewareController;
+import com.netflix.oss.stack.middleware.revocation.CrlRevocationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.cert.X509Certificate;
+import java.util.Optional;
+
+/**
+ * The BFF's {@link MiddlewareTransport} when mtls-middleware runs in the same JVM:
+ * calls {@link MiddlewareController} directly with the certificate the BFF would
+ * have presented in the mTLS handshake, so the identity passed on to the backend
+ * stays the same. The revocation check RevocationFilter makes over HTTP is made
+ * here before each call.
+ */
+public class InProcessMiddlewareTransport implements MiddlewareTransport {
+
+    private final MiddlewareController middlewareController;
+    private final X509Certificate clientCertificate;
+    private final CrlRevocationService revocationService;
+    private final DeadlineGuard deadlineGuard;
+
+    public InProcessMiddlewareTransport(MiddlewareController middlewareController, X509Certificate clientCertificate,
+                                        CrlRevocationService revocationService, DeadlineGuard deadlineGuard) {
+        this.middlewareController = middlewareController;
+        this.clientCertificate = clientCertificate;
+        this.revocationService = revocationService;
+        this.deadlineGuard = deadlineGuard;
+    }
+
+    @Override
+    public MiddlewareResponse process(ProcessRequest request, Surface surface, FieldSet fields,
+                                      String idempotencyKey) {
+        deadlineGuard.check(DeadlineMetrics.OUTBOUND, "calling mtls-middleware");
+        checkNotRevoked();
+        return middlewareController.process(request, clientCertificate, idempotencyKey, fields);
+    }
+
+    @Override
+    public JobStatus submit(ProcessRequest request, Surface surface) {
+        deadlineGuard.check(DeadlineMetrics.OUTBOUND, "submitting to mtls-middleware");
+        checkNotRevoked();
+        return middlewareController.submit(request, clientCertificate);
+    }
+
+    @Override
+    public Optional<JobStatus> jobStatus(String jobId, Surface surface) {
+        checkNotRevoked();
+        return middlewareController.jobStatus(jobId, clientCertificate);
+    }
+
+    private void checkNotRevoked() {
+        if (revocationService.isRevoked(clientCertificate)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Client certificate has been revoked");
+        }
+    }
+}
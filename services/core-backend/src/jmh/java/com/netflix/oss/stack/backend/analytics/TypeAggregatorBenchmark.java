@@ -0,0 +1,95 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import com.netflix.oss.stack.backend.processing.ProcessingEngine;
+import com.netflix.oss.stack.backend.processing.ProcessingProperties;
+import com.netflix.oss.stack.backend.processing.TypeProcessor;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path cost of the per-type aggregates from four request threads: recording
+ * alone, and the engine's output computation (the cheapest real work of a
+ * request) with and without recording. stripes=1 puts every thread on the same
+ * accumulator to show what striping saves under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TypeAggregatorBenchmark {
+
+    private static final ProcessRequest[] REQUESTS = {
+            new ProcessRequest("payment", "Process transaction", 150.00),
+            new ProcessRequest("transfer", "Fund transfer", 500.00),
+            new ProcessRequest("order", "Create new order", 299.99),
+            new ProcessRequest("REST_TEST", "Hello from sanity test", 123.45)
+    };
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({"1", "0"})
+        public int stripes;
+
+        TypeAggregator aggregator;
+        ProcessingEngine engine;
+
+        @Setup
+        public void setUp() {
+            AnalyticsProperties properties = new AnalyticsProperties();
+            properties.setStripes(stripes);
+            aggregator = new TypeAggregator(properties);
+
+            ProcessingProperties processing = new ProcessingProperties();
+            processing.getFeeBps().put("payment", 150L);
+            engine = new ProcessingEngine(
+                    new DefaultListableBeanFactory().getBeanProvider(TypeProcessor.class), processing);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        ProcessRequest next() {
+            index = (index + 1) & 3;
+            return REQUESTS[index];
+        }
+    }
+
+    @Benchmark
+    public void record(Shared shared, Cursor cursor) {
+        ProcessRequest request = cursor.next();
+        shared.aggregator.record(request.getType(), request.getAmount(), 1_250_000L + cursor.index * 1000L);
+    }
+
+    @Benchmark
+    public String computeOutput(Shared shared, Cursor cursor) {
+        return shared.engine.computeOutput(cursor.next());
+    }
+
+    @Benchmark
+    public String computeOutputAndRecord(Shared shared, Cursor cursor) {
+        ProcessRequest request = cursor.next();
+        long start = System.nanoTime();
+        String output = shared.engine.computeOutput(request);
+        shared.aggregator.record(request.getType(), request.getAmount(), System.nanoTime() - start);
+        return output;
+    }
+}
@@ -0,0 +1,145 @@
+package com.netflix.oss.stack.backend.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Per-request cost of journaling an audit record from four request threads:
+ * the mmap journal under each fsync policy, with and without waiting for
+ * durability, against a synchronous SLF4J/logback file appender writing the
+ * same fields. The journal's fsync latency and group-commit size are printed
+ * after each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Threads(4)
+@Fork(1)
+public class AuditJournalBenchmark {
+
+    private static final AuditRecord RECORD = new AuditRecord(0, System.currentTimeMillis(),
+            UUID.randomUUID().toString(), "payment", 150.00,
+            "CN=user-bff-client,OU=UserBFF,O=Netflix OSS Stack,L=San Francisco,ST=California,C=US",
+            "3BA171B728480DADAA323DEDD806F4256D82DA54");
+
+    @State(Scope.Benchmark)
+    public static class JournalState {
+
+        @Param({"NONE", "INTERVAL", "BATCH"})
+        public AuditProperties.FsyncPolicy fsyncPolicy;
+
+        @Param({"false", "true"})
+        public boolean awaitDurable;
+
+        AuditJournal journal;
+        SimpleMeterRegistry registry;
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("audit-bench");
+            AuditProperties properties = new AuditProperties();
+            properties.setDirectory(directory.toString());
+            properties.setFsyncPolicy(fsyncPolicy);
+            properties.setAwaitDurable(awaitDurable);
+            properties.setFsyncIntervalMs(10);
+            properties.setRetentionSegments(4);
+            registry = new SimpleMeterRegistry();
+            journal = new AuditJournal(properties, registry);
+            journal.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            journal.stop();
+            Timer fsync = registry.get("backend.audit.fsync").timer();
+            System.out.printf("%n[%s awaitDurable=%s] fsyncs=%d meanFsync=%.3fms maxFsync=%.3fms meanBatch=%.1f backpressure=%.0f%n",
+                    fsyncPolicy, awaitDurable, fsync.count(), fsync.mean(TimeUnit.MILLISECONDS),
+                    fsync.max(TimeUnit.MILLISECONDS),
+                    registry.get("backend.audit.batch.size").summary().mean(),
+                    registry.get("backend.audit.backpressure").counter().count());
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LogbackState {
+
+        Logger logger;
+        LoggerContext context;
+        Path directory;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("audit-log-bench");
+            context = new LoggerContext();
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{ISO8601} %-5level [%thread] %logger - %msg%n");
+            encoder.start();
+            FileAppender<ILoggingEvent> appender = new FileAppender<>();
+            appender.setContext(context);
+            appender.setFile(directory.resolve("audit.log").toString());
+            appender.setEncoder(encoder);
+            appender.setImmediateFlush(true);
+            appender.start();
+            logger = context.getLogger("audit");
+            logger.addAppender(appender);
+            logger.setAdditive(false);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            context.stop();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public void journal(JournalState state) {
+        state.journal.append(RECORD);
+    }
+
+    @Benchmark
+    public void logback(LogbackState state) {
+        state.logger.info("processed requestId={} type={} amount={} subject={} serial={} at={}",
+                RECORD.requestId(), RECORD.type(), RECORD.amount(), RECORD.clientSubject(),
+                RECORD.clientSerial(), RECORD.timestampMillis());
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.netflix.oss.stack.backend.processing;
+
+import com.netflix.oss.stack.contract.ProcessRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch and formatting cost of the processing engine against the previous
+ * double + String.format implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessingEngineBenchmark {
+
+    private ProcessingEngine engine;
+    private ProcessRequest[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.getFeeBps().put("payment", 150L);
+        properties.getFeeBps().put("transfer", 50L);
+        properties.getFeeBps().put("order", 250L);
+        engine = new ProcessingEngine(
+                new DefaultListableBeanFactory().getBeanProvider(TypeProcessor.class), properties);
+
+        requests = new ProcessRequest[] {
+                new ProcessRequest("payment", "Process transaction", 150.00),
+                new ProcessRequest("transfer", "Fund transfer", 500.00),
+                new ProcessRequest("order", "Create new order", 299.99),
+                new ProcessRequest("REST_TEST", "Hello from sanity test", 123.45)
+        };
+    }
+
+    private ProcessRequest next() {
+        index = (index + 1) & 3;
+        return requests[index];
+    }
+
+    @Benchmark
+    public TypeProcessor dispatch() {
+        return engine.resolve(next().getType());
+    }
+
+    @Benchmark
+    public String engineComputeOutput() {
+        return engine.computeOutput(next());
+    }
+
+    @Benchmark
+    public String legacyComputeOutput() {
+        ProcessRequest request = next();
+        double processedAmount = request.getAmount() * 1.1;
+        return String.format("Processed %s request: '%s' with amount %.2f (processed: %.2f)",
+                request.getType(),
+                request.getMessage(),
+                request.getAmount(),
+                processedAmount);
+    }
+}
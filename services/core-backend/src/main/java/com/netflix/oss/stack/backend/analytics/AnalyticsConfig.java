@@ -0,0 +1,9 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AnalyticsProperties.class)
+public class AnalyticsConfig {
+}
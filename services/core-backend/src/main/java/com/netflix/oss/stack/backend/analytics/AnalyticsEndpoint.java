@@ -0,0 +1,34 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/analytics shows per-type aggregates for the retained windows
+ * (?windows=N for the newest N only); /actuator/analytics/{type} shows one type.
+ */
+@Component
+@Endpoint(id = "analytics")
+public class AnalyticsEndpoint {
+
+    private final TypeAggregator aggregator;
+
+    public AnalyticsEndpoint(TypeAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> analytics(@Nullable Integer windows) {
+        return aggregator.snapshot(windows, null);
+    }
+
+    @ReadOperation
+    public Map<String, Object> type(@Selector String type, @Nullable Integer windows) {
+        return aggregator.snapshot(windows, type);
+    }
+}
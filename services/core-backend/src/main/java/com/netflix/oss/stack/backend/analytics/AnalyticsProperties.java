@@ -0,0 +1,31 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-type aggregates of /backend/process traffic in tumbling windows of
+ * window-seconds, of which the current one and retained-windows finished ones
+ * are kept. Types beyond max-types per window are counted under "_other".
+ * stripes is the number of independent accumulators per type and window
+ * (0 = next power of two of the CPU count).
+ */
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsProperties {
+
+    private boolean enabled = true;
+    private int windowSeconds = 60;
+    private int retainedWindows = 15;
+    private int maxTypes = 32;
+    private int stripes = 0;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(int windowSeconds) { this.windowSeconds = windowSeconds; }
+    public int getRetainedWindows() { return retainedWindows; }
+    public void setRetainedWindows(int retainedWindows) { this.retainedWindows = retainedWindows; }
+    public int getMaxTypes() { return maxTypes; }
+    public void setMaxTypes(int maxTypes) { this.maxTypes = maxTypes; }
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+}
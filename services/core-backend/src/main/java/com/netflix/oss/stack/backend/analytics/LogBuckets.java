@@ -0,0 +1,59 @@
+package com.netflix.oss.stack.backend.analytics;
+
+/**
+ * Log-linear bucketing of non-negative longs: values below 16 get a bucket each,
+ * every power of two above is split into 16 equal sub-buckets, so a bucket's
+ * midpoint is within about 3% of any value in it. Index arithmetic is a few
+ * shifts, with no logarithm on the recording path. Values of 2^40 and above
+ * (about 11 billion in minor units, or 12 days in microseconds) share the top
+ * bucket; zero and negative values share bucket 0.
+ */
+final class LogBuckets {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+
+    static final int COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private LogBuckets() {}
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return value <= 0 ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Middle of the bucket's value range. */
+    static double midpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + (index % SUB_BUCKETS) * width;
+        return lower + (width - 1) / 2.0;
+    }
+
+    /** Midpoint of the bucket holding the given quantile of {@code total} values. */
+    static double quantile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(counts.length - 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One type's amount and latency sums and histograms for one window; the count
+ * is the amount histogram's total.
+ * Writers are spread over stripes by thread, each stripe a separate array
+ * allocated on first use, so request threads update different cache lines
+ * and never wait on each other; readers sum the stripes.
+ */
+final class TypeAccumulator {
+
+    private static final int AMOUNT_SUM = 0;
+    private static final int LATENCY_SUM = 1;
+    private static final int AMOUNT_BUCKETS = 2;
+    private static final int LATENCY_BUCKETS = AMOUNT_BUCKETS + LogBuckets.COUNT;
+    private static final int STRIPE_LENGTH = LATENCY_BUCKETS + LogBuckets.COUNT;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int stripeMask;
+
+    /** @param stripeCount a power of two */
+    TypeAccumulator(int stripeCount) {
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * @param amountMinorUnits the request amount in hundredths
+     * @param latencyMicros    processing time
+     */
+    void record(long amountMinorUnits, long latencyMicros) {
+        AtomicLongArray stripe = stripe((int) Thread.currentThread().getId() & stripeMask);
+        stripe.getAndAdd(AMOUNT_SUM, amountMinorUnits);
+        stripe.getAndAdd(LATENCY_SUM, latencyMicros);
+        stripe.getAndIncrement(AMOUNT_BUCKETS + LogBuckets.index(amountMinorUnits));
+        stripe.getAndIncrement(LATENCY_BUCKETS + LogBuckets.index(latencyMicros));
+    }
+
+    private AtomicLongArray stripe(int index) {
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(STRIPE_LENGTH));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    /** Adds this accumulator's stripes into {@code into}. */
+    void addTo(Totals into) {
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            into.amountSum += stripe.get(AMOUNT_SUM);
+            into.latencySum += stripe.get(LATENCY_SUM);
+            for (int i = 0; i < LogBuckets.COUNT; i++) {
+                long amounts = stripe.get(AMOUNT_BUCKETS + i);
+                into.amountBuckets[i] += amounts;
+                into.count += amounts;
+            }
+            for (int i = 0; i < LogBuckets.COUNT; i++) {
+                into.latencyBuckets[i] += stripe.get(LATENCY_BUCKETS + i);
+            }
+        }
+    }
+
+    /** Plain sums read from one or more accumulators, e.g. one type over several windows. */
+    static final class Totals {
+        long count;
+        long amountSum;
+        long latencySum;
+        final long[] amountBuckets = new long[LogBuckets.COUNT];
+        final long[] latencyBuckets = new long[LogBuckets.COUNT];
+    }
+}
@@ -0,0 +1,199 @@
+package com.netflix.oss.stack.backend.analytics;
+
+import com.netflix.oss.stack.backend.processing.FixedPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming per-type aggregates of processed requests: count, amount sum and
+ * quantiles of amount and processing latency, in tumbling windows. Windows
+ * live in a ring indexed by window number; the first request of a new window
+ * replaces the slot's oldest window, so nothing runs in the background.
+ * Amounts are aggregated in minor units, so the sums are exact; amounts at or
+ * below zero count as zero in the amount quantiles. A sample whose window was
+ * rotated out of the ring while it was being recorded is gone with that window;
+ * such samples are counted as lateSamples rather than moved to a window they do
+ * not belong to.
+ */
+@Component
+public class TypeAggregator {
+
+    static final String OTHER_TYPE = "_other";
+    static final String UNKNOWN_TYPE = "_unknown";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String[] QUANTILE_LABELS = {"p50", "p90", "p99"};
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxTypes;
+    private final int stripes;
+    private final AtomicReferenceArray<Window> ring;
+    private final LongAdder lateSamples = new LongAdder();
+
+    private volatile Window current;
+
+    public TypeAggregator(AnalyticsProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, properties.getWindowSeconds()));
+        this.maxTypes = Math.max(1, properties.getMaxTypes());
+        int requested = properties.getStripes() > 0
+                ? properties.getStripes() : Runtime.getRuntime().availableProcessors();
+        this.stripes = Integer.highestOneBit(Math.max(1, requested) * 2 - 1);
+        this.ring = new AtomicReferenceArray<>(Math.max(0, properties.getRetainedWindows()) + 1);
+        this.current = new Window(Long.MIN_VALUE);
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void record(String type, double amount, long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        Window window = window(System.currentTimeMillis() / windowMillis);
+        window.accumulator(type != null ? type : UNKNOWN_TYPE)
+                .record(FixedPoint.toMinorUnits(amount), TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (ring.get(slot(window.number)) != window) {
+            lateSamples.increment();
+        }
+    }
+
+    private int slot(long number) {
+        return (int) Math.floorMod(number, (long) ring.length());
+    }
+
+    private Window window(long number) {
+        Window window = current;
+        if (window.number == number) {
+            return window;
+        }
+        int slot = slot(number);
+        while (true) {
+            Window existing = ring.get(slot);
+            if (existing != null && existing.number >= number) {
+                // Already rotated by another thread, or the clock stepped back: keep writing to it
+                window = existing;
+                break;
+            }
+            Window fresh = new Window(number);
+            if (ring.compareAndSet(slot, existing, fresh)) {
+                window = fresh;
+                break;
+            }
+        }
+        if (window.number > current.number) {
+            current = window;
+        }
+        return window;
+    }
+
+    /**
+     * The newest {@code windows} windows (all retained ones when null), newest
+     * first, each with per-type aggregates, plus the types totalled over them.
+     * With {@code type} set only that type is included.
+     */
+    public Map<String, Object> snapshot(Integer windows, String type) {
+        long now = System.currentTimeMillis();
+        long currentNumber = now / windowMillis;
+        List<Window> selected = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Window window = ring.get(i);
+            if (window != null && window.number > currentNumber - ring.length() && window.number <= currentNumber) {
+                selected.add(window);
+            }
+        }
+        selected.sort((a, b) -> Long.compare(b.number, a.number));
+        if (windows != null && windows >= 0 && windows < selected.size()) {
+            selected = selected.subList(0, windows);
+        }
+
+        Map<String, TypeAccumulator.Totals> overall = new TreeMap<>();
+        List<Map<String, Object>> windowList = new ArrayList<>();
+        for (Window window : selected) {
+            Map<String, Object> types = new TreeMap<>();
+            window.types.forEach((name, accumulator) -> {
+                if (type == null || type.equals(name)) {
+                    TypeAccumulator.Totals totals = new TypeAccumulator.Totals();
+                    accumulator.addTo(totals);
+                    accumulator.addTo(overall.computeIfAbsent(name, key -> new TypeAccumulator.Totals()));
+                    types.put(name, describe(totals));
+                }
+            });
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("start", Instant.ofEpochMilli(window.number * windowMillis).toString());
+            entry.put("end", Instant.ofEpochMilli((window.number + 1) * windowMillis).toString());
+            entry.put("complete", window.number < currentNumber);
+            entry.put("types", types);
+            windowList.add(entry);
+        }
+
+        Map<String, Object> total = new TreeMap<>();
+        overall.forEach((name, totals) -> total.put(name, describe(totals)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("windowSeconds", TimeUnit.MILLISECONDS.toSeconds(windowMillis));
+        result.put("windows", windowList);
+        result.put("total", total);
+        result.put("lateSamples", lateSamples.sum());
+        return result;
+    }
+
+    private static Map<String, Object> describe(TypeAccumulator.Totals totals) {
+        Map<String, Object> amount = new LinkedHashMap<>();
+        amount.put("sum", FixedPoint.toDouble(totals.amountSum));
+        amount.put("mean", totals.count == 0 ? 0.0 : round(FixedPoint.toDouble(totals.amountSum) / totals.count, 2));
+        for (int i = 0; i < QUANTILES.length; i++) {
+            amount.put(QUANTILE_LABELS[i],
+                    round(LogBuckets.quantile(totals.amountBuckets, totals.count, QUANTILES[i]) / FixedPoint.SCALE, 2));
+        }
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", totals.count == 0 ? 0.0 : round(totals.latencySum / 1000.0 / totals.count, 3));
+        for (int i = 0; i < QUANTILES.length; i++) {
+            latency.put(QUANTILE_LABELS[i],
+                    round(LogBuckets.quantile(totals.latencyBuckets, totals.count, QUANTILES[i]) / 1000.0, 3));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", totals.count);
+        result.put("amount", amount);
+        result.put("latencyMs", latency);
+        return result;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    private final class Window {
+        final long number;
+        final Map<String, TypeAccumulator> types = new ConcurrentHashMap<>();
+
+        Window(long number) {
+            this.number = number;
+        }
+
+        TypeAccumulator accumulator(String type) {
+            TypeAccumulator accumulator = types.get(type);
+            if (accumulator != null) {
+                return accumulator;
+            }
+            if (types.size() >= maxTypes) {
+                type = OTHER_TYPE;
+            }
+            return types.computeIfAbsent(type, key -> new TypeAccumulator(stripes));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.netflix.oss.stack.backend.audit;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary frame for one journal record:
+ * <pre>
+ * int    body length (0 marks the end of written data in a segment)
+ * long   sequence
+ * long   timestamp millis
+ * double amount
+ * 4 x    (short length, UTF-8 bytes): requestId, type, clientSubject, clientSerial
+ * int    CRC32C of the body
+ * </pre>
+ * Strings are cut to {@link #MAX_STRING_BYTES} so a frame always fits a segment.
+ */
+final class AuditCodec {
+
+    static final int MAX_STRING_BYTES = 1024;
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 8 + 4 * 2;
+    static final int MAX_FRAME_BYTES = 4 + FIXED_BODY_BYTES + 4 * MAX_STRING_BYTES + 4;
+
+    private AuditCodec() {
+    }
+
+    /**
+     * Writes the frame at the buffer's position, or returns false and leaves the
+     * buffer untouched when fewer than frame + 4 terminator bytes remain.
+     */
+    static boolean encode(ByteBuffer buffer, long sequence, AuditRecord record) {
+        byte[] requestId = bytes(record.requestId());
+        byte[] type = bytes(record.type());
+        byte[] subject = bytes(record.clientSubject());
+        byte[] serial = bytes(record.clientSerial());
+        int bodyLength = FIXED_BODY_BYTES + requestId.length + type.length + subject.length + serial.length + 4;
+        if (buffer.remaining() < 4 + bodyLength + 4) {
+            return false;
+        }
+
+        int start = buffer.position();
+        buffer.putInt(0);
+        int bodyStart = buffer.position();
+        buffer.putLong(sequence);
+        buffer.putLong(record.timestampMillis());
+        buffer.putDouble(record.amount());
+        putString(buffer, requestId);
+        putString(buffer, type);
+        putString(buffer, subject);
+        putString(buffer, serial);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(bodyStart).limit(buffer.position()));
+        buffer.putInt((int) crc.getValue());
+        // Length goes in last so a reader never sees a frame whose body is still being written
+        buffer.putInt(start, bodyLength);
+        return true;
+    }
+
+    /**
+     * Reads the frame at the buffer's position and advances past it. Returns null,
+     * leaving the position unchanged, at the end of written data or at a torn or
+     * corrupt frame.
+     */
+    static AuditRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            int bodyLength = buffer.getInt();
+            if (bodyLength <= 0 || bodyLength > MAX_FRAME_BYTES || bodyLength > buffer.remaining()) {
+                buffer.position(start);
+                return null;
+            }
+            int bodyStart = buffer.position();
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().position(bodyStart).limit(bodyStart + bodyLength - 4));
+            if ((int) crc.getValue() != buffer.getInt(bodyStart + bodyLength - 4)) {
+                buffer.position(start);
+                return null;
+            }
+            long sequence = buffer.getLong();
+            long timestampMillis = buffer.getLong();
+            double amount = buffer.getDouble();
+            String requestId = getString(buffer);
+            String type = getString(buffer);
+            String clientSubject = getString(buffer);
+            String clientSerial = getString(buffer);
+            buffer.position(bodyStart + bodyLength);
+            AuditRecord record = new AuditRecord(sequence, timestampMillis, requestId, type, amount, clientSubject, clientSerial);
+            return record;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            buffer.position(start);
+            return null;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        byte[] truncated = new byte[MAX_STRING_BYTES];
+        System.arraycopy(bytes, 0, truncated, 0, MAX_STRING_BYTES);
+        return truncated;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative string length");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,259 @@
+package com.netflix.oss.stack.backend.audit;
+
+import com.netflix.oss.stack.contract.ProcessResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit journal of processed requests.
+ * Request threads publish records into a lock-free ring; a single writer thread
+ * drains it in batches into memory-mapped segment files and forces them to disk
+ * according to the fsync policy, so one fsync covers a whole batch (group commit).
+ * Segments roll when full and are deleted by count and age.
+ * Use {@link AuditJournalReader} to scan the files offline.
+ */
+@Service
+public class AuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+    private static final long PRODUCER_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditProperties properties;
+    private final AuditRingBuffer ring;
+    private final Path directory;
+    private final int segmentSize;
+
+    private final Counter appended;
+    private final Counter backpressure;
+    private final Counter dropped;
+    private final Counter durableTimeouts;
+    private final Counter writeErrors;
+    private final Timer fsyncTimer;
+    private final DistributionSummary batchSize;
+    private final AtomicInteger segmentCount = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private volatile long durableTickets;
+    private Thread writer;
+
+    // Writer thread state
+    private AuditSegment current;
+    private long baseSequence;
+    private long lastForceNanos;
+    private long unforcedTickets;
+
+    public AuditJournal(AuditProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new AuditRingBuffer(properties.getRingCapacity());
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = Math.max(1, properties.getSegmentSizeMb()) * 1024 * 1024;
+
+        this.appended = Counter.builder("backend.audit.records").description("Records written to the journal").register(meterRegistry);
+        this.backpressure = Counter.builder("backend.audit.backpressure")
+                .description("Appends that found the ring full and had to wait").register(meterRegistry);
+        this.dropped = Counter.builder("backend.audit.dropped")
+                .description("Records not journaled because the journal was stopped or failed").register(meterRegistry);
+        this.durableTimeouts = Counter.builder("backend.audit.durable.timeouts")
+                .description("Requests that stopped waiting for their fsync").register(meterRegistry);
+        this.writeErrors = Counter.builder("backend.audit.write.errors").register(meterRegistry);
+        this.fsyncTimer = Timer.builder("backend.audit.fsync")
+                .description("Time to force a mapped segment to disk")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("backend.audit.batch.size")
+                .description("Records covered by one group commit").register(meterRegistry);
+        Gauge.builder("backend.audit.ring.depth", ring, AuditRingBuffer::size)
+                .description("Records waiting for the journal writer").register(meterRegistry);
+        Gauge.builder("backend.audit.segments", segmentCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            logger.info("Audit journal disabled");
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = AuditSegment.list(directory);
+        if (segments.isEmpty()) {
+            current = AuditSegment.create(directory, 0, segmentSize);
+        } else {
+            current = AuditSegment.reopen(segments.get(segments.size() - 1));
+        }
+        baseSequence = current.nextSequence();
+        segmentCount.set(Math.max(1, segments.size()));
+        lastForceNanos = System.nanoTime();
+
+        running = true;
+        writer = new Thread(this::drain, "audit-journal-writer");
+        writer.start();
+        logger.info("Audit journal at {} resuming at sequence {}: {} MB segments, fsync {}, await durable {}",
+                directory.toAbsolutePath(), baseSequence, properties.getSegmentSizeMb(),
+                properties.getFsyncPolicy(), properties.isAwaitDurable());
+    }
+
+    public void record(ProcessResponse response) {
+        append(new AuditRecord(0, System.currentTimeMillis(), response.getRequestId(), response.getOriginalType(),
+                response.getOriginalAmount(), response.getClientCertSubject(), response.getClientCertSerial()));
+    }
+
+    /**
+     * Publishes the record without blocking unless the ring is full. With
+     * await-durable, returns once the record is covered by an fsync or the wait times out.
+     */
+    public void append(AuditRecord record) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        long ticket = ring.offer(record);
+        if (ticket < 0) {
+            backpressure.increment();
+            while ((ticket = ring.offer(record)) < 0) {
+                if (!running) {
+                    dropped.increment();
+                    return;
+                }
+                wakeWriter();
+                LockSupport.parkNanos(PRODUCER_BACKOFF_NANOS);
+            }
+        }
+        wakeWriter();
+
+        if (properties.isAwaitDurable()) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getAwaitTimeoutMs());
+            while (durableTickets <= ticket) {
+                if (System.nanoTime() > deadline || !running) {
+                    durableTimeouts.increment();
+                    return;
+                }
+                LockSupport.parkNanos(PRODUCER_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        long idleParkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getFsyncIntervalMs()));
+        while (running || ring.size() > 0) {
+            int batch = 0;
+            AuditRecord record;
+            while (batch < properties.getMaxBatch() && (record = ring.poll()) != null) {
+                write(record);
+                batch++;
+            }
+            if (batch > 0) {
+                appended.increment(batch);
+                unforcedTickets += batch;
+                commit(false);
+                continue;
+            }
+
+            commit(false);
+            writerParked = true;
+            if (ring.size() == 0 && running) {
+                LockSupport.parkNanos(this, idleParkNanos);
+            }
+            writerParked = false;
+        }
+        commit(true);
+    }
+
+    private void write(AuditRecord record) {
+        long sequence = baseSequence + ring.consumed() - 1;
+        try {
+            if (!current.append(sequence, record)) {
+                roll(sequence);
+                current.append(sequence, record);
+            }
+        } catch (IOException | RuntimeException e) {
+            writeErrors.increment();
+            dropped.increment();
+            logger.error("Failed to journal record {} ({}): {}", sequence, record.requestId(), e.getMessage());
+        }
+    }
+
+    /** Forces written records to disk when the policy says so and publishes how far durability reaches. */
+    private void commit(boolean finalCommit) {
+        long consumed = ring.consumed();
+        if (unforcedTickets == 0) {
+            durableTickets = consumed;
+            return;
+        }
+        boolean force = switch (properties.getFsyncPolicy()) {
+            case BATCH -> true;
+            case INTERVAL -> finalCommit
+                    || System.nanoTime() - lastForceNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getFsyncIntervalMs());
+            case NONE -> false;
+        };
+        if (force) {
+            long start = System.nanoTime();
+            current.force();
+            lastForceNanos = System.nanoTime();
+            fsyncTimer.record(lastForceNanos - start, TimeUnit.NANOSECONDS);
+            batchSize.record(unforcedTickets);
+            unforcedTickets = 0;
+            durableTickets = consumed;
+        } else if (properties.getFsyncPolicy() == AuditProperties.FsyncPolicy.NONE) {
+            unforcedTickets = 0;
+            durableTickets = consumed;
+        }
+    }
+
+    private void roll(long nextSequence) throws IOException {
+        current.close();
+        current = AuditSegment.create(directory, nextSequence, segmentSize);
+        applyRetention();
+    }
+
+    private void applyRetention() throws IOException {
+        List<Path> segments = AuditSegment.list(directory);
+        long cutoffMillis = System.currentTimeMillis() - Duration.ofHours(properties.getRetentionHours()).toMillis();
+        int remaining = segments.size();
+        for (Path segment : segments) {
+            if (segment.equals(current.path)) {
+                break;
+            }
+            if (remaining > properties.getRetentionSegments()
+                    || Files.getLastModifiedTime(segment).toMillis() < cutoffMillis) {
+                Files.deleteIfExists(segment);
+                remaining--;
+                logger.info("Deleted audit segment {}", segment.getFileName());
+            }
+        }
+        segmentCount.set(remaining);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        current.close();
+    }
+}
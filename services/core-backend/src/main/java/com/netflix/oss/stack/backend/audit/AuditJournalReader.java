@@ -0,0 +1,142 @@
+package com.netflix.oss.stack.backend.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Offline scanner for audit journal segments. Runs without Spring against a copy
+ * of the journal directory or the live one (segments are mapped read-only).
+ *
+ * <pre>
+ * AuditJournalReader &lt;directory&gt; [--from ISO-INSTANT] [--to ISO-INSTANT] [--serial SERIAL]
+ *                    [--subject TEXT] [--type TYPE] [--request-id ID] [--json] [--count]
+ * </pre>
+ * --subject matches a substring of the certificate subject; the other filters match exactly.
+ * The scan of each segment stops at its first torn or corrupt frame, which is reported on stderr.
+ */
+public final class AuditJournalReader {
+
+    private AuditJournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("Usage: AuditJournalReader <directory> [--from ISO-INSTANT] [--to ISO-INSTANT] "
+                    + "[--serial SERIAL] [--subject TEXT] [--type TYPE] [--request-id ID] [--json] [--count]");
+            System.exit(2);
+        }
+
+        Path directory = Path.of(args[0]);
+        Predicate<AuditRecord> filter = record -> true;
+        boolean json = false;
+        boolean countOnly = false;
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "--json" -> json = true;
+                case "--count" -> countOnly = true;
+                default -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Missing value for " + option);
+                    }
+                    String value = args[++i];
+                    filter = filter.and(switch (option) {
+                        case "--from" -> {
+                            long from = Instant.parse(value).toEpochMilli();
+                            yield record -> record.timestampMillis() >= from;
+                        }
+                        case "--to" -> {
+                            long to = Instant.parse(value).toEpochMilli();
+                            yield record -> record.timestampMillis() < to;
+                        }
+                        case "--serial" -> record -> value.equalsIgnoreCase(record.clientSerial());
+                        case "--subject" -> record -> record.clientSubject() != null && record.clientSubject().contains(value);
+                        case "--type" -> record -> value.equals(record.type());
+                        case "--request-id" -> record -> value.equals(record.requestId());
+                        default -> throw new IllegalArgumentException("Unknown option " + option);
+                    });
+                }
+            }
+        }
+
+        long scanned = scan(directory, filter, json, countOnly, System.out, System.err);
+        if (countOnly) {
+            System.out.println(scanned);
+        }
+    }
+
+    /**
+     * Prints matching records and returns how many matched.
+     */
+    static long scan(Path directory, Predicate<AuditRecord> filter, boolean json, boolean countOnly,
+                     PrintStream out, PrintStream err) throws IOException {
+        long matched = 0;
+        List<Path> segments = AuditSegment.list(directory);
+        for (Path segment : segments) {
+            ByteBuffer buffer = AuditSegment.mapReadOnly(segment);
+            AuditRecord record;
+            while ((record = AuditCodec.decode(buffer)) != null) {
+                if (!filter.test(record)) {
+                    continue;
+                }
+                matched++;
+                if (!countOnly) {
+                    out.println(json ? toJson(record) : toText(record));
+                }
+            }
+            if (buffer.remaining() >= 4 && buffer.getInt(buffer.position()) != 0) {
+                err.printf("%s: unreadable frame at offset %d, rest of segment skipped%n",
+                        segment.getFileName(), buffer.position());
+            }
+        }
+        if (segments.isEmpty() && !Files.isDirectory(directory)) {
+            err.printf("%s is not a directory%n", directory);
+        }
+        return matched;
+    }
+
+    private static String toText(AuditRecord record) {
+        return String.format("%d %s %s %s %s serial=%s subject=%s", record.sequence(),
+                Instant.ofEpochMilli(record.timestampMillis()), record.requestId(), record.type(),
+                record.amount(), record.clientSerial(), record.clientSubject());
+    }
+
+    private static String toJson(AuditRecord record) {
+        return "{\"sequence\":" + record.sequence()
+                + ",\"timestamp\":\"" + Instant.ofEpochMilli(record.timestampMillis()) + '"'
+                + ",\"requestId\":" + quote(record.requestId())
+                + ",\"type\":" + quote(record.type())
+                + ",\"amount\":" + record.amount()
+                + ",\"clientSubject\":" + quote(record.clientSubject())
+                + ",\"clientSerial\":" + quote(record.clientSerial())
+                + '}';
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
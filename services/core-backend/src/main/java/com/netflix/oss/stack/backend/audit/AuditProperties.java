@@ -0,0 +1,50 @@
+package com.netflix.oss.stack.backend.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Audit journal settings. fsync-policy decides when mapped segments are forced
+ * to disk: BATCH after every group of records the writer drains, INTERVAL at most
+ * every fsync-interval-ms, NONE leaves it to the OS page cache. With
+ * await-durable, request threads wait until their record is covered by an fsync.
+ */
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    public enum FsyncPolicy { NONE, INTERVAL, BATCH }
+
+    private boolean enabled = true;
+    private String directory = "audit";
+    private int segmentSizeMb = 64;
+    private int ringCapacity = 16_384;
+    private int maxBatch = 1024;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+    private long fsyncIntervalMs = 100;
+    private boolean awaitDurable = false;
+    private long awaitTimeoutMs = 1000;
+    private int retentionSegments = 32;
+    private long retentionHours = 168;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    public int getSegmentSizeMb() { return segmentSizeMb; }
+    public void setSegmentSizeMb(int segmentSizeMb) { this.segmentSizeMb = segmentSizeMb; }
+    public int getRingCapacity() { return ringCapacity; }
+    public void setRingCapacity(int ringCapacity) { this.ringCapacity = ringCapacity; }
+    public int getMaxBatch() { return maxBatch; }
+    public void setMaxBatch(int maxBatch) { this.maxBatch = maxBatch; }
+    public FsyncPolicy getFsyncPolicy() { return fsyncPolicy; }
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) { this.fsyncPolicy = fsyncPolicy; }
+    public long getFsyncIntervalMs() { return fsyncIntervalMs; }
+    public void setFsyncIntervalMs(long fsyncIntervalMs) { this.fsyncIntervalMs = fsyncIntervalMs; }
+    public boolean isAwaitDurable() { return awaitDurable; }
+    public void setAwaitDurable(boolean awaitDurable) { this.awaitDurable = awaitDurable; }
+    public long getAwaitTimeoutMs() { return awaitTimeoutMs; }
+    public void setAwaitTimeoutMs(long awaitTimeoutMs) { this.awaitTimeoutMs = awaitTimeoutMs; }
+    public int getRetentionSegments() { return retentionSegments; }
+    public void setRetentionSegments(int retentionSegments) { this.retentionSegments = retentionSegments; }
+    public long getRetentionHours() { return retentionHours; }
+    public void setRetentionHours(long retentionHours) { this.retentionHours = retentionHours; }
+}
@@ -0,0 +1,9 @@
+package com.netflix.oss.stack.backend.audit;
+
+/**
+ * One processed request as stored in the journal. The sequence is assigned by
+ * the journal writer; records handed to {@link AuditJournal} carry 0.
+ */
+public record AuditRecord(long sequence, long timestampMillis, String requestId, String type, double amount,
+                          String clientSubject, String clientSerial) {
+}
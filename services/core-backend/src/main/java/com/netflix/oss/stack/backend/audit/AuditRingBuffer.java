@@ -0,0 +1,84 @@
+package com.netflix.oss.stack.backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring (Vyukov's bounded queue).
+ * Each slot carries a sequence number: producers claim a position with one CAS and
+ * publish by advancing the slot sequence, so request threads never block each other
+ * or the journal writer.
+ */
+final class AuditRingBuffer {
+
+    private final int mask;
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private volatile long dequeuePosition;
+
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = size - 1;
+        this.items = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return the record's position in the ring (a monotonically increasing ticket), or -1 when full
+     */
+    long offer(AuditRecord record) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    items[index] = record;
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /** Single consumer only. Returns null when the next slot has not been published yet. */
+    AuditRecord poll() {
+        long position = dequeuePosition;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        AuditRecord record = (AuditRecord) items[index];
+        items[index] = null;
+        sequences.set(index, position + mask + 1);
+        dequeuePosition = position + 1;
+        return record;
+    }
+
+    /** Tickets handed to producers so far. */
+    long published() {
+        return enqueuePosition.get();
+    }
+
+    /** Tickets taken by the consumer so far. */
+    long consumed() {
+        return dequeuePosition;
+    }
+
+    int size() {
+        return (int) Math.max(0, enqueuePosition.get() - dequeuePosition);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
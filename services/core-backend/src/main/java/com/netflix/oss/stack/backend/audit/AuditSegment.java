@@ -0,0 +1,111 @@
+package com.netflix.oss.stack.backend.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One pre-sized, memory-mapped journal file named after the sequence of its
+ * first record. Appends are plain buffer writes; {@link #force()} is the fsync.
+ */
+final class AuditSegment implements Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    final Path path;
+    final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long nextSequence;
+
+    private AuditSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.nextSequence = firstSequence;
+    }
+
+    static AuditSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new AuditSegment(path, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Reopens an existing segment for appending after the last intact record.
+     * Anything after it (a frame torn by a crash) is zeroed.
+     */
+    static AuditSegment reopen(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        AuditSegment segment = new AuditSegment(path, firstSequence(path), channel, buffer);
+        AuditRecord record;
+        while ((record = AuditCodec.decode(buffer)) != null) {
+            segment.nextSequence = record.sequence() + 1;
+        }
+        // A torn frame is never longer than the largest possible frame
+        int tornEnd = (int) Math.min(buffer.limit(), (long) buffer.position() + AuditCodec.MAX_FRAME_BYTES);
+        for (int i = buffer.position(); i < tornEnd; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return segment;
+    }
+
+    boolean append(long sequence, AuditRecord record) {
+        if (!AuditCodec.encode(buffer, sequence, record)) {
+            return false;
+        }
+        nextSequence = sequence + 1;
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /** Sequence the next record appended here would get. */
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /** Segment files in the directory, oldest first. */
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    /** Read-only view of a segment for offline scanning. */
+    static ByteBuffer mapReadOnly(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.netflix.oss.stack.backend.compression;
+
+import com.netflix.oss.stack.compression.CompressionMetrics;
+import com.netflix.oss.stack.compression.CompressionProperties;
+import com.netflix.oss.stack.compression.ResponseCompressionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Compresses responses to the middleware when it asks for it (Accept-Encoding).
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "compression")
+    public CompressionProperties compressionProperties() {
+        return new CompressionProperties();
+    }
+
+    @Bean
+    public CompressionMetrics compressionMetrics(MeterRegistry meterRegistry) {
+        return new CompressionMetrics(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            CompressionProperties compressionProperties, CompressionMetrics compressionMetrics) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCompressionFilter(compressionProperties, compressionMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,58 +1,144 @@
 package com.netflix.oss.stack.backend.controller;
 
-import com.netflix.oss.stack.backend.model.ProcessRequest;
-import com.netflix.oss.stack.backend.model.ProcessResponse;
-import org.springframework.beans.factory.annotation.Value;
+import com.netflix.oss.stack.backend.idempotency.IdempotencyCache;
+import com.netflix.oss.stack.backend.idempotency.IdempotencyConflictException;
+import com.netflix.oss.stack.backend.idempotency.IdempotencyInFlightException;
+import com.netflix.oss.stack.backend.idempotency.IdempotencyProperties;
+import com.netflix.oss.stack.backend.jobs.JobService;
+import com.netflix.oss.stack.backend.processing.FixedPoint;
+import com.netflix.oss.stack.backend.service.ProcessService;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.net.InetAddress;
-import java.time.Instant;
-import java.util.UUID;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/backend")
 public class BackendController {
 
-    @Value("${spring.application.name}")
-    private String applicationName;
+    private static final Logger logger = LoggerFactory.getLogger(BackendController.class);
 
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private IdempotencyProperties idempotencyProperties;
+
+    /**
+     * Amounts that are not finite or exceed FixedPoint.MAX_AMOUNT answer 400.
+     * With an Idempotency-Key header the first completed response for that key
+     * (per client) is replayed to retries, marked with Idempotent-Replayed: true.
+     * Reusing a key for a different request answers 422; a duplicate whose original
+     * is still running after idempotency.max-wait-ms (or the caller's deadline)
+     * answers 409 with Retry-After. Processing is skipped
+     * with 504 when the caller's deadline (X-Deadline-Ms) has passed by the time
+     * it would start, e.g. after waiting on a duplicate. X-Fields limits the
+     * response to the listed fields and skips computing the others, except for
+     * idempotent requests, whose stored response must serve any later projection.
+     * Each processed request (not replays) is added to the per-type aggregates
+     * at /actuator/analytics.
+     */
     @PostMapping("/process")
-    public ProcessResponse process(
+    public ResponseEntity<ProcessResponse> process(
             @RequestBody ProcessRequest request,
             @RequestHeader(value = "X-Client-Subject", required = false) String clientSubject,
-            @RequestHeader(value = "X-Client-Serial", required = false) String clientSerial) {
-        
-        String instanceInfo;
+            @RequestHeader(value = "X-Client-Serial", required = false) String clientSerial,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = FieldSet.HEADER, required = false) String fieldsHeader) {
+
+        if (!FixedPoint.isInRange(request.getAmount())) {
+            logger.warn("Rejected request with amount out of range: {}", request.getAmount());
+            return ResponseEntity.badRequest().build();
+        }
+        FieldSet fields = FieldSet.parse(fieldsHeader);
+        if (idempotencyKey == null || !idempotencyProperties.isEnabled()) {
+            return ResponseEntity.ok(processInTime(request, clientSubject, clientSerial, fields));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > idempotencyProperties.getMaxKeyLength()) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            instanceInfo = InetAddress.getLocalHost().getHostName();
-        } catch (Exception e) {
-            instanceInfo = "unknown";
+            IdempotencyCache.Result result = idempotencyCache.execute(clientSerial, idempotencyKey, request,
+                    Deadline.current(), () -> processInTime(request, clientSubject, clientSerial, FieldSet.ALL));
+            if (result.replayed()) {
+                logger.debug("Replaying response for Idempotency-Key {}", idempotencyKey);
+            }
+            return ResponseEntity.ok()
+                    .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                    .body(result.response().withFields(fields));
+        } catch (IdempotencyConflictException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (IdempotencyInFlightException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+
+    private ProcessResponse processInTime(ProcessRequest request, String clientSubject, String clientSerial,
+                                          FieldSet fields) {
+        return processService.processInTime(request, clientSubject, clientSerial, fields, Deadline.current());
+    }
+
+    /**
+     * Async mode: queues the work and answers 202 with a job ID to poll at
+     * /backend/jobs/{jobId}. An optional X-Callback-Url receives the final
+     * job status as a POST; its host must be listed in jobs.callback-hosts,
+     * otherwise 400, as for an out-of-range amount. A full queue answers 503 immediately.
+     */
+    @PostMapping(value = "/process", params = "async=true")
+    public ResponseEntity<JobStatus> processAsync(
+            @RequestBody ProcessRequest request,
+            @RequestHeader(value = "X-Client-Subject", required = false) String clientSubject,
+            @RequestHeader(value = "X-Client-Serial", required = false) String clientSerial,
+            @RequestHeader(value = "X-Callback-Url", required = false) String callbackUrl) {
+
+        if (!FixedPoint.isInRange(request.getAmount())) {
+            logger.warn("Rejected async request with amount out of range: {}", request.getAmount());
+            return ResponseEntity.badRequest().build();
+        }
+        if (callbackUrl != null && !jobService.isCallbackAllowed(callbackUrl)) {
+            logger.warn("Rejected async request with callback outside jobs.callback-hosts: {}", callbackUrl);
+            return ResponseEntity.badRequest().build();
         }
 
-        // Process the request - compute some output based on input
-        String computedOutput = computeOutput(request);
-
-        return ProcessResponse.builder()
-                .requestId(UUID.randomUUID().toString())
-                .originalType(request.getType())
-                .originalMessage(request.getMessage())
-                .originalAmount(request.getAmount())
-                .computedOutput(computedOutput)
-                .processedBy(applicationName)
-                .instanceInfo(instanceInfo)
-                .timestamp(Instant.now().toString())
-                .clientCertSubject(clientSubject)
-                .clientCertSerial(clientSerial)
-                .build();
+        try {
+            JobStatus job = jobService.submit(request, clientSubject, clientSerial, callbackUrl);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/backend/jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected async request of type {}: {}", request.getType(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
     }
 
-    private String computeOutput(ProcessRequest request) {
-        double processedAmount = request.getAmount() * 1.1; // 10% processing fee
-        return String.format("Processed %s request: '%s' with amount %.2f (processed: %.2f)",
-                request.getType(),
-                request.getMessage(),
-                request.getAmount(),
-                processedAmount);
+    /** Only the client (certificate serial) that submitted the job can read it; others get 404. */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobStatus> jobStatus(
+            @PathVariable String jobId,
+            @RequestHeader(value = "X-Client-Serial", required = false) String clientSerial) {
+        return ResponseEntity.of(jobService.status(jobId, clientSerial));
     }
 
     @GetMapping("/health")
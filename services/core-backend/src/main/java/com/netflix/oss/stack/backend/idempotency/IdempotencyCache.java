@@ -0,0 +1,278 @@
+package com.netflix.oss.stack.backend.idempotency;
+
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Stores the first completed response per Idempotency-Key so retries are
+ * answered without recomputation. Keys are scoped to the calling client's
+ * certificate serial. The cache is split into independently locked segments,
+ * each a small insertion-ordered map evicted oldest-first by size and TTL.
+ * Entries still in flight are never evicted and do not count towards the size
+ * limit, so a duplicate always finds the original it should wait for.
+ * Duplicates that arrive while the first request is still running wait for
+ * its result instead of starting their own, for a bounded time.
+ */
+@Service
+public class IdempotencyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    /** Rough per-entry overhead: map node, entry, future, request fingerprint and response objects. */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    public record Result(ProcessResponse response, boolean replayed) {}
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int maxPerSegment;
+    private final long ttlNanos;
+    private final long maxWaitMs;
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter inFlightHits;
+    private final Counter misses;
+    private final Counter conflicts;
+    private final Counter waitTimeouts;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, properties.getSegments()) * 2 - 1);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        this.segmentMask = segmentCount - 1;
+        this.maxPerSegment = Math.max(1, properties.getMaxEntries() / segmentCount);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        this.maxWaitMs = properties.getMaxWaitMs();
+
+        this.hits = requests(meterRegistry, "hit");
+        this.inFlightHits = requests(meterRegistry, "in_flight");
+        this.misses = requests(meterRegistry, "miss");
+        this.conflicts = requests(meterRegistry, "conflict");
+        this.waitTimeouts = requests(meterRegistry, "wait_timeout");
+        this.sizeEvictions = Counter.builder("backend.idempotency.evictions").tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("backend.idempotency.evictions").tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("backend.idempotency.entries", this, IdempotencyCache::size)
+                .description("Idempotency keys currently cached").register(meterRegistry);
+        Gauge.builder("backend.idempotency.memory", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap held by cached responses").baseUnit("bytes").register(meterRegistry);
+
+        logger.info("Idempotency cache: {} segments x {} entries, TTL {}s",
+                segmentCount, maxPerSegment, properties.getTtlSeconds());
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("backend.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the computation for the first request with this key and replays its
+     * response for later ones. A duplicate of a request still running waits for it
+     * until the caller's deadline (null: none) or idempotency.max-wait-ms, whichever is sooner.
+     *
+     * @throws IdempotencyConflictException when the key was used with a different request body
+     * @throws IdempotencyInFlightException when the original did not finish within the wait
+     */
+    public Result execute(String clientSerial, String key, ProcessRequest request, Deadline deadline,
+                          Supplier<ProcessResponse> computation) {
+        String scopedKey = (clientSerial != null ? clientSerial : "") + '\n' + key;
+        Segment segment = segments[spread(scopedKey.hashCode()) & segmentMask];
+
+        Entry entry;
+        boolean owner = false;
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            entry = segment.entries.get(scopedKey);
+            if (entry != null && !entry.inFlight && now - entry.createdNanos > ttlNanos) {
+                remove(segment, scopedKey, entry);
+                expiredEvictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(request, now);
+                segment.entries.put(scopedKey, entry);
+                segment.inFlight++;
+                owner = true;
+                evict(segment, now);
+            } else if (!entry.matches(request)) {
+                conflicts.increment();
+                throw new IdempotencyConflictException(key);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (owner) {
+            misses.increment();
+            ProcessResponse response;
+            try {
+                response = computation.get();
+            } catch (RuntimeException e) {
+                // Failures are not cached; waiting duplicates see the same error and a later retry recomputes
+                segment.lock.lock();
+                try {
+                    remove(segment, scopedKey, entry);
+                } finally {
+                    segment.lock.unlock();
+                }
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+            segment.lock.lock();
+            try {
+                entry.bytes = estimateBytes(scopedKey, response);
+                if (segment.entries.get(scopedKey) == entry) {
+                    estimatedBytes.addAndGet(entry.bytes);
+                    entry.inFlight = false;
+                    segment.inFlight--;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            entry.result.complete(response);
+            return new Result(response, false);
+        }
+
+        if (entry.result.isDone()) {
+            hits.increment();
+            try {
+                return new Result(entry.result.join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        inFlightHits.increment();
+        long waitMs = deadline != null ? Math.min(maxWaitMs, deadline.remainingMillis()) : maxWaitMs;
+        try {
+            return new Result(entry.result.get(waitMs, TimeUnit.MILLISECONDS), true);
+        } catch (TimeoutException e) {
+            waitTimeouts.increment();
+            throw new IdempotencyInFlightException(key);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyInFlightException(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Drops expired entries from the old end, then the oldest completed entries
+     * beyond the segment's share; in-flight entries are skipped.
+     */
+    private void evict(Segment segment, long now) {
+        Iterator<Map.Entry<String, Entry>> oldest = segment.entries.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Entry candidate = oldest.next().getValue();
+            if (candidate.inFlight) {
+                continue;
+            }
+            boolean expired = now - candidate.createdNanos > ttlNanos;
+            if (!expired && segment.entries.size() - segment.inFlight <= maxPerSegment) {
+                break;
+            }
+            oldest.remove();
+            estimatedBytes.addAndGet(-candidate.bytes);
+            (expired ? expiredEvictions : sizeEvictions).increment();
+        }
+    }
+
+    private void remove(Segment segment, String scopedKey, Entry entry) {
+        if (segment.entries.remove(scopedKey, entry)) {
+            estimatedBytes.addAndGet(-entry.bytes);
+            if (entry.inFlight) {
+                entry.inFlight = false;
+                segment.inFlight--;
+            }
+        }
+    }
+
+    private static long estimateBytes(String scopedKey, ProcessResponse response) {
+        return ENTRY_OVERHEAD_BYTES
+                + length(scopedKey) + length(response.getRequestId()) + length(response.getOriginalType())
+                + length(response.getOriginalMessage()) + length(response.getComputedOutput())
+                + length(response.getProcessedBy()) + length(response.getInstanceInfo())
+                + length(response.getTimestamp()) + length(response.getClientCertSubject())
+                + length(response.getClientCertSerial());
+    }
+
+    private static long length(String value) {
+        return value != null ? 24 + value.length() : 0;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        /** Entries in the map whose computation has not completed yet. */
+        int inFlight;
+    }
+
+    private static final class Entry {
+        final String type;
+        final String message;
+        final double amount;
+        final long createdNanos;
+        final CompletableFuture<ProcessResponse> result = new CompletableFuture<>();
+        long bytes;
+        /** Guarded by the segment lock; cleared when the response is stored or the entry removed. */
+        boolean inFlight = true;
+
+        Entry(ProcessRequest request, long createdNanos) {
+            this.type = request.getType();
+            this.message = request.getMessage();
+            this.amount = request.getAmount();
+            this.createdNanos = createdNanos;
+        }
+
+        boolean matches(ProcessRequest request) {
+            return Objects.equals(type, request.getType())
+                    && Objects.equals(message, request.getMessage())
+                    && Double.compare(amount, request.getAmount()) == 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.netflix.oss.stack.backend.idempotency;
+
+/**
+ * An Idempotency-Key was reused with a different request body.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
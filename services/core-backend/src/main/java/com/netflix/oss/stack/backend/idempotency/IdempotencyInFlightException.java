@@ -0,0 +1,12 @@
+package com.netflix.oss.stack.backend.idempotency;
+
+/**
+ * The request that first used an Idempotency-Key is still running and did not
+ * finish within the time a duplicate may wait for it.
+ */
+public class IdempotencyInFlightException extends RuntimeException {
+
+    public IdempotencyInFlightException(String key) {
+        super("Request with Idempotency-Key " + key + " is still in flight");
+    }
+}
@@ -0,0 +1,33 @@
+package com.netflix.oss.stack.backend.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Replay cache for requests carrying an Idempotency-Key header. max-entries is
+ * split evenly across segments; entries older than ttl-seconds are never replayed.
+ * A duplicate waits for an in-flight original at most max-wait-ms (or until its
+ * own deadline, if sooner).
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private int segments = 16;
+    private int maxEntries = 10_000;
+    private long ttlSeconds = 600;
+    private int maxKeyLength = 128;
+    private long maxWaitMs = 5_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getSegments() { return segments; }
+    public void setSegments(int segments) { this.segments = segments; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    public int getMaxKeyLength() { return maxKeyLength; }
+    public void setMaxKeyLength(int maxKeyLength) { this.maxKeyLength = maxKeyLength; }
+    public long getMaxWaitMs() { return maxWaitMs; }
+    public void setMaxWaitMs(long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+}
@@ -0,0 +1,69 @@
+package com.netflix.oss.stack.backend.jobs;
+
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.Deadline;
+
+import java.time.Instant;
+
+/**
+ * A queued unit of async work. Ordered by priority rank, then submission order.
+ */
+class Job implements Comparable<Job> {
+
+    enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    final String id;
+    final int priority;
+    final long sequence;
+    final ProcessRequest request;
+    final String clientSubject;
+    final String clientSerial;
+    final String callbackUrl;
+    /** End of the job's queueing budget (null when unbounded); the job is not started after it. */
+    final Deadline deadline;
+    final Instant submittedAt = Instant.now();
+    final long enqueuedNanos = System.nanoTime();
+
+    volatile State state = State.QUEUED;
+    volatile Instant startedAt;
+    volatile Instant completedAt;
+    volatile ProcessResponse result;
+    volatile String error;
+
+    Job(String id, int priority, long sequence, ProcessRequest request,
+        String clientSubject, String clientSerial, String callbackUrl, Deadline deadline) {
+        this.id = id;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.request = request;
+        this.clientSubject = clientSubject;
+        this.clientSerial = clientSerial;
+        this.callbackUrl = callbackUrl;
+        this.deadline = deadline;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    @Override
+    public int compareTo(Job other) {
+        int byPriority = Integer.compare(priority, other.priority);
+        return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+
+    JobStatus toStatus() {
+        return JobStatus.builder()
+                .jobId(id)
+                .status(state.name())
+                .type(request.getType())
+                .submittedAt(submittedAt.toString())
+                .startedAt(startedAt != null ? startedAt.toString() : null)
+                .completedAt(completedAt != null ? completedAt.toString() : null)
+                .result(result)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.netflix.oss.stack.backend.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Async job settings. Priorities map request types to a rank where lower runs
+ * first; unlisted types use default-priority. X-Callback-Url is only accepted
+ * for hosts listed in callback-hosts (none by default, so callers poll).
+ * A job not picked up within max-queue-wait-ms fails unprocessed; 0 waits indefinitely.
+ */
+@ConfigurationProperties(prefix = "jobs")
+public class JobProperties {
+
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 256;
+    private long maxQueueWaitMs = 30_000;
+    private long retentionSeconds = 300;
+    private int maxRetained = 10_000;
+    private int defaultPriority = 100;
+    private Map<String, Integer> priorities = new LinkedHashMap<>();
+    private int callbackTimeoutMs = 2000;
+    private List<String> callbackHosts = new ArrayList<>();
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public long getMaxQueueWaitMs() { return maxQueueWaitMs; }
+    public void setMaxQueueWaitMs(long maxQueueWaitMs) { this.maxQueueWaitMs = maxQueueWaitMs; }
+    public long getRetentionSeconds() { return retentionSeconds; }
+    public void setRetentionSeconds(long retentionSeconds) { this.retentionSeconds = retentionSeconds; }
+    public int getMaxRetained() { return maxRetained; }
+    public void setMaxRetained(int maxRetained) { this.maxRetained = maxRetained; }
+    public int getDefaultPriority() { return defaultPriority; }
+    public void setDefaultPriority(int defaultPriority) { this.defaultPriority = defaultPriority; }
+    public Map<String, Integer> getPriorities() { return priorities; }
+    public void setPriorities(Map<String, Integer> priorities) { this.priorities = priorities; }
+    public int getCallbackTimeoutMs() { return callbackTimeoutMs; }
+    public void setCallbackTimeoutMs(int callbackTimeoutMs) { this.callbackTimeoutMs = callbackTimeoutMs; }
+    public List<String> getCallbackHosts() { return callbackHosts; }
+    public void setCallbackHosts(List<String> callbackHosts) { this.callbackHosts = callbackHosts; }
+}
@@ -0,0 +1,230 @@
+package com.netflix.oss.stack.backend.jobs;
+
+import com.netflix.oss.stack.backend.service.ProcessService;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.deadline.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs async process requests on a fixed, core-sized worker pool.
+ * The queue is ordered by type priority and bounded by jobs.queue-capacity;
+ * submissions beyond that are rejected immediately instead of piling up.
+ * Workers go through the same deadline check and per-type aggregates as the
+ * sync endpoint, against the job's own budget rather than the submitter's
+ * deadline: a job still queued after jobs.max-queue-wait-ms fails without
+ * being processed.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private final ProcessService processService;
+    private final JobProperties properties;
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService callbacks;
+    private final ScheduledExecutorService housekeeping;
+    private final RestTemplate callbackTemplate;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+    private final Counter rejectedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    public JobService(ProcessService processService, JobProperties properties, MeterRegistry meterRegistry) {
+        this.processService = processService;
+        this.properties = properties;
+
+        int workerCount = Math.max(1, properties.getWorkers());
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new CustomizableThreadFactory("job-worker-"));
+        this.callbacks = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("job-callback-"));
+        this.housekeeping = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("job-housekeeping-"));
+        this.housekeeping.scheduleAtFixedRate(this::evictExpired, 30, 30, TimeUnit.SECONDS);
+
+        // Redirects are not followed, so an allowed host cannot bounce the callback elsewhere
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory() {
+            @Override
+            protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+                super.prepareConnection(connection, httpMethod);
+                connection.setInstanceFollowRedirects(false);
+            }
+        };
+        requestFactory.setConnectTimeout(properties.getCallbackTimeoutMs());
+        requestFactory.setReadTimeout(properties.getCallbackTimeoutMs());
+        this.callbackTemplate = new RestTemplate(requestFactory);
+
+        Gauge.builder("backend.jobs.queue.depth", queued, AtomicInteger::get)
+                .description("Jobs waiting for a worker").register(meterRegistry);
+        Gauge.builder("backend.jobs.active", running, AtomicInteger::get)
+                .description("Jobs currently executing").register(meterRegistry);
+        Gauge.builder("backend.jobs.retained", jobs, Map::size)
+                .description("Job records held for status polling").register(meterRegistry);
+        this.waitTimer = Timer.builder("backend.jobs.wait")
+                .description("Time from submission until a worker picks the job up")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.executionTimer = Timer.builder("backend.jobs.execution").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("backend.jobs.rejected")
+                .description("Submissions rejected because the queue was full").register(meterRegistry);
+        this.completedCounter = Counter.builder("backend.jobs.finished").tag("outcome", "completed").register(meterRegistry);
+        this.failedCounter = Counter.builder("backend.jobs.finished").tag("outcome", "failed").register(meterRegistry);
+
+        logger.info("Async job pool started with {} workers, queue capacity {}", workerCount, properties.getQueueCapacity());
+    }
+
+    /**
+     * Queues the request or throws {@link RejectedExecutionException} when the queue is full.
+     */
+    public JobStatus submit(ProcessRequest request, String clientSubject, String clientSerial, String callbackUrl) {
+        if (queued.incrementAndGet() > properties.getQueueCapacity()
+                || jobs.size() >= properties.getMaxRetained()) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("Job queue is full");
+        }
+
+        int priority = properties.getPriorities().getOrDefault(request.getType(), properties.getDefaultPriority());
+        Job job = new Job(UUID.randomUUID().toString(), priority, sequence.incrementAndGet(),
+                request, clientSubject, clientSerial, callbackUrl,
+                properties.getMaxQueueWaitMs() > 0 ? Deadline.after(properties.getMaxQueueWaitMs()) : null);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(new JobTask(job));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            jobs.remove(job.id);
+            rejectedCounter.increment();
+            throw e;
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * True for an http(s) URL without user info whose host is listed in
+     * jobs.callback-hosts; anything else would let callers make the backend
+     * POST into its own network.
+     */
+    public boolean isCallbackAllowed(String callbackUrl) {
+        try {
+            URI uri = new URI(callbackUrl);
+            return ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))
+                    && uri.getHost() != null && uri.getRawUserInfo() == null
+                    && properties.getCallbackHosts().stream().anyMatch(uri.getHost()::equalsIgnoreCase);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * The job's status for the client that submitted it; other clients, and
+     * callers without a certificate serial, get nothing, as if the job did not exist.
+     */
+    public Optional<JobStatus> status(String jobId, String clientSerial) {
+        Job job = jobs.get(jobId);
+        return job != null && clientSerial != null && clientSerial.equals(job.clientSerial)
+                ? Optional.of(job.toStatus()) : Optional.empty();
+    }
+
+    private void execute(Job job) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        waitTimer.record(System.nanoTime() - job.enqueuedNanos, TimeUnit.NANOSECONDS);
+        job.startedAt = Instant.now();
+        job.state = Job.State.RUNNING;
+
+        long start = System.nanoTime();
+        try {
+            job.result = processService.processInTime(job.request, job.clientSubject, job.clientSerial,
+                    FieldSet.ALL, job.deadline);
+            job.state = Job.State.COMPLETED;
+            completedCounter.increment();
+        } catch (Exception e) {
+            logger.error("Job {} failed: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            job.state = Job.State.FAILED;
+            failedCounter.increment();
+        } finally {
+            job.completedAt = Instant.now();
+            executionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.decrementAndGet();
+        }
+
+        if (job.callbackUrl != null) {
+            callbacks.execute(() -> notifyCallback(job));
+        }
+    }
+
+    private void notifyCallback(Job job) {
+        try {
+            callbackTemplate.postForLocation(job.callbackUrl, job.toStatus());
+        } catch (Exception e) {
+            logger.warn("Callback for job {} to {} failed: {}", job.id, job.callbackUrl, e.getMessage());
+        }
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minusSeconds(properties.getRetentionSeconds());
+        jobs.values().removeIf(job -> job.isFinished() && job.completedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        housekeeping.shutdownNow();
+        workers.shutdown();
+        callbacks.shutdown();
+    }
+
+    private final class JobTask implements Runnable, Comparable<JobTask> {
+        private final Job job;
+
+        JobTask(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            execute(job);
+        }
+
+        @Override
+        public int compareTo(JobTask other) {
+            return job.compareTo(other.job);
+        }
+    }
+}
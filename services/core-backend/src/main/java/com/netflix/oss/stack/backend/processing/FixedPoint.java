@@ -0,0 +1,79 @@
+package com.netflix.oss.stack.backend.processing;
+
+/**
+ * Fixed-point helpers for amounts held as longs in minor units (hundredths).
+ * Amounts are rounded to minor units once at the boundary; all fee arithmetic
+ * after that is exact integer math. Only finite amounts up to {@link #MAX_AMOUNT}
+ * in magnitude are accepted, which keeps every cent representable in the double.
+ */
+public final class FixedPoint {
+
+    public static final long SCALE = 100;
+    public static final long BASIS_POINTS = 10_000;
+    public static final double MAX_AMOUNT = 1e13;
+
+    private FixedPoint() {}
+
+    public static boolean isInRange(double amount) {
+        return Math.abs(amount) <= MAX_AMOUNT;
+    }
+
+    /**
+     * @throws IllegalArgumentException for NaN, infinities and amounts beyond {@link #MAX_AMOUNT}
+     */
+    public static long toMinorUnits(double amount) {
+        if (!isInRange(amount)) {
+            throw new IllegalArgumentException("Amount " + amount + " is outside +/-" + MAX_AMOUNT);
+        }
+        return Math.round(amount * SCALE);
+    }
+
+    public static double toDouble(long minorUnits) {
+        return minorUnits / (double) SCALE;
+    }
+
+    /**
+     * Scales an amount by (1 + bps / 10000), rounding half away from zero.
+     * The whole multiples of 10000 are scaled exactly and only the remainder is
+     * rounded, so the product never needs more than the result's own range.
+     *
+     * @throws IllegalArgumentException when the result does not fit in a long
+     */
+    public static long applyBasisPoints(long minorUnits, long bps) {
+        long factor = BASIS_POINTS + bps;
+        try {
+            return Math.addExact(Math.multiplyExact(minorUnits / BASIS_POINTS, factor),
+                    divideHalfUp(Math.multiplyExact(minorUnits % BASIS_POINTS, factor), BASIS_POINTS));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + minorUnits + " scaled by " + bps + " bps overflows", e);
+        }
+    }
+
+    static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+
+    /**
+     * Appends the amount with exactly two decimals, same as {@code %.2f}.
+     * The sign is split off after dividing, since Long.MIN_VALUE has no positive counterpart.
+     */
+    public static StringBuilder append(StringBuilder sb, long minorUnits) {
+        long whole = minorUnits / SCALE;
+        long fraction = minorUnits % SCALE;
+        if (minorUnits < 0) {
+            sb.append('-');
+            whole = -whole;
+            fraction = -fraction;
+        }
+        sb.append(whole).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflix.oss.stack.backend.processing;
+
+/**
+ * Adds a fee expressed in basis points (1000 bps = 10%).
+ */
+public class PercentageFeeProcessor implements TypeProcessor {
+
+    private final String type;
+    private final long feeBps;
+
+    public PercentageFeeProcessor(String type, long feeBps) {
+        this.type = type;
+        this.feeBps = feeBps;
+    }
+
+    @Override
+    public String type() {
+        return type;
+    }
+
+    @Override
+    public long process(long amountMinorUnits) {
+        return FixedPoint.applyBasisPoints(amountMinorUnits, feeBps);
+    }
+
+    public long getFeeBps() {
+        return feeBps;
+    }
+}
@@ -0,0 +1,71 @@
+package com.netflix.oss.stack.backend.processing;
+
+import com.netflix.oss.stack.contract.ProcessRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the fee rule for a request type and formats the computed output.
+ * Processors from processing.fee-bps and from {@link TypeProcessor} beans are
+ * resolved once at startup into an immutable lookup table.
+ */
+@Service
+public class ProcessingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingEngine.class);
+
+    private final Map<String, TypeProcessor> processors;
+    private final TypeProcessor defaultProcessor;
+
+    public ProcessingEngine(ObjectProvider<TypeProcessor> registeredProcessors, ProcessingProperties properties) {
+        Map<String, TypeProcessor> table = new HashMap<>();
+        properties.getFeeBps().forEach((type, bps) -> register(table, new PercentageFeeProcessor(type, bps)));
+        registeredProcessors.orderedStream().forEach(processor -> register(table, processor));
+
+        this.processors = Map.copyOf(table);
+        this.defaultProcessor = new PercentageFeeProcessor("default", properties.getDefaultFeeBps());
+
+        logger.info("Processing engine initialized with types {} (default fee {} bps)",
+                processors.keySet(), properties.getDefaultFeeBps());
+    }
+
+    private static void register(Map<String, TypeProcessor> table, TypeProcessor processor) {
+        TypeProcessor existing = table.putIfAbsent(processor.type(), processor);
+        if (existing != null) {
+            throw new IllegalStateException("Duplicate processor for type '" + processor.type() + "': "
+                    + existing.getClass().getName() + " and " + processor.getClass().getName());
+        }
+    }
+
+    public TypeProcessor resolve(String type) {
+        if (type == null) {
+            return defaultProcessor;
+        }
+        return processors.getOrDefault(type, defaultProcessor);
+    }
+
+    public String computeOutput(ProcessRequest request) {
+        long amount = FixedPoint.toMinorUnits(request.getAmount());
+        long processedAmount = resolve(request.getType()).process(amount);
+        return formatOutput(request, amount, processedAmount);
+    }
+
+    static String formatOutput(ProcessRequest request, long amount, long processedAmount) {
+        String type = request.getType();
+        String message = request.getMessage();
+        StringBuilder sb = new StringBuilder(80
+                + (type != null ? type.length() : 4)
+                + (message != null ? message.length() : 4));
+        sb.append("Processed ").append(type)
+                .append(" request: '").append(message)
+                .append("' with amount ");
+        FixedPoint.append(sb, amount).append(" (processed: ");
+        FixedPoint.append(sb, processedAmount).append(')');
+        return sb.toString();
+    }
+}
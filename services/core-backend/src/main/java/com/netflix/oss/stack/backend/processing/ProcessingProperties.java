@@ -0,0 +1,22 @@
+package com.netflix.oss.stack.backend.processing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fee configuration: processing.default-fee-bps applies to unregistered types,
+ * processing.fee-bps.&lt;type&gt; registers a percentage fee for a type.
+ */
+@ConfigurationProperties(prefix = "processing")
+public class ProcessingProperties {
+
+    private long defaultFeeBps = 1000;
+    private Map<String, Long> feeBps = new LinkedHashMap<>();
+
+    public long getDefaultFeeBps() { return defaultFeeBps; }
+    public void setDefaultFeeBps(long defaultFeeBps) { this.defaultFeeBps = defaultFeeBps; }
+    public Map<String, Long> getFeeBps() { return feeBps; }
+    public void setFeeBps(Map<String, Long> feeBps) { this.feeBps = feeBps; }
+}
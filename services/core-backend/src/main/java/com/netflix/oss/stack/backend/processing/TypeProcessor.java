@@ -0,0 +1,18 @@
+package com.netflix.oss.stack.backend.processing;
+
+/**
+ * Fee rule for one request type.
+ * Declare an implementation as a Spring bean to register it with the {@link ProcessingEngine}.
+ */
+public interface TypeProcessor {
+
+    /**
+     * Request type handled by this processor, matched exactly.
+     */
+    String type();
+
+    /**
+     * Returns the processed amount in minor units.
+     */
+    long process(long amountMinorUnits);
+}
@@ -0,0 +1,95 @@
+package com.netflix.oss.stack.backend.service;
+
+import com.netflix.oss.stack.backend.analytics.TypeAggregator;
+import com.netflix.oss.stack.backend.audit.AuditJournal;
+import com.netflix.oss.stack.backend.processing.ProcessingEngine;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.Deadline;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Builds the {@link ProcessResponse} for a request; shared by the synchronous
+ * endpoint and the async job workers.
+ */
+@Service
+public class ProcessService {
+
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    private final ProcessingEngine processingEngine;
+    private final AuditJournal auditJournal;
+    private final DeadlineGuard deadlineGuard;
+    private final TypeAggregator typeAggregator;
+
+    public ProcessService(ProcessingEngine processingEngine, AuditJournal auditJournal,
+                          DeadlineGuard deadlineGuard, TypeAggregator typeAggregator) {
+        this.processingEngine = processingEngine;
+        this.auditJournal = auditJournal;
+        this.deadlineGuard = deadlineGuard;
+        this.typeAggregator = typeAggregator;
+    }
+
+    /**
+     * Processes a request for the sync endpoint or a job worker: skipped with
+     * {@link com.netflix.oss.stack.deadline.DeadlineExceededException} when the
+     * caller's deadline has passed by the time it would start, and added to the
+     * per-type aggregates at /actuator/analytics once processed.
+     */
+    public ProcessResponse processInTime(ProcessRequest request, String clientSubject, String clientSerial,
+                                         FieldSet fields, Deadline deadline) {
+        deadlineGuard.check(deadline, DeadlineMetrics.QUEUED, "processing");
+        long start = System.nanoTime();
+        ProcessResponse response = process(request, clientSubject, clientSerial, fields);
+        typeAggregator.record(request.getType(), request.getAmount(), System.nanoTime() - start);
+        return response;
+    }
+
+    public ProcessResponse process(ProcessRequest request, String clientSubject, String clientSerial) {
+        return process(request, clientSubject, clientSerial, FieldSet.ALL);
+    }
+
+    /**
+     * Leaves out the output and host lookup when the caller's projection does not
+     * ask for them; the fields the audit journal needs are always filled in.
+     */
+    public ProcessResponse process(ProcessRequest request, String clientSubject, String clientSerial,
+                                   FieldSet fields) {
+        String instanceInfo = null;
+        if (fields.includes(FieldSet.INSTANCE_INFO)) {
+            try {
+                instanceInfo = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                instanceInfo = "unknown";
+            }
+        }
+
+        // Process the request - compute some output based on input
+        String computedOutput = fields.includes(FieldSet.COMPUTED_OUTPUT) ? processingEngine.computeOutput(request) : null;
+
+        ProcessResponse response = ProcessResponse.builder()
+                .requestId(UUID.randomUUID().toString())
+                .originalType(request.getType())
+                .originalMessage(request.getMessage())
+                .originalAmount(request.getAmount())
+                .computedOutput(computedOutput)
+                .processedBy(applicationName)
+                .instanceInfo(instanceInfo)
+                .timestamp(Instant.now().toString())
+                .clientCertSubject(clientSubject)
+                .clientCertSerial(clientSerial)
+                .fields(fields)
+                .build();
+        auditJournal.record(response);
+        return response;
+    }
+}
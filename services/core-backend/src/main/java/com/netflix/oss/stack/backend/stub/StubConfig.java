@@ -0,0 +1,31 @@
+package com.netflix.oss.stack.backend.stub;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the stub in front of /backend/process when backend.stub.enabled is
+ * true. It runs after response compression so callers see the same encoding.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "backend.stub", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(StubProperties.class)
+public class StubConfig {
+
+    @Bean
+    public FilterRegistrationBean<StubProcessFilter> stubProcessFilter(
+            StubProperties stubProperties, MeterRegistry meterRegistry,
+            @Value("${spring.application.name}") String applicationName) {
+        FilterRegistrationBean<StubProcessFilter> registration = new FilterRegistrationBean<>(
+                new StubProcessFilter(stubProperties, meterRegistry, applicationName));
+        registration.addUrlPatterns("/backend/process");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,95 @@
+package com.netflix.oss.stack.backend.stub;
+
+import com.netflix.oss.stack.contract.ContractCodecs;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Answers synchronous POST /backend/process without processing, idempotency or
+ * auditing: waits the configured latency, then either fails with the configured
+ * status or returns a canned response of the usual shape. Async requests go
+ * through to the real endpoint.
+ */
+public class StubProcessFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubProcessFilter.class);
+
+    private final StubProperties properties;
+    private final String processedBy;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public StubProcessFilter(StubProperties properties, MeterRegistry meterRegistry, String applicationName) {
+        this.properties = properties;
+        this.processedBy = applicationName + "-stub";
+        this.succeeded = Counter.builder("backend.stub.requests").tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder("backend.stub.requests").tag("outcome", "error").register(meterRegistry);
+        logger.warn("core-backend in stub mode: /backend/process answers after {}ms + 0..{}ms, error rate {} ({})",
+                properties.getLatencyMs(), properties.getJitterMs(), properties.getErrorRate(),
+                properties.getErrorStatus());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || "true".equals(request.getParameter("async"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ProcessRequest processRequest = ContractCodecs.PROCESS_REQUEST_READER.readValue(request.getInputStream());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = properties.getLatencyMs();
+        if (properties.getJitterMs() > 0) {
+            delay += random.nextLong(properties.getJitterMs() + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (properties.getErrorRate() > 0 && random.nextDouble() < properties.getErrorRate()) {
+            failed.increment();
+            response.sendError(properties.getErrorStatus(), "Injected stub error");
+            return;
+        }
+
+        ProcessResponse body = ProcessResponse.builder()
+                .requestId(UUID.randomUUID().toString())
+                .originalType(processRequest.getType())
+                .originalMessage(processRequest.getMessage())
+                .originalAmount(processRequest.getAmount())
+                .computedOutput("Stubbed " + processRequest.getType() + " request")
+                .processedBy(processedBy)
+                .instanceInfo("stub")
+                .timestamp(Instant.now().toString())
+                .clientCertSubject(request.getHeader("X-Client-Subject"))
+                .clientCertSerial(request.getHeader("X-Client-Serial"))
+                .fields(FieldSet.parse(request.getHeader(FieldSet.HEADER)))
+                .build();
+        succeeded.increment();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ContractCodecs.PROCESS_RESPONSE_WRITER.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflix.oss.stack.backend.stub;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stub mode for load tests: /backend/process answers after latency-ms plus a
+ * uniformly random 0..jitter-ms, and fails a fraction error-rate (0..1) of the
+ * requests with error-status.
+ */
+@ConfigurationProperties(prefix = "backend.stub")
+public class StubProperties {
+
+    private boolean enabled = false;
+    private long latencyMs = 0;
+    private long jitterMs = 0;
+    private double errorRate = 0;
+    private int errorStatus = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getLatencyMs() { return latencyMs; }
+    public void setLatencyMs(long latencyMs) { this.latencyMs = latencyMs; }
+    public long getJitterMs() { return jitterMs; }
+    public void setJitterMs(long jitterMs) { this.jitterMs = jitterMs; }
+    public double getErrorRate() { return errorRate; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+    public int getErrorStatus() { return errorStatus; }
+    public void setErrorStatus(int errorStatus) { this.errorStatus = errorStatus; }
+}
@@ -0,0 +1,106 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side of the two-JVM handshake benchmark: every invocation opens a new
+ * mTLS connection to a running middleware and completes the handshake. With
+ * reuseSessions=true the client keeps its session cache (tickets/IDs) so the
+ * server can resume; with false each connection starts from a fresh context.
+ * Driven by scripts/tls/handshake_benchmark.sh, which also reads the server's
+ * full vs. resumed counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TlsHandshakeBenchmark {
+
+    @Param({"true", "false"})
+    public boolean reuseSessions;
+
+    private String host;
+    private int port;
+    private SSLContext sslContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        host = env("TLS_BENCH_HOST", "localhost");
+        port = Integer.parseInt(env("TLS_BENCH_PORT", "8443"));
+        sslContext = newContext();
+    }
+
+    @Setup(Level.Invocation)
+    public void freshContext() throws Exception {
+        if (!reuseSessions) {
+            sslContext = newContext();
+        }
+    }
+
+    /**
+     * Handshake plus one request: under TLS 1.3 the server's session ticket
+     * arrives after the handshake and is only stored once the client reads.
+     */
+    @Benchmark
+    public int handshake() throws Exception {
+        try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory().createSocket(host, port)) {
+            socket.startHandshake();
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /middleware/health HTTP/1.1\r\nHost: " + host + "\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return socket.getInputStream().readAllBytes().length;
+        }
+    }
+
+    private static SSLContext newContext() throws Exception {
+        char[] password = env("TLS_BENCH_PASSWORD", "changeit").toCharArray();
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(env("TLS_BENCH_KEYSTORE", "client-keystore.p12"))) {
+            keyStore.load(in, password);
+        }
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(env("TLS_BENCH_TRUSTSTORE", "client-truststore.p12"))) {
+            trustStore.load(in, password);
+        }
+
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, password);
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trustStore);
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+        return context;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,47 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one client certificate.
+ */
+final class ClientStats {
+
+    final String serial;
+    final String subject;
+
+    final LongAdder requests = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder bytesIn = new LongAdder();
+    final LongAdder bytesOut = new LongAdder();
+    final LatencyHistogram latency = new LatencyHistogram();
+
+    ClientStats(String serial, String subject) {
+        this.serial = serial;
+        this.subject = subject;
+    }
+
+    void record(long requestBytes, long responseBytes, long nanos, boolean error) {
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        bytesIn.add(requestBytes);
+        bytesOut.add(responseBytes);
+        latency.record(nanos);
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("serial", serial);
+        result.put("subject", subject);
+        result.put("requests", requests.sum());
+        result.put("errors", errors.sum());
+        result.put("bytesIn", bytesIn.sum());
+        result.put("bytesOut", bytesOut.sum());
+        result.put("latency", latency.snapshot());
+        return result;
+    }
+}
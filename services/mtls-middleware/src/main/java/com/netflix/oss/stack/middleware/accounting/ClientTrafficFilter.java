@@ -0,0 +1,172 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.cert.X509Certificate;
+
+/**
+ * Attributes every /middleware request to the client certificate that sent it,
+ * counting body bytes in both directions and the time spent in the handler.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class ClientTrafficFilter extends OncePerRequestFilter {
+
+    private final ClientTrafficRecorder recorder;
+    private final boolean enabled;
+
+    public ClientTrafficFilter(ClientTrafficRecorder recorder,
+                               @Value("${middleware.accounting.enabled:true}") boolean enabled) {
+        this.recorder = recorder;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/middleware/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        X509Certificate[] certs = (X509Certificate[]) request.getAttribute("jakarta.servlet.request.X509Certificate");
+        if (certs == null || certs.length == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CountingRequest countingRequest = new CountingRequest(request);
+        CountingResponse countingResponse = new CountingResponse(response);
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            chain.doFilter(countingRequest, countingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            countingResponse.flushWriter();
+            X509Certificate clientCert = certs[0];
+            recorder.record(clientCert.getSerialNumber().toString(16).toUpperCase(),
+                    clientCert.getSubjectX500Principal().getName(),
+                    countingRequest.bytes, countingResponse.bytes, System.nanoTime() - start,
+                    failed || response.getStatus() >= 400);
+        }
+    }
+
+    private static final class CountingRequest extends HttpServletRequestWrapper {
+        long bytes;
+        private ServletInputStream stream;
+
+        CountingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                stream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = delegate.read(buffer, offset, length);
+                        if (n > 0) {
+                            bytes += n;
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() { return delegate.isFinished(); }
+
+                    @Override
+                    public boolean isReady() { return delegate.isReady(); }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) { delegate.setReadListener(listener); }
+                };
+            }
+            return stream;
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        long bytes;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] buffer, int offset, int length) throws IOException {
+                        delegate.write(buffer, offset, length);
+                        bytes += length;
+                    }
+
+                    @Override
+                    public void flush() throws IOException { delegate.flush(); }
+
+                    @Override
+                    public boolean isReady() { return delegate.isReady(); }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) { delegate.setWriteListener(listener); }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client traffic totals keyed by certificate serial, plus a heavy-hitter
+ * sketch over request counts. The per-client map is capped; once full, traffic
+ * from unseen serials is folded into a shared overflow entry while the sketch
+ * keeps ranking every client in constant memory.
+ */
+@Component
+public class ClientTrafficRecorder {
+
+    static final String OVERFLOW_SERIAL = "_overflow";
+
+    private static final long TOP_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxClients;
+    private final int topK;
+    private final Map<String, ClientStats> clients = new ConcurrentHashMap<>();
+    private final ClientStats overflow = new ClientStats(OVERFLOW_SERIAL, "Clients beyond middleware.accounting.max-clients");
+    private final SpaceSavingSketch heavyHitters;
+    private final AtomicLong topRefreshedAt = new AtomicLong(System.nanoTime() - TOP_REFRESH_NANOS);
+    private volatile Set<String> topSerials = Set.of();
+
+    public ClientTrafficRecorder(@Value("${middleware.accounting.max-clients:10000}") int maxClients,
+                                 @Value("${middleware.accounting.top-k:20}") int topK,
+                                 @Value("${middleware.accounting.sketch-capacity:200}") int sketchCapacity) {
+        this.maxClients = maxClients;
+        this.topK = topK;
+        this.heavyHitters = new SpaceSavingSketch(Math.max(topK, sketchCapacity));
+    }
+
+    public void record(String serial, String subject, long requestBytes, long responseBytes, long nanos, boolean error) {
+        ClientStats stats = clients.get(serial);
+        if (stats == null) {
+            stats = clients.size() < maxClients
+                    ? clients.computeIfAbsent(serial, key -> new ClientStats(key, subject))
+                    : overflow;
+        }
+        stats.record(requestBytes, responseBytes, nanos, error);
+        heavyHitters.offer(serial);
+    }
+
+    /**
+     * Whether the serial is among the sketch's top-k clients, from a set rebuilt at
+     * most once a second, so metric tags can stay bounded without a per-request merge.
+     */
+    public boolean isTopClient(String serial) {
+        long now = System.nanoTime();
+        long refreshedAt = topRefreshedAt.get();
+        if (now - refreshedAt >= TOP_REFRESH_NANOS && topRefreshedAt.compareAndSet(refreshedAt, now)) {
+            Set<String> serials = new HashSet<>();
+            for (SpaceSavingSketch.Estimate estimate : heavyHitters.top(topK)) {
+                serials.add(estimate.key());
+            }
+            topSerials = serials;
+        }
+        return topSerials.contains(serial);
+    }
+
+    public Map<String, Object> summary() {
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (SpaceSavingSketch.Estimate estimate : heavyHitters.top(topK)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("serial", estimate.key());
+            entry.put("estimatedRequests", estimate.count());
+            entry.put("maxOvercount", estimate.error());
+            ClientStats stats = clients.get(estimate.key());
+            if (stats != null) {
+                entry.put("stats", stats.snapshot());
+            }
+            top.add(entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalRequests", heavyHitters.total());
+        result.put("trackedClients", clients.size());
+        result.put("maxClients", maxClients);
+        result.put("sketchCapacity", heavyHitters.capacity());
+        result.put("topClients", top);
+        if (overflow.requests.sum() > 0) {
+            result.put("overflow", overflow.snapshot());
+        }
+        return result;
+    }
+
+    public Map<String, Object> client(String serial) {
+        ClientStats stats = OVERFLOW_SERIAL.equals(serial) ? overflow : clients.get(serial.toUpperCase());
+        return stats != null ? stats.snapshot() : null;
+    }
+}
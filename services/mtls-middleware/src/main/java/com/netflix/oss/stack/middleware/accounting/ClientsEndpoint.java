@@ -0,0 +1,33 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/clients lists the heaviest client certificates;
+ * /actuator/clients/{serial} shows one client's totals and latency histogram.
+ */
+@Component
+@Endpoint(id = "clients")
+public class ClientsEndpoint {
+
+    private final ClientTrafficRecorder recorder;
+
+    public ClientsEndpoint(ClientTrafficRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> clients() {
+        return recorder.summary();
+    }
+
+    @ReadOperation
+    public Map<String, Object> client(@Selector String serial) {
+        return recorder.client(serial);
+    }
+}
@@ -0,0 +1,72 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram backed by striped counters, so concurrent
+ * requests from the same client never contend on a single cache line.
+ */
+final class LatencyHistogram {
+
+    /** Upper bounds in milliseconds; the last bucket is unbounded. */
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MS.length && millis >= BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            histogram.put(i < BOUNDS_MS.length ? "lt" + BOUNDS_MS[i] + "ms" : "ge" + BOUNDS_MS[BOUNDS_MS.length - 1] + "ms", counts[i]);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("meanMs", total > 0 ? totalNanos.sum() / 1_000_000.0 / total : 0.0);
+        result.put("p50UpperBoundMs", upperBound(counts, total, 0.50));
+        result.put("p99UpperBoundMs", upperBound(counts, total, 0.99));
+        result.put("buckets", histogram);
+        return result;
+    }
+
+    /** Bucket bound that contains the quantile; null when it falls in the open-ended bucket. */
+    private static Long upperBound(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BOUNDS_MS[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.netflix.oss.stack.middleware.accounting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Space-Saving heavy-hitter sketch (Metwally et al.) over a fixed number of slots.
+ * Any key whose true count exceeds total / capacity is guaranteed to be reported;
+ * each estimate overshoots the true count by at most its {@code error}.
+ * <p>
+ * Offers go to a per-thread stripe, so request threads never contend on one lock;
+ * stripes are merged only when read. Each stripe is a stream summary (slots grouped
+ * in buckets of equal count), making both increments and evictions O(1).
+ */
+final class SpaceSavingSketch {
+
+    record Estimate(String key, long count, long error) {}
+
+    private static final int MAX_STRIPES = 16;
+
+    private final int capacity;
+    private final StreamSummary[] stripes;
+    private final int mask;
+    private final LongAdder total = new LongAdder();
+
+    SpaceSavingSketch(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    SpaceSavingSketch(int capacity, int stripes) {
+        this.capacity = Math.max(1, capacity);
+        int size = Integer.highestOneBit(Math.max(1, Math.min(stripes, MAX_STRIPES)));
+        this.stripes = new StreamSummary[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new StreamSummary(this.capacity);
+        }
+        this.mask = size - 1;
+    }
+
+    void offer(String key) {
+        total.increment();
+        StreamSummary stripe = stripes[(int) (Thread.currentThread().getId() & mask)];
+        synchronized (stripe) {
+            stripe.offer(key);
+        }
+    }
+
+    /**
+     * Merges the stripes: a key missing from a full stripe may have been evicted
+     * there, so that stripe's minimum count is added to both its count and error.
+     */
+    List<Estimate> top(int limit) {
+        List<Map<String, long[]>> snapshots = new ArrayList<>(stripes.length);
+        long[] floors = new long[stripes.length];
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < stripes.length; i++) {
+            StreamSummary stripe = stripes[i];
+            synchronized (stripe) {
+                snapshots.add(stripe.snapshot());
+                floors[i] = stripe.floor();
+            }
+            keys.addAll(snapshots.get(i).keySet());
+        }
+
+        List<Estimate> estimates = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long count = 0;
+            long error = 0;
+            for (int i = 0; i < stripes.length; i++) {
+                long[] entry = snapshots.get(i).get(key);
+                if (entry != null) {
+                    count += entry[0];
+                    error += entry[1];
+                } else {
+                    count += floors[i];
+                    error += floors[i];
+                }
+            }
+            estimates.add(new Estimate(key, count, error));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate::count).reversed());
+        return estimates.subList(0, Math.min(limit, estimates.size()));
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /** One stripe; callers hold its monitor. */
+    private static final class StreamSummary {
+
+        private static final class Slot {
+            String key;
+            long error;
+            Bucket bucket;
+            Slot prev;
+            Slot next;
+        }
+
+        /** Slots sharing one count; buckets are linked in ascending count order. */
+        private static final class Bucket {
+            final long count;
+            Slot head;
+            Bucket prev;
+            Bucket next;
+
+            Bucket(long count) {
+                this.count = count;
+            }
+        }
+
+        private final int capacity;
+        private final Map<String, Slot> slots;
+        private Bucket min;
+
+        StreamSummary(int capacity) {
+            this.capacity = capacity;
+            this.slots = new HashMap<>(capacity * 2);
+        }
+
+        void offer(String key) {
+            Slot slot = slots.get(key);
+            if (slot != null) {
+                increment(slot);
+                return;
+            }
+            if (slots.size() < capacity) {
+                slot = new Slot();
+                slot.key = key;
+                if (min == null || min.count != 1) {
+                    Bucket first = new Bucket(1);
+                    first.next = min;
+                    if (min != null) {
+                        min.prev = first;
+                    }
+                    min = first;
+                }
+                attach(slot, min);
+                slots.put(key, slot);
+                return;
+            }
+            // Take over a slot with the minimum count; its count becomes the new key's error
+            slot = min.head;
+            slots.remove(slot.key);
+            slot.key = key;
+            slot.error = min.count;
+            slots.put(key, slot);
+            increment(slot);
+        }
+
+        /** The most a key not held here can have been counted; 0 until every slot is used. */
+        long floor() {
+            return slots.size() < capacity || min == null ? 0 : min.count;
+        }
+
+        Map<String, long[]> snapshot() {
+            Map<String, long[]> snapshot = new HashMap<>(slots.size() * 2);
+            for (Slot slot : slots.values()) {
+                snapshot.put(slot.key, new long[] {slot.bucket.count, slot.error});
+            }
+            return snapshot;
+        }
+
+        private void increment(Slot slot) {
+            Bucket from = slot.bucket;
+            long count = from.count + 1;
+            Bucket to = from.next;
+            if (to == null || to.count != count) {
+                to = new Bucket(count);
+                to.prev = from;
+                to.next = from.next;
+                if (from.next != null) {
+                    from.next.prev = to;
+                }
+                from.next = to;
+            }
+            detach(slot);
+            attach(slot, to);
+        }
+
+        private static void attach(Slot slot, Bucket bucket) {
+            slot.bucket = bucket;
+            slot.prev = null;
+            slot.next = bucket.head;
+            if (bucket.head != null) {
+                bucket.head.prev = slot;
+            }
+            bucket.head = slot;
+        }
+
+        private void detach(Slot slot) {
+            Bucket bucket = slot.bucket;
+            if (slot.prev != null) {
+                slot.prev.next = slot.next;
+            } else {
+                bucket.head = slot.next;
+            }
+            if (slot.next != null) {
+                slot.next.prev = slot.prev;
+            }
+            if (bucket.head == null) {
+                if (bucket.prev != null) {
+                    bucket.prev.next = bucket.next;
+                } else {
+                    min = bucket.next;
+                }
+                if (bucket.next != null) {
+                    bucket.next.prev = bucket.prev;
+                }
+            }
+        }
+    }
+}
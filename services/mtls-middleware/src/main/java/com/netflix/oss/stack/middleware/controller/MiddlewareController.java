@@ -1,15 +1,24 @@
 package com.netflix.oss.stack.middleware.controller;
 
-import com.netflix.oss.stack.middleware.model.MiddlewareRequest;
-import com.netflix.oss.stack.middleware.model.MiddlewareResponse;
-import com.netflix.oss.stack.middleware.service.BackendClient;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.middleware.service.BackendTransport;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.security.cert.X509Certificate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/middleware")
@@ -18,18 +27,69 @@ public class MiddlewareController {
     private static final Logger logger = LoggerFactory.getLogger(MiddlewareController.class);
 
     @Autowired
-    private BackendClient backendClient;
+    private BackendTransport backendTransport;
 
     @PostMapping("/process")
-    public MiddlewareResponse process(@RequestBody MiddlewareRequest request, HttpServletRequest httpRequest) {
+    public MiddlewareResponse process(@RequestBody ProcessRequest request, HttpServletRequest httpRequest,
+                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                      @RequestHeader(value = FieldSet.HEADER, required = false) String fieldsHeader) {
+        return process(request, clientCertificate(httpRequest), idempotencyKey, FieldSet.parse(fieldsHeader));
+    }
+
+    /**
+     * Async mode: queues the request as a core-backend job and answers 202 with the
+     * job to poll at /middleware/jobs/{jobId}, so no middleware thread waits for
+     * the processing. A full backend queue answers 503.
+     */
+    @PostMapping(value = "/process", params = "async=true")
+    public ResponseEntity<JobStatus> processAsync(@RequestBody ProcessRequest request, HttpServletRequest httpRequest) {
+        try {
+            JobStatus job = submit(request, clientCertificate(httpRequest));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/middleware/jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Backend rejected async request of type {}: {}", request.getType(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    /** A job submitted with this client certificate; 404 for unknown jobs and other clients' jobs. */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobStatus> jobStatus(@PathVariable String jobId, HttpServletRequest httpRequest) {
+        return ResponseEntity.of(jobStatus(jobId, clientCertificate(httpRequest)));
+    }
+
+    /** Async submission for a client already authenticated by the TLS handshake; used in-process too. */
+    public JobStatus submit(ProcessRequest request, X509Certificate clientCert) {
+        return backendTransport.submitToBackend(request, subject(clientCert), serial(clientCert));
+    }
+
+    /** Job lookup for a client already authenticated by the TLS handshake; used in-process too. */
+    public Optional<JobStatus> jobStatus(String jobId, X509Certificate clientCert) {
+        return backendTransport.jobStatus(jobId, serial(clientCert));
+    }
+
+    /**
+     * The endpoint's logic for a client already authenticated by the TLS handshake
+     * (null when it presented no certificate) and not revoked, which RevocationFilter
+     * checks; services/collocated calls it in-process.
+     * Without an Idempotency-Key from the caller one is generated here, the first hop
+     * for direct clients, so the backend call is safe to retry.
+     */
+    public MiddlewareResponse process(ProcessRequest request, X509Certificate clientCert,
+                                      String idempotencyKey, FieldSet fields) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            idempotencyKey = UUID.randomUUID().toString();
+        }
+
         // Extract client certificate information
         String clientSubject = "No client certificate";
         String clientSerial = "N/A";
 
-        X509Certificate[] certs = (X509Certificate[]) httpRequest.getAttribute("jakarta.servlet.request.X509Certificate");
-        
-        if (certs != null && certs.length > 0) {
-            X509Certificate clientCert = certs[0];
+        if (clientCert != null) {
             clientSubject = clientCert.getSubjectX500Principal().getName();
             clientSerial = clientCert.getSerialNumber().toString(16).toUpperCase();
             
@@ -44,8 +104,8 @@ public class MiddlewareController {
             logger.warn("No client certificate provided in the request");
         }
 
-        // Forward request to backend with certificate info in headers
-        var backendResponse = backendClient.forwardToBackend(request, clientSubject, clientSerial);
+        // Forward request to backend with certificate info, asking only for the projected fields
+        var backendResponse = backendTransport.forwardToBackend(request, clientSubject, clientSerial, idempotencyKey, fields);
 
         // Build middleware response with cert info
         return MiddlewareResponse.builder()
@@ -53,9 +113,23 @@ public class MiddlewareController {
                 .middlewareProcessed(true)
                 .clientCertSubject(clientSubject)
                 .clientCertSerial(clientSerial)
+                .fields(fields)
                 .build();
     }
 
+    private static X509Certificate clientCertificate(HttpServletRequest httpRequest) {
+        X509Certificate[] certs = (X509Certificate[]) httpRequest.getAttribute("jakarta.servlet.request.X509Certificate");
+        return certs != null && certs.length > 0 ? certs[0] : null;
+    }
+
+    private static String subject(X509Certificate clientCert) {
+        return clientCert != null ? clientCert.getSubjectX500Principal().getName() : "No client certificate";
+    }
+
+    private static String serial(X509Certificate clientCert) {
+        return clientCert != null ? clientCert.getSerialNumber().toString(16).toUpperCase() : "N/A";
+    }
+
     @GetMapping("/health")
     public String health() {
         return "Middleware is healthy - mTLS enabled";
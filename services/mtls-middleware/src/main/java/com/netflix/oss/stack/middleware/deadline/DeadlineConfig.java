@@ -0,0 +1,39 @@
+package com.netflix.oss.stack.middleware.deadline;
+
+import com.netflix.oss.stack.deadline.DeadlineFilter;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.deadline.DeadlineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Picks up the BFF's X-Deadline-Ms ahead of the accounting and fair-queue filters,
+ * so expired requests are dropped before they queue. The backend client passes
+ * the rest of the budget on.
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "deadline")
+    public DeadlineProperties deadlineProperties() {
+        return new DeadlineProperties();
+    }
+
+    @Bean
+    public DeadlineGuard deadlineGuard(DeadlineProperties deadlineProperties, MeterRegistry meterRegistry) {
+        return new DeadlineGuard(deadlineProperties, new DeadlineMetrics(meterRegistry));
+    }
+
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineGuard deadlineGuard) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(deadlineGuard));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
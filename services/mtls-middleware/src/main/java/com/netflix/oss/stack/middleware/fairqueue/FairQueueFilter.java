@@ -0,0 +1,164 @@
+package com.netflix.oss.stack.middleware.fairqueue;
+
+import com.netflix.oss.stack.deadline.Deadline;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineMetrics;
+import com.netflix.oss.stack.middleware.accounting.ClientTrafficRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits /middleware/process requests through the per-client fair scheduler.
+ * A client that overruns its own queue gets 429; a request that cannot be
+ * scheduled within max-wait-ms gets 503. A request with a deadline waits no
+ * longer than its deadline allows and gets 504 when that runs out first. Runs
+ * innermost so the per-client traffic accounting includes the time spent queued.
+ * Meters are tagged with the client's serial only for the accounting's top clients
+ * and clients with a configured weight; all others share client=other.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(FairQueueProperties.class)
+public class FairQueueFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FairQueueFilter.class);
+    private static final String UNKNOWN_CLIENT = "unknown";
+    private static final String OTHER_CLIENTS = "other";
+
+    private final FairQueueProperties properties;
+    private final FairScheduler scheduler;
+    private final MeterRegistry meterRegistry;
+    private final DeadlineGuard deadlineGuard;
+    private final ClientTrafficRecorder trafficRecorder;
+
+    public FairQueueFilter(FairQueueProperties properties, MeterRegistry meterRegistry, DeadlineGuard deadlineGuard,
+                           ClientTrafficRecorder trafficRecorder) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.deadlineGuard = deadlineGuard;
+        this.trafficRecorder = trafficRecorder;
+        this.scheduler = new FairScheduler(properties.getMaxConcurrent(), properties.getQueueCapacity(), properties::weightFor);
+
+        Gauge.builder("middleware.fairqueue.waiting", scheduler, FairScheduler::waiting)
+                .description("Requests waiting for an admission slot").register(meterRegistry);
+        Gauge.builder("middleware.fairqueue.backlogged.clients", scheduler, FairScheduler::backloggedClients)
+                .description("Clients with at least one queued request").register(meterRegistry);
+        logger.info("Fair queuing enabled={}: {} concurrent requests, {} queued per client, weights {}",
+                properties.isEnabled(), properties.getMaxConcurrent(), properties.getQueueCapacity(), properties.getWeights());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + "/middleware/process");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String serial = UNKNOWN_CLIENT;
+        String subject = UNKNOWN_CLIENT;
+        X509Certificate[] certs = (X509Certificate[]) request.getAttribute("jakarta.servlet.request.X509Certificate");
+        if (certs != null && certs.length > 0) {
+            serial = certs[0].getSerialNumber().toString(16).toUpperCase();
+            subject = certs[0].getSubjectX500Principal().getName();
+        }
+
+        long maxWaitMs = properties.getMaxWaitMs();
+        Deadline deadline = deadlineGuard.properties().isEnabled() ? Deadline.current() : null;
+        boolean deadlineBound = false;
+        if (deadline != null) {
+            long left = deadline.remainingMillis() - deadlineGuard.properties().getMinRemainingMs();
+            if (left < maxWaitMs) {
+                maxWaitMs = Math.max(0, left);
+                deadlineBound = true;
+            }
+        }
+
+        long start = System.nanoTime();
+        FairScheduler.Outcome outcome;
+        try {
+            outcome = scheduler.acquire(serial, subject, maxWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Interrupted while queued");
+            return;
+        }
+
+        if (outcome != FairScheduler.Outcome.QUEUE_FULL) {
+            Timer.builder("middleware.fairqueue.wait")
+                    .description("Time a request waited for an admission slot")
+                    .tag("client", clientTag(serial, subject))
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        switch (outcome) {
+            case ADMITTED -> {
+                if (deadline != null && deadline.expiresWithin(deadlineGuard.properties().getMinRemainingMs())) {
+                    scheduler.release();
+                    expired(response, serial);
+                    return;
+                }
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    scheduler.release();
+                }
+            }
+            case QUEUE_FULL -> reject(response, serial, subject, "queue_full", 429,
+                    "Too many queued requests for this client");
+            case TIMED_OUT -> {
+                if (deadlineBound) {
+                    expired(response, serial);
+                } else {
+                    reject(response, serial, subject, "timeout", HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                            "Request could not be scheduled in time");
+                }
+            }
+        }
+    }
+
+    private String clientTag(String serial, String subject) {
+        boolean weighted = properties.getWeights().containsKey(serial) || properties.getWeights().containsKey(subject);
+        return weighted || trafficRecorder.isTopClient(serial) ? serial : OTHER_CLIENTS;
+    }
+
+    private void expired(HttpServletResponse response, String serial) throws IOException {
+        deadlineGuard.metrics().expired(DeadlineMetrics.QUEUED);
+        logger.debug("Dropping request from client {}: deadline expired while queued", serial);
+        response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request deadline expired while queued");
+    }
+
+    private void reject(HttpServletResponse response, String serial, String subject, String reason, int status,
+                        String message) throws IOException {
+        Counter.builder("middleware.fairqueue.rejected")
+                .tag("client", clientTag(serial, subject))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        logger.warn("Rejecting request from client {}: {}", serial, reason);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(status, message);
+    }
+}
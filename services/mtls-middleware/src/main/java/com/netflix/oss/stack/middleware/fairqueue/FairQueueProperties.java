@@ -0,0 +1,53 @@
+package com.netflix.oss.stack.middleware.fairqueue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admission limits for /middleware/process. max-concurrent requests run at once;
+ * the rest wait in a per-client queue of queue-capacity entries. Weights are keyed
+ * by certificate serial (hex, upper case) or subject DN and scale a client's share
+ * of the free slots; unlisted clients get default-weight. Weights below 0.01
+ * (including a zero or negative default) count as 0.01, which bounds the rounds
+ * the scheduler spends topping up a queue before it may run.
+ * Keep max-concurrent plus the expected number of clients times queue-capacity
+ * below server.tomcat.threads.max, since waiting requests hold a request thread.
+ */
+@ConfigurationProperties(prefix = "middleware.fair-queue")
+public class FairQueueProperties {
+
+    private static final double MIN_WEIGHT = 0.01;
+
+    private boolean enabled = true;
+    private int maxConcurrent = 64;
+    private int queueCapacity = 32;
+    private long maxWaitMs = 2000;
+    private double defaultWeight = 1.0;
+    private Map<String, Double> weights = new LinkedHashMap<>();
+
+    public double weightFor(String serial, String subject) {
+        Double weight = weights.get(serial);
+        if (weight == null) {
+            weight = weights.get(subject);
+        }
+        if (weight == null || !(weight > 0)) {
+            weight = defaultWeight;
+        }
+        return weight >= MIN_WEIGHT ? weight : MIN_WEIGHT;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public long getMaxWaitMs() { return maxWaitMs; }
+    public void setMaxWaitMs(long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+    public double getDefaultWeight() { return defaultWeight; }
+    public void setDefaultWeight(double defaultWeight) { this.defaultWeight = defaultWeight; }
+    public Map<String, Double> getWeights() { return weights; }
+    public void setWeights(Map<String, Double> weights) { this.weights = weights; }
+}
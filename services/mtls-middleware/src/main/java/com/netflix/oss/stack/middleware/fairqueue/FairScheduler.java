@@ -0,0 +1,181 @@
+package com.netflix.oss.stack.middleware.fairqueue;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deficit round robin over per-client FIFO queues with unit cost per request.
+ * A free slot is handed straight to the caller when nobody is waiting; otherwise
+ * slots released by finished requests are granted queue by queue, each backlogged
+ * client receiving slots in proportion to its weight. A client only ever waits
+ * behind its own earlier requests and its fair share of everyone else's.
+ */
+class FairScheduler {
+
+    enum Outcome { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    interface WeightFunction {
+        double weightFor(String serial, String subject);
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ClientQueue> queues = new HashMap<>();
+    private final ArrayDeque<ClientQueue> active = new ArrayDeque<>();
+    private final int queueCapacity;
+    private final WeightFunction weights;
+
+    private int available;
+    private int waiting;
+
+    FairScheduler(int maxConcurrent, int queueCapacity, WeightFunction weights) {
+        this.available = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.weights = weights;
+    }
+
+    /**
+     * Blocks until a slot is granted, the client's queue is full, or maxWaitMs passes.
+     * Every ADMITTED outcome must be paired with {@link #release()}.
+     */
+    Outcome acquire(String serial, String subject, long maxWaitMs) throws InterruptedException {
+        Ticket ticket;
+        ClientQueue queue;
+        lock.lock();
+        try {
+            // Slots are only left free when no queue is backlogged, so this never jumps a queue
+            if (available > 0) {
+                available--;
+                return Outcome.ADMITTED;
+            }
+            queue = queues.get(serial);
+            if (queue == null) {
+                queue = new ClientQueue(serial, weights.weightFor(serial, subject));
+                queues.put(serial, queue);
+            }
+            if (queue.tickets.size() >= queueCapacity) {
+                if (!queue.active) {
+                    queues.remove(serial);
+                }
+                return Outcome.QUEUE_FULL;
+            }
+            ticket = new Ticket();
+            queue.tickets.addLast(ticket);
+            waiting++;
+            if (!queue.active) {
+                queue.active = true;
+                active.addLast(queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        boolean granted;
+        try {
+            granted = ticket.latch.await(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            if (!withdraw(queue, ticket)) {
+                release();
+            }
+            throw e;
+        }
+        return granted || !withdraw(queue, ticket) ? Outcome.ADMITTED : Outcome.TIMED_OUT;
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            if (!grantNext()) {
+                available++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int backloggedClients() {
+        lock.lock();
+        try {
+            return active.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes a ticket that stopped waiting; false if it was granted in the meantime. */
+    private boolean withdraw(ClientQueue queue, Ticket ticket) {
+        lock.lock();
+        try {
+            if (ticket.granted) {
+                return false;
+            }
+            queue.tickets.remove(ticket);
+            waiting--;
+            if (queue.tickets.isEmpty()) {
+                deactivate(queue);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Hands the caller's slot to the next ticket in DRR order; false when nobody waits. */
+    private boolean grantNext() {
+        while (!active.isEmpty()) {
+            ClientQueue queue = active.peekFirst();
+            if (queue.deficit >= 1.0) {
+                Ticket ticket = queue.tickets.pollFirst();
+                queue.deficit -= 1.0;
+                waiting--;
+                if (queue.tickets.isEmpty()) {
+                    deactivate(queue);
+                }
+                ticket.granted = true;
+                ticket.latch.countDown();
+                return true;
+            }
+            // Start of this queue's next turn: top up its quantum and let the others go first
+            queue.deficit += queue.weight;
+            active.addLast(active.pollFirst());
+        }
+        return false;
+    }
+
+    private void deactivate(ClientQueue queue) {
+        queue.deficit = 0;
+        queue.active = false;
+        active.remove(queue);
+        queues.remove(queue.serial);
+    }
+
+    private static final class ClientQueue {
+        final String serial;
+        final double weight;
+        final ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+        double deficit;
+        boolean active;
+
+        ClientQueue(String serial, double weight) {
+            this.serial = serial;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Ticket {
+        final CountDownLatch latch = new CountDownLatch(1);
+        boolean granted;
+    }
+}
@@ -0,0 +1,191 @@
+package com.netflix.oss.stack.middleware.revocation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ResourceUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces a locally supplied CRL against client certificates.
+ * The CRL is parsed once into a {@link RevokedSerialIndex} and re-read when the
+ * file's modification time changes, so request-time checks never do I/O.
+ * A CRL that fails to parse or verify is ignored and the previous index stays active.
+ */
+@Service
+public class CrlRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrlRevocationService.class);
+
+    @Value("${middleware.revocation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${middleware.revocation.crl-path:/opt/mtls-middleware/certs/crl.pem}")
+    private String crlPath;
+
+    @Value("${middleware.revocation.reload-interval-seconds:30}")
+    private long reloadIntervalSeconds;
+
+    @Value("${middleware.revocation.verify-signature:true}")
+    private boolean verifySignature;
+
+    @Value("${server.ssl.trust-store:}")
+    private String trustStorePath;
+
+    @Value("${server.ssl.trust-store-password:}")
+    private String trustStorePassword;
+
+    @Value("${server.ssl.trust-store-type:PKCS12}")
+    private String trustStoreType;
+
+    private final Timer lookupTimer;
+    private final Counter rejectedCounter;
+    private final Counter reloadSucceeded;
+    private final Counter reloadFailed;
+
+    private ScheduledExecutorService reloader;
+    private volatile Snapshot snapshot = Snapshot.NONE;
+    private volatile long loadedModified = -1;
+
+    public CrlRevocationService(MeterRegistry meterRegistry) {
+        this.lookupTimer = Timer.builder("middleware.revocation.lookup")
+                .description("Revoked-serial index lookup per request")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("middleware.revocation.rejected")
+                .description("Requests rejected because the client certificate is revoked").register(meterRegistry);
+        this.reloadSucceeded = Counter.builder("middleware.revocation.reloads").tag("result", "success").register(meterRegistry);
+        this.reloadFailed = Counter.builder("middleware.revocation.reloads").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("middleware.revocation.revoked.serials", this, service -> service.snapshot.index.size())
+                .description("Serials in the active CRL").register(meterRegistry);
+        Gauge.builder("middleware.revocation.crl.next.update", this, CrlRevocationService::secondsUntilNextUpdate)
+                .description("Seconds until the active CRL's nextUpdate; negative once stale")
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Certificate revocation checking disabled");
+            return;
+        }
+        reloadIfChanged();
+        reloader = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("crl-reload-"));
+        reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns true when the certificate's serial is on the active CRL for its issuer.
+     * Counts a rejection when it is.
+     */
+    public boolean isRevoked(X509Certificate certificate) {
+        long start = System.nanoTime();
+        Snapshot current = snapshot;
+        boolean revoked = current.issuer != null
+                && current.issuer.equals(certificate.getIssuerX500Principal())
+                && current.index.isRevoked(certificate.getSerialNumber());
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (revoked) {
+            rejectedCounter.increment();
+        }
+        return revoked;
+    }
+
+    void reloadIfChanged() {
+        Path path = Path.of(crlPath);
+        try {
+            if (!Files.isReadable(path)) {
+                if (loadedModified != 0) {
+                    logger.warn("CRL file {} not found; revocation list stays at {} serials", crlPath, snapshot.index.size());
+                    loadedModified = 0;
+                }
+                return;
+            }
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == loadedModified) {
+                return;
+            }
+            // A broken file is reported once and retried only after it changes again
+            loadedModified = modified;
+            X509CRL crl;
+            try (InputStream in = Files.newInputStream(path)) {
+                crl = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(in);
+            }
+            if (verifySignature) {
+                verify(crl);
+            }
+
+            List<BigInteger> serials = new ArrayList<>();
+            Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+            if (entries != null) {
+                for (X509CRLEntry entry : entries) {
+                    serials.add(entry.getSerialNumber());
+                }
+            }
+            snapshot = new Snapshot(RevokedSerialIndex.of(serials), crl.getIssuerX500Principal(), crl.getNextUpdate());
+            reloadSucceeded.increment();
+            logger.info("Loaded CRL {} from {}: {} revoked serials, next update {}",
+                    crl.getIssuerX500Principal().getName(), crlPath, serials.size(), crl.getNextUpdate());
+        } catch (Exception e) {
+            reloadFailed.increment();
+            logger.error("Failed to load CRL from {}, keeping previous list: {}", crlPath, e.getMessage());
+        }
+    }
+
+    private void verify(X509CRL crl) throws Exception {
+        KeyStore trustStore = KeyStore.getInstance(trustStoreType);
+        try (InputStream in = ResourceUtils.getURL(trustStorePath).openStream()) {
+            trustStore.load(in, trustStorePassword.toCharArray());
+        }
+        for (String alias : Collections.list(trustStore.aliases())) {
+            if (trustStore.getCertificate(alias) instanceof X509Certificate ca
+                    && ca.getSubjectX500Principal().equals(crl.getIssuerX500Principal())) {
+                crl.verify(ca.getPublicKey());
+                return;
+            }
+        }
+        throw new GeneralSecurityException("CRL issuer " + crl.getIssuerX500Principal().getName() + " is not in the trust store");
+    }
+
+    private double secondsUntilNextUpdate() {
+        Date nextUpdate = snapshot.nextUpdate;
+        return nextUpdate != null ? (nextUpdate.getTime() - System.currentTimeMillis()) / 1000.0 : Double.NaN;
+    }
+
+    private record Snapshot(RevokedSerialIndex index, X500Principal issuer, Date nextUpdate) {
+        static final Snapshot NONE = new Snapshot(RevokedSerialIndex.EMPTY, null, null);
+    }
+}
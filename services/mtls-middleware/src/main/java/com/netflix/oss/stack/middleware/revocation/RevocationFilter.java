@@ -0,0 +1,52 @@
+package com.netflix.oss.stack.middleware.revocation;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.cert.X509Certificate;
+
+/**
+ * Answers 403 to /middleware requests from a revoked client certificate. Runs
+ * ahead of the traffic accounting and fair queuing, so a revoked client never
+ * takes a queue slot or shows up among the tracked clients.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+public class RevocationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationFilter.class);
+
+    private final CrlRevocationService revocationService;
+
+    public RevocationFilter(CrlRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/middleware/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        X509Certificate[] certs = (X509Certificate[]) request.getAttribute("jakarta.servlet.request.X509Certificate");
+        if (certs != null && certs.length > 0 && revocationService.isRevoked(certs[0])) {
+            logger.warn("Rejecting revoked client certificate {} (serial {})",
+                    certs[0].getSubjectX500Principal().getName(),
+                    certs[0].getSerialNumber().toString(16).toUpperCase());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Client certificate has been revoked");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
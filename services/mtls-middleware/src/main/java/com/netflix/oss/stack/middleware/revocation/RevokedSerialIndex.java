@@ -0,0 +1,69 @@
+package com.netflix.oss.stack.middleware.revocation;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Immutable set of revoked certificate serials.
+ * A small bloom filter answers the common "not revoked" case without touching
+ * the exact set; only filter hits fall through to the hash lookup.
+ */
+public final class RevokedSerialIndex {
+
+    private static final int HASHES = 3;
+    private static final int BITS_PER_ENTRY = 10;
+
+    public static final RevokedSerialIndex EMPTY = new RevokedSerialIndex(Set.of());
+
+    private final long[] bits;
+    private final int bitMask;
+    private final Set<BigInteger> serials;
+
+    private RevokedSerialIndex(Set<BigInteger> serials) {
+        this.serials = serials;
+        int size = Integer.highestOneBit(Math.max(64, serials.size() * BITS_PER_ENTRY - 1) << 1);
+        this.bits = new long[size >>> 6];
+        this.bitMask = size - 1;
+        for (BigInteger serial : serials) {
+            long hash = mix(serial.hashCode());
+            for (int i = 0; i < HASHES; i++) {
+                int bit = probe(hash, i);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    public static RevokedSerialIndex of(Collection<BigInteger> serials) {
+        return serials.isEmpty() ? EMPTY : new RevokedSerialIndex(Set.copyOf(serials));
+    }
+
+    public boolean isRevoked(BigInteger serial) {
+        long hash = mix(serial.hashCode());
+        for (int i = 0; i < HASHES; i++) {
+            int bit = probe(hash, i);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return serials.contains(serial);
+    }
+
+    public int size() {
+        return serials.size();
+    }
+
+    private int probe(long hash, int i) {
+        return (int) ((hash + i * (hash >>> 32)) & bitMask);
+    }
+
+    /** Murmur3 finalizer; spreads serials that only differ in a few bits. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,21 +1,37 @@
 package com.netflix.oss.stack.middleware.service;
 
-import com.netflix.oss.stack.middleware.model.BackendResponse;
-import com.netflix.oss.stack.middleware.model.MiddlewareRequest;
+import com.netflix.oss.stack.compression.CompressionMetrics;
+import com.netflix.oss.stack.compression.CompressionProperties;
+import com.netflix.oss.stack.compression.ResponseDecompressionInterceptor;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineInterceptor;
+import com.netflix.oss.stack.deadline.DeadlineRequestFactories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
-public class BackendClient {
+@ConditionalOnProperty(name = "backend.transport", havingValue = "http", matchIfMissing = true)
+public class BackendClient implements BackendTransport {
 
     private static final Logger logger = LoggerFactory.getLogger(BackendClient.class);
 
@@ -24,28 +40,88 @@ public class BackendClient {
 
     private final RestTemplate restTemplate;
 
-    public BackendClient() {
-        this.restTemplate = new RestTemplate();
+    /**
+     * Asks the backend for compressed responses unless compression.routes.core-backend.enabled is false.
+     * Calls carry the rest of the request's deadline and time out with it.
+     */
+    public BackendClient(CompressionProperties compressionProperties, CompressionMetrics compressionMetrics,
+                         DeadlineGuard deadlineGuard) {
+        this.restTemplate = new RestTemplate(DeadlineRequestFactories.simple());
+        restTemplate.getInterceptors().add(new DeadlineInterceptor("core-backend", deadlineGuard));
+        if (compressionProperties.ruleFor("core-backend").isEnabled()) {
+            restTemplate.getInterceptors().add(new ResponseDecompressionInterceptor("core-backend",
+                    compressionProperties.getCodings(), compressionProperties.getMaxDecodedSize(), compressionMetrics));
+        }
     }
 
-    public BackendResponse forwardToBackend(MiddlewareRequest request, String clientSubject, String clientSerial) {
+    /**
+     * A caller-supplied Idempotency-Key is passed through so the backend can replay
+     * the first response to retries instead of processing the request again.
+     * A projection is passed on in X-Fields so the backend only computes and
+     * sends those fields.
+     */
+    @Override
+    public ProcessResponse forwardToBackend(ProcessRequest request, String clientSubject, String clientSerial,
+                                            String idempotencyKey, FieldSet fields) {
         String url = backendUrl + "/backend/process";
         
+        HttpHeaders headers = clientHeaders(clientSubject, clientSerial);
+        if (idempotencyKey != null) {
+            headers.set("Idempotency-Key", idempotencyKey);
+        }
+        if (!fields.isAll()) {
+            headers.set(FieldSet.HEADER, fields.toHeader());
+        }
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body(request), headers);
+
+        logger.info("Forwarding request to backend: {} with headers X-Client-Subject={}, X-Client-Serial={}", 
+                url, clientSubject, clientSerial);
+
+        return restTemplate.postForObject(url, entity, ProcessResponse.class);
+    }
+
+    /** A full backend queue (503) surfaces as {@link RejectedExecutionException}. */
+    @Override
+    public JobStatus submitToBackend(ProcessRequest request, String clientSubject, String clientSerial) {
+        String url = backendUrl + "/backend/process?async=true";
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body(request), clientHeaders(clientSubject, clientSerial));
+        logger.info("Submitting async job to backend: {} for X-Client-Serial={}", url, clientSerial);
+        try {
+            return restTemplate.postForObject(url, entity, JobStatus.class);
+        } catch (HttpServerErrorException e) {
+            if (e.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                throw new RejectedExecutionException("Backend job queue is full", e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<JobStatus> jobStatus(String jobId, String clientSerial) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Client-Serial", clientSerial);
+        try {
+            return Optional.ofNullable(restTemplate.exchange(backendUrl + "/backend/jobs/{jobId}", HttpMethod.GET,
+                    new HttpEntity<>(headers), JobStatus.class, jobId).getBody());
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    private static HttpHeaders clientHeaders(String clientSubject, String clientSerial) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("X-Client-Subject", clientSubject);
         headers.set("X-Client-Serial", clientSerial);
+        return headers;
+    }
 
+    private static Map<String, Object> body(ProcessRequest request) {
         Map<String, Object> body = new HashMap<>();
         body.put("type", request.getType());
         body.put("message", request.getMessage());
         body.put("amount", request.getAmount());
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-        logger.info("Forwarding request to backend: {} with headers X-Client-Subject={}, X-Client-Serial={}", 
-                url, clientSubject, clientSerial);
-
-        return restTemplate.postForObject(url, entity, BackendResponse.class);
+        return body;
     }
 }
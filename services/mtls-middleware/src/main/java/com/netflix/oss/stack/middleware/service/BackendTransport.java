@@ -0,0 +1,29 @@
+package com.netflix.oss.stack.middleware.service;
+
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * How the middleware reaches core-backend: over HTTP by default ({@link BackendClient}),
+ * or in-process when services/collocated runs the chain in one JVM (backend.transport: in-process).
+ * Either way the client certificate's subject and serial travel with the request.
+ */
+public interface BackendTransport {
+
+    ProcessResponse forwardToBackend(ProcessRequest request, String clientSubject, String clientSerial,
+                                     String idempotencyKey, FieldSet fields);
+
+    /**
+     * Queues the request as a backend job (async mode) and returns its initial status.
+     * Throws {@link RejectedExecutionException} when the backend's job queue is full.
+     */
+    JobStatus submitToBackend(ProcessRequest request, String clientSubject, String clientSerial);
+
+    /** The job's status, empty when the backend does not know it for this client serial. */
+    Optional<JobStatus> jobStatus(String jobId, String clientSerial);
+}
@@ -0,0 +1,63 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TLS handshake metrics for the mTLS connector.
+ * Tomcat instantiates its SSL implementation by class name, so the engines
+ * reach this bean through {@link #current()} rather than injection.
+ */
+@Component
+public class HandshakeMetrics {
+
+    private static volatile HandshakeMetrics current;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter failed;
+
+    public HandshakeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.failed = Counter.builder("middleware.tls.handshakes.failed")
+                .description("Handshakes aborted with an SSL error").register(meterRegistry);
+        current = this;
+    }
+
+    static HandshakeMetrics current() {
+        return current;
+    }
+
+    /**
+     * @param resumed    true when no client certificate verification ran, i.e. the session was resumed
+     * @param wallNanos  first handshake record to FINISHED, including network round trips
+     * @param cpuNanos   time spent inside the engine and its delegated tasks
+     */
+    void recordHandshake(boolean resumed, String protocol, String cipherSuite, long wallNanos, long cpuNanos) {
+        String type = resumed ? "resumed" : "full";
+        Counter.builder("middleware.tls.handshakes")
+                .description("Completed TLS handshakes")
+                .tag("type", type)
+                .tag("protocol", protocol)
+                .tag("cipher", cipherSuite)
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("middleware.tls.handshake.duration")
+                .tag("type", type)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(wallNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("middleware.tls.handshake.cpu")
+                .description("Engine and delegated task time per handshake")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordFailure() {
+        failed.increment();
+    }
+}
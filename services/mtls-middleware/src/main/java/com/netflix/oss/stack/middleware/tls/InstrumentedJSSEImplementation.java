@@ -0,0 +1,98 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import org.apache.tomcat.util.net.SSLContext;
+import org.apache.tomcat.util.net.SSLHostConfigCertificate;
+import org.apache.tomcat.util.net.SSLUtil;
+import org.apache.tomcat.util.net.jsse.JSSEImplementation;
+import org.apache.tomcat.util.net.jsse.JSSEUtil;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+/**
+ * Tomcat SSL implementation that hands out {@link InstrumentedSSLEngine}s.
+ * Activated on the connector by {@link TlsConnectorConfig}.
+ */
+public class InstrumentedJSSEImplementation extends JSSEImplementation {
+
+    @Override
+    public SSLUtil getSSLUtil(SSLHostConfigCertificate certificate) {
+        return new InstrumentedJSSEUtil(certificate);
+    }
+
+    static class InstrumentedJSSEUtil extends JSSEUtil {
+
+        InstrumentedJSSEUtil(SSLHostConfigCertificate certificate) {
+            super(certificate);
+        }
+
+        @Override
+        public SSLContext createSSLContextInternal(List<String> negotiableProtocols) throws NoSuchAlgorithmException {
+            return new InstrumentedSSLContext(super.createSSLContextInternal(negotiableProtocols));
+        }
+
+        @Override
+        public TrustManager[] getTrustManagers() throws Exception {
+            TrustManager[] trustManagers = super.getTrustManagers();
+            if (trustManagers == null) {
+                return null;
+            }
+            TrustManager[] wrapped = new TrustManager[trustManagers.length];
+            for (int i = 0; i < trustManagers.length; i++) {
+                wrapped[i] = trustManagers[i] instanceof X509ExtendedTrustManager extended
+                        ? new FullHandshakeTrustManager(extended)
+                        : trustManagers[i];
+            }
+            return wrapped;
+        }
+    }
+
+    static class InstrumentedSSLContext implements SSLContext {
+
+        private final SSLContext delegate;
+
+        InstrumentedSSLContext(SSLContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SSLEngine createSSLEngine() {
+            SSLEngine engine = delegate.createSSLEngine();
+            HandshakeMetrics metrics = HandshakeMetrics.current();
+            return metrics != null ? new InstrumentedSSLEngine(engine, metrics) : engine;
+        }
+
+        @Override
+        public void init(KeyManager[] kms, TrustManager[] tms, SecureRandom sr) throws KeyManagementException {
+            delegate.init(kms, tms, sr);
+        }
+
+        @Override
+        public void destroy() { delegate.destroy(); }
+
+        @Override
+        public SSLSessionContext getServerSessionContext() { return delegate.getServerSessionContext(); }
+
+        @Override
+        public SSLServerSocketFactory getServerSocketFactory() { return delegate.getServerSocketFactory(); }
+
+        @Override
+        public SSLParameters getSupportedSSLParameters() { return delegate.getSupportedSSLParameters(); }
+
+        @Override
+        public X509Certificate[] getCertificateChain(String alias) { return delegate.getCertificateChain(alias); }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() { return delegate.getAcceptedIssuers(); }
+    }
+}
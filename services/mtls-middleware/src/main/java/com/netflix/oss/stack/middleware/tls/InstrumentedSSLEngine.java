@@ -0,0 +1,192 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * SSLEngine decorator that times each handshake and reports it to
+ * {@link HandshakeMetrics} when the engine signals FINISHED.
+ */
+class InstrumentedSSLEngine extends SSLEngine {
+
+    private final SSLEngine delegate;
+    private final HandshakeMetrics metrics;
+
+    private long handshakeStart;
+    private long engineNanos;
+
+    InstrumentedSSLEngine(SSLEngine delegate, HandshakeMetrics metrics) {
+        super(delegate.getPeerHost(), delegate.getPeerPort());
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SSLEngineResult wrap(ByteBuffer[] srcs, int offset, int length, ByteBuffer dst) throws SSLException {
+        long start = beforeOperation();
+        try {
+            return afterOperation(start, delegate.wrap(srcs, offset, length, dst));
+        } catch (SSLException e) {
+            onFailure();
+            throw e;
+        }
+    }
+
+    @Override
+    public SSLEngineResult unwrap(ByteBuffer src, ByteBuffer[] dsts, int offset, int length) throws SSLException {
+        long start = beforeOperation();
+        try {
+            return afterOperation(start, delegate.unwrap(src, dsts, offset, length));
+        } catch (SSLException e) {
+            onFailure();
+            throw e;
+        }
+    }
+
+    private long beforeOperation() {
+        long now = System.nanoTime();
+        if (handshakeStart == 0 && delegate.getHandshakeStatus() != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING) {
+            handshakeStart = now;
+            engineNanos = 0;
+        }
+        return now;
+    }
+
+    private SSLEngineResult afterOperation(long start, SSLEngineResult result) {
+        if (handshakeStart == 0) {
+            return result;
+        }
+        long now = System.nanoTime();
+        engineNanos += now - start;
+        if (result.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.FINISHED) {
+            SSLSession session = delegate.getSession();
+            boolean full = session.getValue(FullHandshakeTrustManager.FULL_HANDSHAKE) != null;
+            if (full) {
+                session.removeValue(FullHandshakeTrustManager.FULL_HANDSHAKE);
+            }
+            metrics.recordHandshake(!full, session.getProtocol(), session.getCipherSuite(),
+                    now - handshakeStart, engineNanos);
+            handshakeStart = 0;
+        }
+        return result;
+    }
+
+    private void onFailure() {
+        if (handshakeStart != 0) {
+            metrics.recordFailure();
+            handshakeStart = 0;
+        }
+    }
+
+    @Override
+    public Runnable getDelegatedTask() {
+        Runnable task = delegate.getDelegatedTask();
+        if (task == null) {
+            return null;
+        }
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                engineNanos += System.nanoTime() - start;
+            }
+        };
+    }
+
+    // Plain delegation below
+
+    @Override
+    public void closeInbound() throws SSLException { delegate.closeInbound(); }
+
+    @Override
+    public boolean isInboundDone() { return delegate.isInboundDone(); }
+
+    @Override
+    public void closeOutbound() { delegate.closeOutbound(); }
+
+    @Override
+    public boolean isOutboundDone() { return delegate.isOutboundDone(); }
+
+    @Override
+    public String[] getSupportedCipherSuites() { return delegate.getSupportedCipherSuites(); }
+
+    @Override
+    public String[] getEnabledCipherSuites() { return delegate.getEnabledCipherSuites(); }
+
+    @Override
+    public void setEnabledCipherSuites(String[] suites) { delegate.setEnabledCipherSuites(suites); }
+
+    @Override
+    public String[] getSupportedProtocols() { return delegate.getSupportedProtocols(); }
+
+    @Override
+    public String[] getEnabledProtocols() { return delegate.getEnabledProtocols(); }
+
+    @Override
+    public void setEnabledProtocols(String[] protocols) { delegate.setEnabledProtocols(protocols); }
+
+    @Override
+    public SSLSession getSession() { return delegate.getSession(); }
+
+    @Override
+    public SSLSession getHandshakeSession() { return delegate.getHandshakeSession(); }
+
+    @Override
+    public void beginHandshake() throws SSLException { delegate.beginHandshake(); }
+
+    @Override
+    public SSLEngineResult.HandshakeStatus getHandshakeStatus() { return delegate.getHandshakeStatus(); }
+
+    @Override
+    public void setUseClientMode(boolean mode) { delegate.setUseClientMode(mode); }
+
+    @Override
+    public boolean getUseClientMode() { return delegate.getUseClientMode(); }
+
+    @Override
+    public void setNeedClientAuth(boolean need) { delegate.setNeedClientAuth(need); }
+
+    @Override
+    public boolean getNeedClientAuth() { return delegate.getNeedClientAuth(); }
+
+    @Override
+    public void setWantClientAuth(boolean want) { delegate.setWantClientAuth(want); }
+
+    @Override
+    public boolean getWantClientAuth() { return delegate.getWantClientAuth(); }
+
+    @Override
+    public void setEnableSessionCreation(boolean flag) { delegate.setEnableSessionCreation(flag); }
+
+    @Override
+    public boolean getEnableSessionCreation() { return delegate.getEnableSessionCreation(); }
+
+    @Override
+    public SSLParameters getSSLParameters() { return delegate.getSSLParameters(); }
+
+    @Override
+    public void setSSLParameters(SSLParameters params) { delegate.setSSLParameters(params); }
+
+    @Override
+    public String getApplicationProtocol() { return delegate.getApplicationProtocol(); }
+
+    @Override
+    public String getHandshakeApplicationProtocol() { return delegate.getHandshakeApplicationProtocol(); }
+
+    @Override
+    public void setHandshakeApplicationProtocolSelector(BiFunction<SSLEngine, List<String>, String> selector) {
+        delegate.setHandshakeApplicationProtocolSelector(selector);
+    }
+
+    @Override
+    public BiFunction<SSLEngine, List<String>, String> getHandshakeApplicationProtocolSelector() {
+        return delegate.getHandshakeApplicationProtocolSelector();
+    }
+}
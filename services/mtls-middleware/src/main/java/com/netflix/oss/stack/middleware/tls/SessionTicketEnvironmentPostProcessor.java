@@ -0,0 +1,23 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Applies middleware.tls.session-tickets to the JSSE system property. JSSE
+ * reads it once when its configuration class loads, so it must be set before
+ * the connector creates its SSLContext; the environment is ready well before that.
+ */
+public class SessionTicketEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String TICKET_PROPERTY = "jdk.tls.server.enableSessionTicketExtension";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String tickets = environment.getProperty("middleware.tls.session-tickets");
+        if (tickets != null && System.getProperty(TICKET_PROPERTY) == null) {
+            System.setProperty(TICKET_PROPERTY, tickets);
+        }
+    }
+}
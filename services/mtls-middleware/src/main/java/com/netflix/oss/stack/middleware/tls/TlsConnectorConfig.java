@@ -0,0 +1,51 @@
+package com.netflix.oss.stack.middleware.tls;
+
+import org.apache.coyote.http11.AbstractHttp11JsseProtocol;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Session resumption and handshake instrumentation for the mTLS connector.
+ * Runs after Spring Boot has applied server.ssl.* to the connector.
+ */
+@Configuration
+public class TlsConnectorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TlsConnectorConfig.class);
+
+    @Value("${middleware.tls.session-cache-size:20480}")
+    private int sessionCacheSize;
+
+    @Value("${middleware.tls.session-timeout-seconds:86400}")
+    private int sessionTimeoutSeconds;
+
+    @Value("${middleware.tls.instrumentation-enabled:true}")
+    private boolean instrumentationEnabled;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tlsConnectorCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (!(connector.getProtocolHandler() instanceof AbstractHttp11JsseProtocol<?> protocol)
+                    || !protocol.isSSLEnabled()) {
+                return;
+            }
+            for (SSLHostConfig sslHostConfig : connector.findSslHostConfigs()) {
+                sslHostConfig.setSessionCacheSize(sessionCacheSize);
+                sslHostConfig.setSessionTimeout(sessionTimeoutSeconds);
+            }
+            if (instrumentationEnabled) {
+                protocol.setSslImplementationName(InstrumentedJSSEImplementation.class.getName());
+            }
+            logger.info("TLS connector on port {}: session cache {} entries, timeout {}s, session tickets {}, instrumentation {}",
+                    connector.getPort(), sessionCacheSize, sessionTimeoutSeconds,
+                    System.getProperty(SessionTicketEnvironmentPostProcessor.TICKET_PROPERTY, "JDK default"),
+                    instrumentationEnabled);
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.netflix.oss.stack.bff.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead for one surface. Callers wait at most max-wait-ms for a
+ * permit and are rejected after that, so a saturated surface sheds load
+ * instead of holding request threads other surfaces need.
+ */
+public class Bulkhead {
+
+    private final Surface surface;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public Bulkhead(Surface surface, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.surface = surface;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.permits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("bff.bulkhead.active", this, Bulkhead::active)
+                .tag("surface", surface.tag())
+                .description("Requests in flight on the surface").register(meterRegistry);
+        Gauge.builder("bff.bulkhead.saturation", this, b -> (double) b.active() / b.maxConcurrent)
+                .tag("surface", surface.tag())
+                .description("Fraction of the surface's permits in use").register(meterRegistry);
+        this.waitTimer = Timer.builder("bff.bulkhead.wait")
+                .tag("surface", surface.tag())
+                .description("Time spent waiting for a bulkhead permit").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("bff.bulkhead.rejected")
+                .tag("surface", surface.tag())
+                .description("Requests rejected because the surface was saturated").register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejectedCounter.increment();
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public Surface getSurface() {
+        return surface;
+    }
+}
@@ -0,0 +1,103 @@
+package com.netflix.oss.stack.bff.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits each REST, SOAP and GraphQL request through its surface's bulkhead
+ * and answers 503 when the surface is saturated. Permits are held until the
+ * response completes, including async dispatches used by the GraphQL handler.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final Map<Surface, Bulkhead> bulkheads = new EnumMap<>(Surface.class);
+
+    public BulkheadFilter(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        for (Surface surface : Surface.values()) {
+            BulkheadProperties.Limits limits = properties.limitsFor(surface);
+            bulkheads.put(surface, new Bulkhead(surface, limits.getMaxConcurrent(), properties.getMaxWaitMs(), meterRegistry));
+            logger.info("Bulkhead {}: max {} concurrent requests, {} pooled connections",
+                    surface, limits.getMaxConcurrent(), limits.getMaxConnections());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Surface surface = Surface.forPath(request.getRequestURI().substring(request.getContextPath().length()));
+        if (surface == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(surface);
+        if (!bulkhead.tryAcquire()) {
+            logger.warn("Bulkhead {} saturated, rejecting {} {}", surface, request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, surface + " API is saturated");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    public Bulkhead bulkhead(Surface surface) {
+        return bulkheads.get(surface);
+    }
+
+    private static final class ReleasingListener implements AsyncListener {
+        private final Runnable release;
+
+        ReleasingListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) { release.run(); }
+
+        @Override
+        public void onTimeout(AsyncEvent event) { release.run(); }
+
+        @Override
+        public void onError(AsyncEvent event) { release.run(); }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
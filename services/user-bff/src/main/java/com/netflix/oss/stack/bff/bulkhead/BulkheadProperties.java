@@ -0,0 +1,52 @@
+package com.netflix.oss.stack.bff.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-surface limits. max-concurrent caps in-flight requests on the surface,
+ * max-connections sizes its own mTLS connection pool to the middleware.
+ * Keep the sum of max-concurrent below server.tomcat.threads.max so every
+ * surface keeps its share of request threads.
+ */
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private long maxWaitMs = 50;
+    private Limits rest = new Limits(80, 40);
+    private Limits soap = new Limits(50, 25);
+    private Limits graphql = new Limits(50, 25);
+
+    public Limits limitsFor(Surface surface) {
+        return switch (surface) {
+            case REST -> rest;
+            case SOAP -> soap;
+            case GRAPHQL -> graphql;
+        };
+    }
+
+    public long getMaxWaitMs() { return maxWaitMs; }
+    public void setMaxWaitMs(long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+    public Limits getRest() { return rest; }
+    public void setRest(Limits rest) { this.rest = rest; }
+    public Limits getSoap() { return soap; }
+    public void setSoap(Limits soap) { this.soap = soap; }
+    public Limits getGraphql() { return graphql; }
+    public void setGraphql(Limits graphql) { this.graphql = graphql; }
+
+    public static class Limits {
+        private int maxConcurrent;
+        private int maxConnections;
+
+        public Limits() {}
+
+        public Limits(int maxConcurrent, int maxConnections) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+    }
+}
@@ -0,0 +1,34 @@
+package com.netflix.oss.stack.bff.bulkhead;
+
+/**
+ * Public API surfaces of the BFF, each isolated in its own bulkhead.
+ */
+public enum Surface {
+    REST("/api/rest"),
+    SOAP("/ws"),
+    GRAPHQL("/graphql");
+
+    private final String pathPrefix;
+
+    Surface(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Surface serving the given path (without context path), or null for
+     * paths outside the three APIs such as actuator and GraphiQL.
+     */
+    public static Surface forPath(String path) {
+        for (Surface surface : values()) {
+            if (path.startsWith(surface.pathPrefix)
+                    && (path.length() == surface.pathPrefix.length() || path.charAt(surface.pathPrefix.length()) == '/')) {
+                return surface;
+            }
+        }
+        return null;
+    }
+}
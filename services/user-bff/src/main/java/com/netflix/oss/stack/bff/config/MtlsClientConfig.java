@@ -1,15 +1,26 @@
 package com.netflix.oss.stack.bff.config;
 
+import com.netflix.oss.stack.bff.bulkhead.BulkheadProperties;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.compression.CompressionMetrics;
+import com.netflix.oss.stack.compression.CompressionProperties;
+import com.netflix.oss.stack.compression.ResponseDecompressionInterceptor;
+import com.netflix.oss.stack.deadline.DeadlineGuard;
+import com.netflix.oss.stack.deadline.DeadlineInterceptor;
+import com.netflix.oss.stack.deadline.DeadlineRequestFactories;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -17,6 +28,8 @@ import org.springframework.web.client.RestTemplate;
 
 import javax.net.ssl.SSLContext;
 import java.io.File;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Configuration
 public class MtlsClientConfig {
@@ -36,7 +49,26 @@ public class MtlsClientConfig {
     private String truststorePassword;
 
     @Bean
-    public RestTemplate mtlsRestTemplate() {
+    @ConfigurationProperties(prefix = "compression")
+    public CompressionProperties compressionProperties() {
+        return new CompressionProperties();
+    }
+
+    @Bean
+    public CompressionMetrics compressionMetrics(MeterRegistry meterRegistry) {
+        return new CompressionMetrics(meterRegistry);
+    }
+
+    /**
+     * Separate pools per surface so a burst on one API cannot take the
+     * connections another API needs; sized by bulkhead.*.max-connections.
+     * Responses are requested compressed unless compression.routes.mtls-middleware.enabled is false.
+     * Calls carry the rest of the request's deadline, which also bounds the pool wait and response timeout.
+     */
+    @Bean
+    public MtlsRestTemplates mtlsRestTemplates(BulkheadProperties bulkheadProperties, MeterRegistry meterRegistry,
+                                               CompressionProperties compressionProperties,
+                                               CompressionMetrics compressionMetrics, DeadlineGuard deadlineGuard) {
         try {
             File keystoreFile = new File(keystorePath);
             File truststoreFile = new File(truststorePath);
@@ -44,42 +76,86 @@ public class MtlsClientConfig {
             logger.info("Loading mTLS keystore from: {}", keystorePath);
             logger.info("Loading mTLS truststore from: {}", truststorePath);
 
+            SSLContext sslContext = null;
             if (!keystoreFile.exists()) {
                 logger.warn("Keystore file not found: {}. Using default RestTemplate.", keystorePath);
-                return new RestTemplate();
-            }
-
-            if (!truststoreFile.exists()) {
+            } else if (!truststoreFile.exists()) {
                 logger.warn("Truststore file not found: {}. Using default RestTemplate.", truststorePath);
-                return new RestTemplate();
+            } else {
+                sslContext = SSLContextBuilder.create()
+                        .loadKeyMaterial(keystoreFile, keystorePassword.toCharArray(), keystorePassword.toCharArray())
+                        .loadTrustMaterial(truststoreFile, truststorePassword.toCharArray())
+                        .build();
             }
 
-            SSLContext sslContext = SSLContextBuilder.create()
-                    .loadKeyMaterial(keystoreFile, keystorePassword.toCharArray(), keystorePassword.toCharArray())
-                    .loadTrustMaterial(truststoreFile, truststorePassword.toCharArray())
-                    .build();
-
-            SSLConnectionSocketFactory sslSocketFactory = SSLConnectionSocketFactoryBuilder.create()
-                    .setSslContext(sslContext)
-                    .build();
-
-            HttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-                    .setSSLSocketFactory(sslSocketFactory)
-                    .build();
-
-            CloseableHttpClient httpClient = HttpClients.custom()
-                    .setConnectionManager(connectionManager)
-                    .build();
-
-            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-            requestFactory.setConnectTimeout(10000);
+            Map<Surface, RestTemplate> templates = new EnumMap<>(Surface.class);
+            Map<Surface, PoolingHttpClientConnectionManager> pools = new EnumMap<>(Surface.class);
+            for (Surface surface : Surface.values()) {
+                int maxConnections = bulkheadProperties.limitsFor(surface).getMaxConnections();
+                RestTemplate restTemplate;
+                if (sslContext != null) {
+                    PoolingHttpClientConnectionManager pool = buildConnectionManager(sslContext, surface,
+                            maxConnections, meterRegistry);
+                    pools.put(surface, pool);
+                    restTemplate = buildRestTemplate(pool);
+                } else {
+                    restTemplate = new RestTemplate(DeadlineRequestFactories.simple());
+                }
+                restTemplate.getInterceptors().add(new DeadlineInterceptor("mtls-middleware", deadlineGuard));
+                if (compressionProperties.ruleFor("mtls-middleware").isEnabled()) {
+                    restTemplate.getInterceptors().add(new ResponseDecompressionInterceptor("mtls-middleware",
+                            compressionProperties.getCodings(), compressionProperties.getMaxDecodedSize(),
+                            compressionMetrics));
+                }
+                templates.put(surface, restTemplate);
+            }
 
-            logger.info("mTLS RestTemplate configured successfully");
-            return new RestTemplate(requestFactory);
+            if (sslContext != null) {
+                logger.info("mTLS RestTemplates configured successfully");
+            }
+            return new MtlsRestTemplates(templates, pools);
 
         } catch (Exception e) {
             logger.error("Failed to configure mTLS RestTemplate: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to configure mTLS client", e);
         }
     }
+
+    private PoolingHttpClientConnectionManager buildConnectionManager(SSLContext sslContext, Surface surface,
+                                                                      int maxConnections, MeterRegistry meterRegistry) {
+        SSLConnectionSocketFactory sslSocketFactory = SSLConnectionSocketFactoryBuilder.create()
+                .setSslContext(sslContext)
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(sslSocketFactory)
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .build();
+
+        Gauge.builder("bff.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .tag("surface", surface.tag()).register(meterRegistry);
+        Gauge.builder("bff.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .tag("surface", surface.tag()).register(meterRegistry);
+        Gauge.builder("bff.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .tag("surface", surface.tag()).register(meterRegistry);
+        return connectionManager;
+    }
+
+    private RestTemplate buildRestTemplate(PoolingHttpClientConnectionManager connectionManager) {
+        // Content decoding is left to ResponseDecompressionInterceptor, which also knows zstd.
+        // Every connection carries the same client certificate, so they are not stamped with
+        // the TLS principal as user state: otherwise requests, which lease with no state,
+        // could never reuse them and the warm-up connections would sit idle.
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableContentCompression()
+                .disableConnectionState()
+                .build();
+
+        HttpComponentsClientHttpRequestFactory requestFactory = DeadlineRequestFactories.httpComponents(httpClient);
+        requestFactory.setConnectTimeout(10000);
+
+        return new RestTemplate(requestFactory);
+    }
 }
@@ -0,0 +1,82 @@
+package com.netflix.oss.stack.bff.config;
+
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One mTLS RestTemplate per API surface, each backed by its own connection pool.
+ */
+public class MtlsRestTemplates {
+
+    private static final Logger logger = LoggerFactory.getLogger(MtlsRestTemplates.class);
+
+    private final Map<Surface, RestTemplate> templates;
+    private final Map<Surface, PoolingHttpClientConnectionManager> pools;
+
+    public MtlsRestTemplates(Map<Surface, RestTemplate> templates) {
+        this(templates, Map.of());
+    }
+
+    public MtlsRestTemplates(Map<Surface, RestTemplate> templates,
+                             Map<Surface, PoolingHttpClientConnectionManager> pools) {
+        this.templates = new EnumMap<>(templates);
+        this.pools = pools.isEmpty() ? Map.of() : new EnumMap<>(pools);
+    }
+
+    public RestTemplate forSurface(Surface surface) {
+        return templates.get(surface);
+    }
+
+    /**
+     * Opens up to {@code connections} connections, TLS handshake included, to the
+     * origin of {@code url} in the surface's pool and leaves them idle for requests
+     * to reuse. All are leased at once so the pool has to open distinct sockets.
+     * Returns how many are pooled afterwards; 0 when the surface has no mTLS pool.
+     */
+    public int preconnect(Surface surface, String url, int connections, Timeout timeout, TimeValue keepAlive) {
+        PoolingHttpClientConnectionManager pool = pools.get(surface);
+        if (pool == null || connections <= 0) {
+            return 0;
+        }
+        URI uri = URI.create(url);
+        HttpHost target = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort() != -1 ? uri.getPort()
+                : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        HttpRoute route = new HttpRoute(target, null, "https".equalsIgnoreCase(uri.getScheme()));
+        int wanted = Math.min(connections, pool.getMaxPerRoute(route));
+
+        List<ConnectionEndpoint> leased = new ArrayList<>(wanted);
+        try {
+            for (int i = 0; i < wanted; i++) {
+                ConnectionEndpoint endpoint = pool.lease("warmup-" + surface.tag() + "-" + i, route, timeout, null)
+                        .get(timeout);
+                leased.add(endpoint);
+                if (!endpoint.isConnected()) {
+                    pool.connect(endpoint, timeout, HttpClientContext.create());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Pre-connecting {} pool to {} stopped after {} of {} connections: {}",
+                    surface, target, leased.size(), wanted, e.getMessage());
+        } finally {
+            for (ConnectionEndpoint endpoint : leased) {
+                pool.release(endpoint, null, endpoint.isConnected() ? keepAlive : TimeValue.ZERO_MILLISECONDS);
+            }
+        }
+        return pool.getStats(route).getAvailable();
+    }
+}
@@ -0,0 +1,128 @@
+package com.netflix.oss.stack.bff.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated documents by query text, and implements
+ * automatic persisted queries: a request carrying
+ * extensions.persistedQuery.sha256Hash is served from the hash alone once the
+ * full query has been registered; on a miss the client gets
+ * PersistedQueryNotFound and retries with the query, which registers it.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+
+    private final Cache<String, String> persistedQueries;
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Timer parseValidateTimer;
+    private final Counter persistedHits;
+    private final Counter persistedMisses;
+    private final Counter persistedRegistered;
+
+    public DocumentCache(Cache<String, String> persistedQueries, Cache<String, PreparsedDocumentEntry> documents,
+                         MeterRegistry meterRegistry) {
+        this.persistedQueries = persistedQueries;
+        this.documents = documents;
+        this.parseValidateTimer = Timer.builder("bff.graphql.parse.validate")
+                .description("Time spent parsing and validating documents not found in the cache")
+                .register(meterRegistry);
+        this.persistedHits = Counter.builder("bff.graphql.persisted.queries").tag("result", "hit").register(meterRegistry);
+        this.persistedMisses = Counter.builder("bff.graphql.persisted.queries").tag("result", "miss").register(meterRegistry);
+        this.persistedRegistered = Counter.builder("bff.graphql.persisted.queries").tag("result", "registered").register(meterRegistry);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String hash = persistedQueryHash(executionInput);
+        if (hash == null) {
+            return cachedDocument(executionInput, parseAndValidate);
+        }
+
+        String query = persistedQueries.getIfPresent(hash);
+        if (query != null) {
+            persistedHits.increment();
+        } else {
+            query = executionInput.getQuery();
+            if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                persistedMisses.increment();
+                PersistedQueryNotFound notFound = new PersistedQueryNotFound(hash);
+                return error(notFound.getMessage(), notFound.getExtensions());
+            }
+            if (!hash.equalsIgnoreCase(sha256(query))) {
+                PersistedQueryIdInvalid invalid = new PersistedQueryIdInvalid(hash);
+                return error(invalid.getMessage(), invalid.getExtensions());
+            }
+            persistedQueries.put(hash, query);
+            persistedRegistered.increment();
+        }
+
+        String resolvedQuery = query;
+        ExecutionInput resolvedInput = resolvedQuery.equals(executionInput.getQuery())
+                ? executionInput
+                : executionInput.transform(builder -> builder.query(resolvedQuery));
+        return cachedDocument(resolvedInput, parseAndValidate);
+    }
+
+    private PreparsedDocumentEntry cachedDocument(ExecutionInput executionInput,
+                                                  Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry != null) {
+            return entry;
+        }
+
+        long start = System.nanoTime();
+        entry = parseAndValidate.apply(executionInput);
+        parseValidateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Invalid documents are not cached so they cannot evict the hot operations
+        if (!entry.hasErrors()) {
+            documents.put(query, entry);
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String persistedQueryHash(ExecutionInput executionInput) {
+        Object persistedQuery = executionInput.getExtensions().get("persistedQuery");
+        if (persistedQuery instanceof Map<?, ?> map) {
+            Object hash = ((Map<String, Object>) map).get("sha256Hash");
+            return hash instanceof String value ? value : null;
+        }
+        return null;
+    }
+
+    private static PreparsedDocumentEntry error(String message, Map<String, Object> extensions) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message(message)
+                .extensions(extensions)
+                .build());
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.netflix.oss.stack.bff.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphQlCacheConfig {
+
+    @Value("${graphql.cache.max-documents:1000}")
+    private long maxDocuments;
+
+    @Value("${graphql.cache.max-persisted-queries:10000}")
+    private long maxPersistedQueries;
+
+    @Bean
+    public DocumentCache documentCache(MeterRegistry meterRegistry) {
+        Cache<String, PreparsedDocumentEntry> documents = Caffeine.newBuilder()
+                .maximumSize(maxDocuments)
+                .recordStats()
+                .build();
+        Cache<String, String> persistedQueries = Caffeine.newBuilder()
+                .maximumSize(maxPersistedQueries)
+                .recordStats()
+                .build();
+
+        // Hit rates and sizes as cache.gets{cache=...}, cache.size{cache=...}
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+        CaffeineCacheMetrics.monitor(meterRegistry, persistedQueries, "graphql.persisted.queries");
+
+        return new DocumentCache(persistedQueries, documents, meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(DocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+}
@@ -0,0 +1,200 @@
+package com.netflix.oss.stack.bff.graphql;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Spring for GraphQL rejects requests without a "query" before any
+ * PreparsedDocumentProvider runs, but hash-only persisted query requests have
+ * none. This filter fills in graphql-java's persisted query marker for such
+ * requests so {@link DocumentCache} can resolve the hash. It reads the body's
+ * top-level keys with a streaming parser and stops at the first "query" key,
+ * so only the bytes read up to there are held and replayed ahead of the rest
+ * of the stream; only hash-only requests are fully read and rewritten.
+ */
+@Component
+public class PersistedQueryRequestFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    public PersistedQueryRequestFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !request.getRequestURI().substring(request.getContextPath().length()).startsWith("/graphql");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        InputStream in = request.getInputStream();
+        ByteArrayOutputStream consumed = new ByteArrayOutputStream();
+
+        boolean persistedQueryOnly;
+        try (JsonParser parser = objectMapper.getFactory().createParser(new TeeInputStream(in, consumed))) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            persistedQueryOnly = isPersistedQueryOnly(parser);
+        } catch (JsonProcessingException e) {
+            // Not ours to reject; let Spring for GraphQL answer the malformed body
+            persistedQueryOnly = false;
+        }
+
+        if (!persistedQueryOnly) {
+            InputStream body = new SequenceInputStream(new ByteArrayInputStream(consumed.toByteArray()), in);
+            chain.doFilter(new ReplayedBodyRequest(request, body, -1), response);
+            return;
+        }
+
+        consumed.write(in.readAllBytes());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = objectMapper.readValue(consumed.toByteArray(), Map.class);
+        payload.put("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        chain.doFilter(new ReplayedBodyRequest(request, new ByteArrayInputStream(body), body.length), response);
+    }
+
+    /** True for an object with extensions.persistedQuery and no top-level "query"; stops at "query". */
+    private static boolean isPersistedQueryOnly(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        boolean persistedQuery = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            if ("query".equals(name)) {
+                return false;
+            }
+            JsonToken value = parser.nextToken();
+            if ("extensions".equals(name) && value == JsonToken.START_OBJECT) {
+                JsonNode extensions = parser.readValueAsTree();
+                persistedQuery = extensions.has("persistedQuery");
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return persistedQuery;
+    }
+
+    /** Copies every byte read from the stream into {@code copy}. */
+    private static final class TeeInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream copy;
+
+        TeeInputStream(InputStream in, ByteArrayOutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                copy.write(b, off, n);
+            }
+            return n;
+        }
+    }
+
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+        private final InputStream body;
+        private final long length;
+
+        /** {@code length} -1 keeps the original request's content length. */
+        ReplayedBodyRequest(HttpServletRequest request, InputStream body, long length) {
+            super(request);
+            this.body = body;
+            this.length = length;
+        }
+
+        @Override
+        public int getContentLength() {
+            return length < 0 ? super.getContentLength() : (int) length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return length < 0 ? super.getContentLengthLong() : length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = body.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The filter has already read (part of) the body in blocking mode and the
+                 * stream is always ready, so the listener is called back right away.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    Objects.requireNonNull(listener, "listener");
+                    try {
+                        listener.onDataAvailable();
+                        if (finished) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (Throwable t) {
+                        listener.onError(t);
+                    }
+                }
+            };
+        }
+    }
+}
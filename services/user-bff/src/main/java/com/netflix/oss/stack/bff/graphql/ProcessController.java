@@ -1,8 +1,12 @@
 package com.netflix.oss.stack.bff.graphql;
 
-import com.netflix.oss.stack.bff.model.MiddlewareResponse;
-import com.netflix.oss.stack.bff.model.ProcessRequest;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
 import com.netflix.oss.stack.bff.service.MiddlewareClient;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.SelectedField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,17 +28,23 @@ public class ProcessController {
         return "GraphQL API is healthy";
     }
 
+    /** Only the fields selected on ProcessedResponse are computed and sent back by the hops below. */
     @MutationMapping
     public ProcessedResponse process(
             @Argument String type,
             @Argument String message,
-            @Argument Double amount) {
+            @Argument Double amount,
+            DataFetchingEnvironment environment) {
         
         logger.info("GraphQL API - Received process mutation: type={}, message={}, amount={}", type, message, amount);
 
+        FieldSet fields = FieldSet.of(environment.getSelectionSet().getImmediateFields().stream()
+                .map(SelectedField::getName)
+                .toList());
+
         // Create request and call middleware via mTLS
         ProcessRequest request = new ProcessRequest(type, message, amount);
-        MiddlewareResponse middlewareResponse = middlewareClient.callMiddleware(request);
+        MiddlewareResponse middlewareResponse = middlewareClient.callMiddleware(request, Surface.GRAPHQL, fields);
 
         // Convert to GraphQL response type
         ProcessedResponse response = new ProcessedResponse();
@@ -1,14 +1,22 @@
 package com.netflix.oss.stack.bff.rest;
 
-import com.netflix.oss.stack.bff.model.MiddlewareResponse;
-import com.netflix.oss.stack.bff.model.ProcessRequest;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
 import com.netflix.oss.stack.bff.service.MiddlewareClient;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/rest")
 public class RestApiController {
@@ -18,18 +26,54 @@ public class RestApiController {
     @Autowired
     private MiddlewareClient middlewareClient;
 
+    /**
+     * fields= is a comma-separated sparse fieldset over the flat response field
+     * names (as in the GraphQL ProcessedResponse); it is passed down so the
+     * middleware and backend skip the rest. Unknown names answer 400.
+     */
     @PostMapping("/echo")
-    public ResponseEntity<MiddlewareResponse> echo(@RequestBody ProcessRequest request) {
+    public ResponseEntity<MiddlewareResponse> echo(@RequestBody ProcessRequest request,
+                                                   @RequestParam(value = "fields", required = false) String fields) {
         logger.info("REST API - Received echo request: type={}, message={}, amount={}",
                 request.getType(), request.getMessage(), request.getAmount());
 
+        if (!FieldSet.unknown(fields).isEmpty()) {
+            logger.warn("REST API - Unknown fields requested: {}", FieldSet.unknown(fields));
+            return ResponseEntity.badRequest().build();
+        }
+
         // Call middleware via mTLS
-        MiddlewareResponse response = middlewareClient.callMiddleware(request);
+        MiddlewareResponse response = middlewareClient.callMiddleware(request, Surface.REST, FieldSet.parse(fields));
 
         logger.info("REST API - Response received with cert subject: {}", response.getClientCertSubject());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Async mode: the request becomes a core-backend job and the answer is 202 with
+     * the job to poll at /api/rest/jobs/{jobId}; no BFF, middleware or backend
+     * request thread waits for the processing. A full job queue answers 503.
+     */
+    @PostMapping(value = "/echo", params = "async=true")
+    public ResponseEntity<JobStatus> echoAsync(@RequestBody ProcessRequest request) {
+        logger.info("REST API - Received async echo request: type={}", request.getType());
+        try {
+            JobStatus job = middlewareClient.submitJob(request, Surface.REST);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/rest/jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobStatus> jobStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(middlewareClient.jobStatus(jobId, Surface.REST));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("REST API is healthy");
@@ -0,0 +1,92 @@
+package com.netflix.oss.stack.bff.service;
+
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.bff.config.MtlsRestTemplates;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * POSTs to the middleware over mTLS through the connection pool reserved for the
+ * calling surface; the client certificate is the BFF's identity.
+ */
+@Service
+@ConditionalOnProperty(name = "middleware.transport", havingValue = "http", matchIfMissing = true)
+public class HttpMiddlewareTransport implements MiddlewareTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpMiddlewareTransport.class);
+
+    private final MtlsRestTemplates mtlsRestTemplates;
+
+    @Value("${middleware.url:https://localhost:8443}")
+    private String middlewareUrl;
+
+    public HttpMiddlewareTransport(MtlsRestTemplates mtlsRestTemplates) {
+        this.mtlsRestTemplates = mtlsRestTemplates;
+    }
+
+    @Override
+    public MiddlewareResponse process(ProcessRequest request, Surface surface, FieldSet fields,
+                                      String idempotencyKey) {
+        String url = middlewareUrl + "/middleware/process";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (!fields.isAll()) {
+            headers.set(FieldSet.HEADER, fields.toHeader());
+        }
+        headers.set("Idempotency-Key", idempotencyKey);
+
+        HttpEntity<ProcessRequest> entity = new HttpEntity<>(request, headers);
+
+        logger.info("Calling middleware via mTLS at: {} ({} pool)", url, surface);
+
+        RestTemplate restTemplate = mtlsRestTemplates.forSurface(surface);
+        return restTemplate.postForObject(url, entity, MiddlewareResponse.class);
+    }
+
+    /** A full backend queue (503 from the middleware) surfaces as {@link RejectedExecutionException}. */
+    @Override
+    public JobStatus submit(ProcessRequest request, Surface surface) {
+        String url = middlewareUrl + "/middleware/process?async=true";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        logger.info("Submitting async job via mTLS at: {} ({} pool)", url, surface);
+        try {
+            return mtlsRestTemplates.forSurface(surface).postForObject(url, new HttpEntity<>(request, headers),
+                    JobStatus.class);
+        } catch (HttpServerErrorException e) {
+            if (e.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                throw new RejectedExecutionException("Backend job queue is full", e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<JobStatus> jobStatus(String jobId, Surface surface) {
+        try {
+            return Optional.ofNullable(mtlsRestTemplates.forSurface(surface)
+                    .getForObject(middlewareUrl + "/middleware/jobs/{jobId}", JobStatus.class, jobId));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,50 +1,108 @@
 package com.netflix.oss.stack.bff.service;
 
-import com.netflix.oss.stack.bff.model.MiddlewareResponse;
-import com.netflix.oss.stack.bff.model.ProcessRequest;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.bff.warmup.WarmupStub;
+import com.netflix.oss.stack.compression.DecodedSizeExceededException;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.deadline.DeadlineExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class MiddlewareClient {
 
     private static final Logger logger = LoggerFactory.getLogger(MiddlewareClient.class);
 
-    private final RestTemplate mtlsRestTemplate;
-
-    @Value("${middleware.url:https://localhost:8443}")
-    private String middlewareUrl;
+    private final MiddlewareTransport transport;
+    private final WarmupStub warmupStub;
 
-    public MiddlewareClient(@Qualifier("mtlsRestTemplate") RestTemplate mtlsRestTemplate) {
-        this.mtlsRestTemplate = mtlsRestTemplate;
+    public MiddlewareClient(MiddlewareTransport transport, WarmupStub warmupStub) {
+        this.transport = transport;
+        this.warmupStub = warmupStub;
     }
 
-    public MiddlewareResponse callMiddleware(ProcessRequest request) {
-        String url = middlewareUrl + "/middleware/process";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    public MiddlewareResponse callMiddleware(ProcessRequest request, Surface surface) {
+        return callMiddleware(request, surface, FieldSet.ALL);
+    }
 
-        HttpEntity<ProcessRequest> entity = new HttpEntity<>(request, headers);
+    /**
+     * Calls the middleware through the {@link MiddlewareTransport}, over the connection
+     * pool reserved for the calling surface unless the chain is collocated.
+     * Synthetic warm-up requests are answered by {@link WarmupStub} instead. When the
+     * request's deadline runs out the call is abandoned with {@link DeadlineExceededException} (504).
+     * Only the projected fields are asked for downstream, and only those are filled in.
+     * The call carries the client's Idempotency-Key, or a fresh one when it sent none,
+     * so the backend can replay rather than repeat it if it is retried on the way.
+     */
+    public MiddlewareResponse callMiddleware(ProcessRequest request, Surface surface, FieldSet fields) {
+        if (warmupStub.isWarmupRequest()) {
+            return project(warmupStub.respond(request, surface), fields);
+        }
 
-        logger.info("Calling middleware via mTLS at: {}", url);
         logger.debug("Request: type={}, message={}, amount={}", 
                 request.getType(), request.getMessage(), request.getAmount());
 
         try {
-            MiddlewareResponse response = mtlsRestTemplate.postForObject(url, entity, MiddlewareResponse.class);
+            MiddlewareResponse response = transport.process(request, surface, fields, idempotencyKey());
             logger.info("Middleware response received successfully");
-            return response;
+            return project(response, fields);
+        } catch (DeadlineExceededException | DecodedSizeExceededException e) {
+            logger.warn("Middleware call abandoned: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to call middleware: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to call middleware via mTLS", e);
         }
     }
+
+    /**
+     * Queues the request as a backend job; the BFF thread is released as soon as the
+     * job is accepted. A full queue is passed on as {@link RejectedExecutionException}.
+     */
+    public JobStatus submitJob(ProcessRequest request, Surface surface) {
+        try {
+            return transport.submit(request, surface);
+        } catch (RejectedExecutionException | DeadlineExceededException e) {
+            logger.warn("Async submission refused: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to submit job via middleware: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to submit job via mTLS", e);
+        }
+    }
+
+    public Optional<JobStatus> jobStatus(String jobId, Surface surface) {
+        try {
+            return transport.jobStatus(jobId, surface);
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to poll job {} via middleware: {}", jobId, e.getMessage(), e);
+            throw new RuntimeException("Failed to poll job via mTLS", e);
+        }
+    }
+
+    private static String idempotencyKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String key = attributes.getRequest().getHeader("Idempotency-Key");
+            if (key != null && !key.isBlank()) {
+                return key;
+            }
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static MiddlewareResponse project(MiddlewareResponse response, FieldSet fields) {
+        return response == null || fields.isAll() ? response : response.withFields(fields);
+    }
 }
@@ -0,0 +1,30 @@
+package com.netflix.oss.stack.bff.service;
+
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.contract.FieldSet;
+import com.netflix.oss.stack.contract.JobStatus;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * How {@link MiddlewareClient} reaches mtls-middleware: over mTLS by default
+ * ({@link HttpMiddlewareTransport}), or in-process when services/collocated runs
+ * the chain in one JVM (middleware.transport: in-process).
+ */
+public interface MiddlewareTransport {
+
+    /** Asks for the given fields only; the response may still carry the others. */
+    MiddlewareResponse process(ProcessRequest request, Surface surface, FieldSet fields, String idempotencyKey);
+
+    /**
+     * Queues the request as a core-backend job through the middleware's async mode.
+     * Throws {@link RejectedExecutionException} when the job queue is full.
+     */
+    JobStatus submit(ProcessRequest request, Surface surface);
+
+    /** The job's status, empty when it is unknown (or belongs to another client). */
+    Optional<JobStatus> jobStatus(String jobId, Surface surface);
+}
@@ -1,9 +1,9 @@
 package com.netflix.oss.stack.bff.soap;
 
-import com.netflix.oss.stack.bff.model.MiddlewareResponse;
-import com.netflix.oss.stack.bff.model.ProcessRequest;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
 import com.netflix.oss.stack.bff.service.MiddlewareClient;
-import jakarta.xml.bind.JAXBElement;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +13,6 @@ import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 import org.w3c.dom.Element;
 
-import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 
@@ -28,7 +27,7 @@ public class ProcessEndpoint {
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "ProcessRequestMessage")
     @ResponsePayload
-    public JAXBElement<Element> processRequest(@RequestPayload Element requestElement) {
+    public Element processRequest(@RequestPayload Element requestElement) {
         logger.info("SOAP Endpoint - Received ProcessRequest");
 
         try {
@@ -41,17 +40,14 @@ public class ProcessEndpoint {
 
             // Create process request and call middleware
             ProcessRequest processRequest = new ProcessRequest(type, message, amount);
-            MiddlewareResponse middlewareResponse = middlewareClient.callMiddleware(processRequest);
+            MiddlewareResponse middlewareResponse = middlewareClient.callMiddleware(processRequest, Surface.SOAP);
 
             // Build response
             Element responseElement = buildResponseElement(middlewareResponse);
             
             logger.info("SOAP API - Response built with cert subject: {}", middlewareResponse.getClientCertSubject());
             
-            return new JAXBElement<>(
-                    new QName(NAMESPACE_URI, "ProcessResponseMessage"),
-                    Element.class,
-                    responseElement);
+            return responseElement;
 
         } catch (Exception e) {
             logger.error("SOAP API - Error processing request: {}", e.getMessage(), e);
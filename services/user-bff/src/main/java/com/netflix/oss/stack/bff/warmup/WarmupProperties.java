@@ -0,0 +1,33 @@
+package com.netflix.oss.stack.bff.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Warm-up run between startup and taking traffic. connections-per-surface is
+ * capped by each surface's bulkhead max-connections; keep-alive-seconds should
+ * stay below the middleware's idle timeout so pre-opened connections are still
+ * usable when the first real requests arrive.
+ */
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+    private int connectionsPerSurface = 8;
+    private int requestsPerSurface = 100;
+    private int concurrency = 4;
+    private int timeoutSeconds = 60;
+    private int keepAliveSeconds = 50;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getConnectionsPerSurface() { return connectionsPerSurface; }
+    public void setConnectionsPerSurface(int connectionsPerSurface) { this.connectionsPerSurface = connectionsPerSurface; }
+    public int getRequestsPerSurface() { return requestsPerSurface; }
+    public void setRequestsPerSurface(int requestsPerSurface) { this.requestsPerSurface = requestsPerSurface; }
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    public int getTimeoutSeconds() { return timeoutSeconds; }
+    public void setTimeoutSeconds(int timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
+    public int getKeepAliveSeconds() { return keepAliveSeconds; }
+    public void setKeepAliveSeconds(int keepAliveSeconds) { this.keepAliveSeconds = keepAliveSeconds; }
+}
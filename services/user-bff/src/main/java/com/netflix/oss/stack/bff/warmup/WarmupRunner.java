@@ -0,0 +1,225 @@
+package com.netflix.oss.stack.bff.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.bff.config.MtlsRestTemplates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the instance out of Eureka's UP set until it is warm. Once the
+ * application is ready, each surface's mTLS pool gets connections-per-surface
+ * connections opened to the middleware, then synthetic REST, SOAP and GraphQL
+ * requests are sent to this instance over loopback (answered by {@link WarmupStub})
+ * to get the request paths class-loaded and JIT-compiled. The instance is marked
+ * UP afterwards, also when warm-up fails or runs past timeout-seconds.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String SOAP_REQUEST = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" \
+            xmlns:bff="http://netflix.oss.stack/bff/soap"><soapenv:Header/><soapenv:Body>\
+            <bff:ProcessRequestMessage><bff:type>warmup</bff:type><bff:message>warm-up</bff:message>\
+            <bff:amount>1.0</bff:amount></bff:ProcessRequestMessage></soapenv:Body></soapenv:Envelope>""";
+    private static final String REST_REQUEST = "{\"type\":\"warmup\",\"message\":\"warm-up\",\"amount\":1.0}";
+    private static final String GRAPHQL_REQUEST = "{\"query\":\"mutation { process(type: \\\"warmup\\\", "
+            + "message: \\\"warm-up\\\", amount: 1.0) { requestId originalType originalMessage originalAmount "
+            + "computedOutput processedBy timestamp clientCertSubject middlewareProcessed } }\"}";
+
+    private final WarmupProperties properties;
+    private final MtlsRestTemplates mtlsRestTemplates;
+    private final WarmupStub stub;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    @Value("${middleware.url:https://localhost:8443}")
+    private String middlewareUrl;
+
+    public WarmupRunner(WarmupProperties properties, MtlsRestTemplates mtlsRestTemplates, WarmupStub stub,
+                        ObjectProvider<EurekaInstanceConfigBean> instanceConfig,
+                        ObjectProvider<ApplicationInfoManager> applicationInfoManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mtlsRestTemplates = mtlsRestTemplates;
+        this.stub = stub;
+        this.applicationInfoManager = applicationInfoManager;
+        this.meterRegistry = meterRegistry;
+        if (properties.isEnabled()) {
+            // Registration happens before ApplicationReadyEvent. STARTING rather than OUT_OF_SERVICE:
+            // the server keeps a client-registered OUT_OF_SERVICE and would ignore the later UP
+            instanceConfig.ifAvailable(config -> config.setInitialStatus(InstanceInfo.InstanceStatus.STARTING));
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.isEnabled() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null) {
+            markUp();
+            return;
+        }
+        int port = webContext.getWebServer().getPort();
+        Thread thread = new Thread(() -> run(port), "bff-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(int port) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(properties.getTimeoutSeconds());
+        Map<Surface, Integer> pooled = new EnumMap<>(Surface.class);
+        int[] outcome = new int[2];
+        try {
+            for (Surface surface : Surface.values()) {
+                pooled.put(surface, mtlsRestTemplates.preconnect(surface, middlewareUrl,
+                        properties.getConnectionsPerSurface(), Timeout.ofSeconds(10),
+                        TimeValue.ofSeconds(properties.getKeepAliveSeconds())));
+            }
+            long connected = System.nanoTime();
+            record("connections", connected - start);
+            logger.info("Warm-up opened mTLS connections in {} ms: {}",
+                    TimeUnit.NANOSECONDS.toMillis(connected - start), pooled);
+
+            exercise(port, deadline, outcome);
+            record("traffic", System.nanoTime() - connected);
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up failed, taking traffic anyway: {}", e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            record("total", elapsed);
+            logger.info("Warm-up finished in {} ms: {} synthetic requests, {} failed; marking instance UP",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), outcome[0] + outcome[1], outcome[1]);
+            markUp();
+        }
+    }
+
+    /** Interleaves requests-per-surface requests on every surface across the configured number of threads. */
+    private void exercise(int port, long deadline, int[] outcome) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(10000);
+        RestTemplate loopback = new RestTemplate(requestFactory);
+        String base = "http://localhost:" + port;
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "bff-warmup-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < properties.getRequestsPerSurface(); i++) {
+                for (Surface surface : Surface.values()) {
+                    executor.execute(() -> {
+                        if (System.nanoTime() - deadline >= 0) {
+                            return;
+                        }
+                        boolean ok = send(loopback, base, surface);
+                        (ok ? succeeded : failed).incrementAndGet();
+                        Counter.builder("bff.warmup.requests")
+                                .tag("surface", surface.tag())
+                                .tag("outcome", ok ? "success" : "failure")
+                                .register(meterRegistry).increment();
+                    });
+                }
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warn("Warm-up traffic still running after {}s, abandoning it", properties.getTimeoutSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            outcome[0] = succeeded.get();
+            outcome[1] = failed.get();
+        }
+    }
+
+    private boolean send(RestTemplate loopback, String base, Surface surface) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(WarmupStub.TOKEN_HEADER, stub.token());
+        String url;
+        String body;
+        switch (surface) {
+            case REST -> {
+                url = base + "/api/rest/echo";
+                body = REST_REQUEST;
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+            case SOAP -> {
+                url = base + "/ws";
+                body = SOAP_REQUEST;
+                headers.setContentType(MediaType.TEXT_XML);
+                headers.set("SOAPAction", "\"\"");
+            }
+            default -> {
+                url = base + "/graphql";
+                body = GRAPHQL_REQUEST;
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+        }
+        try {
+            ResponseEntity<String> response = loopback.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers),
+                    String.class);
+            String responseBody = response.getBody();
+            return response.getStatusCode().is2xxSuccessful() && responseBody != null
+                    && responseBody.contains("warm-up") && !responseBody.contains("\"errors\"");
+        } catch (RuntimeException e) {
+            logger.debug("Warm-up {} request failed: {}", surface, e.getMessage());
+            return false;
+        }
+    }
+
+    private void record(String phase, long nanos) {
+        Timer.builder("bff.warmup.duration")
+                .description("Time spent warming up before registering UP")
+                .tag("phase", phase)
+                .register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void markUp() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.netflix.oss.stack.bff.warmup;
+
+import com.netflix.oss.stack.bff.bulkhead.Surface;
+import com.netflix.oss.stack.bff.config.MtlsRestTemplates;
+import com.netflix.oss.stack.contract.MiddlewareResponse;
+import com.netflix.oss.stack.contract.ProcessRequest;
+import com.netflix.oss.stack.contract.ProcessResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Stands in for the middleware during warm-up so synthetic requests run the whole
+ * BFF stack without processing anything downstream. Warm-up requests carry a
+ * per-process random token; for those, the middleware call becomes a GET of its
+ * health endpoint over the surface's pooled mTLS connection and a canned response.
+ */
+@Component
+public class WarmupStub {
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private final MtlsRestTemplates mtlsRestTemplates;
+    private final byte[] token;
+
+    @Value("${middleware.url:https://localhost:8443}")
+    private String middlewareUrl;
+
+    public WarmupStub(MtlsRestTemplates mtlsRestTemplates) {
+        this.mtlsRestTemplates = mtlsRestTemplates;
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        this.token = HexFormat.of().formatHex(random).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    String token() {
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    /** True when the request being handled on this thread was sent by the warm-up. */
+    public boolean isWarmupRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String header = servletAttributes.getRequest().getHeader(TOKEN_HEADER);
+        return header != null && MessageDigest.isEqual(token, header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public MiddlewareResponse respond(ProcessRequest request, Surface surface) {
+        mtlsRestTemplates.forSurface(surface).getForObject(middlewareUrl + "/middleware/health", String.class);
+
+        ProcessResponse backend = ProcessResponse.builder()
+                .requestId(UUID.randomUUID().toString())
+                .originalType(request.getType())
+                .originalMessage(request.getMessage())
+                .originalAmount(request.getAmount())
+                .computedOutput("warm-up")
+                .processedBy("user-bff-warmup")
+                .timestamp(Instant.now().toString())
+                .build();
+
+        return MiddlewareResponse.builder()
+                .backendResponse(backend)
+                .clientCertSubject("")
+                .clientCertSerial("")
+                .build();
+    }
+}
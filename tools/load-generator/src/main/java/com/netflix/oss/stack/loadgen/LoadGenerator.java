@@ -0,0 +1,197 @@
+package com.netflix.oss.stack.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the gateway. Requests are sent at a fixed
+ * arrival rate whether or not earlier ones have answered, spread over the
+ * routes by --mix, and latency is measured from each request's scheduled send
+ * time so a stalled system cannot hide its queueing delay (coordinated omission).
+ * Requests scheduled during --warmup are sent but not recorded.
+ *
+ * <pre>
+ * LoadGenerator [--target URL] [--rate REQ_PER_SEC] [--duration SECONDS] [--warmup SECONDS]
+ *               [--mix rest=1,soap=1,graphql=1] [--timeout-ms MS] [--max-in-flight N]
+ *               [--report-dir DIR] [--name NAME]
+ * </pre>
+ * Writes NAME-report.json and one HdrHistogram percentile file per route
+ * (NAME-ROUTE.hgrm, milliseconds) into the report directory.
+ */
+public final class LoadGenerator {
+
+    private static final int REPORT_INTERVAL_SECONDS = 5;
+
+    private final LoadOptions options;
+    private final HttpClient client;
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(options.timeoutMillis()))
+                .build();
+        options.mix().keySet().forEach(route -> stats.put(route, new RouteStats(route)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("Driving %s at %.1f req/s for %ds (+%ds warm-up), mix %s%n", options.target(),
+                options.rate(), options.durationSeconds(), options.warmupSeconds(), options.mix());
+        LoadGenerator generator = new LoadGenerator(options);
+        long elapsedNanos = generator.run();
+        LoadReport report = new LoadReport(options, generator.stats, elapsedNanos);
+        report.print(System.out);
+        report.write();
+    }
+
+    /** Runs warm-up and measurement; returns the measured window's length in nanoseconds. */
+    private long run() {
+        Route[] schedule = schedule(options.mix());
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long firstReport = TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime())
+                + TimeUnit.SECONDS.toMillis(REPORT_INTERVAL_SECONDS);
+        reporter.scheduleAtFixedRate(() -> printInterval(measureFrom), firstReport,
+                TimeUnit.SECONDS.toMillis(REPORT_INTERVAL_SECONDS), TimeUnit.MILLISECONDS);
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * nanosPerRequest);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            waitUntil(scheduled);
+            send(schedule[(int) (i % schedule.length)], scheduled, scheduled - measureFrom >= 0);
+        }
+
+        // Let outstanding requests finish or time out before the final sample
+        long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.timeoutMillis() + 1000L);
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        reporter.shutdownNow();
+        stats.values().forEach(RouteStats::sample);
+        return end - measureFrom;
+    }
+
+    private void send(Route route, long scheduled, boolean measured) {
+        RouteStats routeStats = stats.get(route);
+        if (inFlight.get() >= options.maxInFlight()) {
+            if (measured) {
+                routeStats.drop();
+            }
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.target() + route.path()))
+                .timeout(Duration.ofMillis(options.timeoutMillis()))
+                .header("Content-Type", route.contentType())
+                .POST(HttpRequest.BodyPublishers.ofString(route.body()))
+                .build();
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long completed = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            String error;
+            if (failure != null) {
+                error = describe(failure);
+            } else if (!route.succeeded(response.statusCode(), response.body())) {
+                error = response.statusCode() == 200 ? "invalid_body" : "http_" + response.statusCode();
+            } else {
+                error = null;
+            }
+            routeStats.record(scheduled, sent, completed, error);
+        });
+    }
+
+    private void printInterval(long measureFrom) {
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - measureFrom);
+        StringBuilder line = new StringBuilder(String.format("[%4ds]", elapsed));
+        for (RouteStats routeStats : stats.values()) {
+            Histogram interval = routeStats.sample();
+            line.append(String.format("  %s %.1f req/s p50 %.1fms p99 %.1fms", routeStats.route().tag(),
+                    interval.getTotalCount() / (double) REPORT_INTERVAL_SECONDS,
+                    interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0));
+        }
+        line.append(String.format("  in-flight %d", inFlight.get()));
+        System.out.println(line);
+    }
+
+    /** Smooth weighted round robin, so e.g. rest=2,soap=1 sends rest, soap, rest rather than rest, rest, soap. */
+    static Route[] schedule(Map<Route, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Map<Route, Integer> current = new EnumMap<>(Route.class);
+        mix.keySet().forEach(route -> current.put(route, 0));
+        List<Route> order = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Route best = null;
+            for (Map.Entry<Route, Integer> entry : mix.entrySet()) {
+                int value = current.merge(entry.getKey(), entry.getValue(), Integer::sum);
+                if (best == null || value > current.get(best)) {
+                    best = entry.getKey();
+                }
+            }
+            current.merge(best, -total, Integer::sum);
+            order.add(best);
+        }
+        return order.toArray(Route[]::new);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ConnectException) {
+            return "connect";
+        }
+        return "io";
+    }
+}
@@ -0,0 +1,75 @@
+package com.netflix.oss.stack.loadgen;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options; see {@link LoadGenerator} for the usage line.
+ */
+record LoadOptions(String target, double rate, int durationSeconds, int warmupSeconds, Map<Route, Integer> mix,
+                   int timeoutMillis, int maxInFlight, Path reportDir, String name) {
+
+    static final String USAGE = "Usage: LoadGenerator [--target URL] [--rate REQ_PER_SEC] [--duration SECONDS] "
+            + "[--warmup SECONDS] [--mix rest=1,soap=1,graphql=1] [--timeout-ms MS] [--max-in-flight N] "
+            + "[--report-dir DIR] [--name NAME]";
+
+    static LoadOptions parse(String[] args) {
+        String target = "http://localhost:8080";
+        double rate = 50;
+        int duration = 60;
+        int warmup = 10;
+        Map<Route, Integer> mix = parseMix("rest=1,soap=1,graphql=1");
+        int timeout = 5000;
+        int maxInFlight = 2000;
+        Path reportDir = Path.of("reports");
+        String name = "load";
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help") || option.equals("-h")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--target" -> target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--duration" -> duration = Integer.parseInt(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--mix" -> mix = parseMix(value);
+                case "--timeout-ms" -> timeout = Integer.parseInt(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--report-dir" -> reportDir = Path.of(value);
+                case "--name" -> name = value;
+                default -> throw new IllegalArgumentException("Unknown option " + option + "\n" + USAGE);
+            }
+        }
+        if (rate <= 0 || duration <= 0 || warmup < 0 || timeout <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, duration, timeout-ms and max-in-flight must be positive, "
+                    + "warmup must not be negative");
+        }
+        return new LoadOptions(target, rate, duration, warmup, mix, timeout, maxInFlight, reportDir, name);
+    }
+
+    /** "rest=2,graphql=1": relative share of each route; routes left out get no traffic. */
+    static Map<Route, Integer> parseMix(String value) {
+        Map<Route, Integer> mix = new EnumMap<>(Route.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix " + value);
+            }
+            if (weight > 0) {
+                mix.put(Route.forTag(pair[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix selects no route: " + value);
+        }
+        return mix;
+    }
+}
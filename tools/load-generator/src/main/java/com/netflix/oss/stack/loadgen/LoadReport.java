@@ -0,0 +1,141 @@
+package com.netflix.oss.stack.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a run: per route and overall throughput, error counts and
+ * response/service time percentiles, written as JSON next to the sanity reports
+ * plus an HdrHistogram percentile distribution (.hgrm) of response times per route.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadOptions options;
+    private final Map<Route, RouteStats> stats;
+    private final double seconds;
+    private final Histogram allResponseTime = new Histogram(RouteStats.HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram allServiceTime = new Histogram(RouteStats.HIGHEST_TRACKABLE_MICROS, 3);
+
+    LoadReport(LoadOptions options, Map<Route, RouteStats> stats, long elapsedNanos) {
+        this.options = options;
+        this.stats = stats;
+        this.seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        stats.values().forEach(route -> {
+            allResponseTime.add(route.responseTime());
+            allServiceTime.add(route.serviceTime());
+        });
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-8s %8s %8s %8s %10s %9s %9s %9s %9s %9s%n", "route", "requests", "errors", "dropped",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long errors = 0;
+        long dropped = 0;
+        for (RouteStats route : stats.values()) {
+            printRow(out, route.route().tag(), route.responseTime(), route.failed(), route.dropped());
+            errors += route.failed();
+            dropped += route.dropped();
+        }
+        printRow(out, "all", allResponseTime, errors, dropped);
+        out.printf("Latency is measured from each request's scheduled send time (corrected for coordinated omission).%n");
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errors, long dropped) {
+        out.printf("%-8s %8d %8d %8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getTotalCount(),
+                errors, dropped, histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(options.reportDir());
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        long succeeded = 0;
+        long dropped = 0;
+        Map<String, Long> errors = new TreeMap<>();
+        for (RouteStats route : stats.values()) {
+            routes.put(route.route().tag(), summary(route.responseTime(), route.serviceTime(), route.succeeded(),
+                    route.dropped(), route.errors()));
+            succeeded += route.succeeded();
+            dropped += route.dropped();
+            route.errors().forEach((error, count) -> errors.merge(error, count, Long::sum));
+
+            Path hgrm = options.reportDir().resolve(options.name() + "-" + route.route().tag() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                route.responseTime().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Map<String, Object> mix = new LinkedHashMap<>();
+        options.mix().forEach((route, weight) -> mix.put(route.tag(), weight));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString());
+        report.put("target", options.target());
+        report.put("offered_rate_per_second", options.rate());
+        report.put("duration_seconds", options.durationSeconds());
+        report.put("warmup_seconds", options.warmupSeconds());
+        report.put("timeout_ms", options.timeoutMillis());
+        report.put("mix", mix);
+        report.put("latency_basis", "response_time_ms is measured from the scheduled send time "
+                + "(corrected for coordinated omission), service_time_ms from the actual send");
+        report.put("summary", summary(allResponseTime, allServiceTime, succeeded, dropped, errors));
+        report.put("routes", routes);
+
+        Path json = options.reportDir().resolve(options.name() + "-report.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+        System.out.println("Report written to " + json.toAbsolutePath());
+    }
+
+    private Map<String, Object> summary(Histogram responseTime, Histogram serviceTime, long succeeded, long dropped,
+                                        Map<String, Long> errors) {
+        long failed = errors.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", responseTime.getTotalCount());
+        summary.put("succeeded", succeeded);
+        summary.put("failed", failed);
+        summary.put("dropped", dropped);
+        summary.put("errors", errors);
+        summary.put("throughput_per_second", round(responseTime.getTotalCount() / seconds));
+        summary.put("success_throughput_per_second", round(succeeded / seconds));
+        summary.put("response_time_ms", percentiles(responseTime));
+        summary.put("service_time_ms", percentiles(serviceTime));
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (histogram.getTotalCount() == 0) {
+            return values;
+        }
+        values.put("min", histogram.getMinValue() / 1000.0);
+        values.put("mean", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile).replace('.', '_')), millis(histogram, percentile));
+        }
+        values.put("max", histogram.getMaxValue() / 1000.0);
+        return values;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
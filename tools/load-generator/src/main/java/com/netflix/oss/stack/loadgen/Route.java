@@ -0,0 +1,63 @@
+package com.netflix.oss.stack.loadgen;
+
+import java.util.Locale;
+
+/**
+ * Gateway routes driven by the load generator, with the same requests and
+ * success checks as scripts/sanity/run_sanity.sh.
+ */
+public enum Route {
+
+    REST("/api/rest/echo", "application/json",
+            "{\"type\":\"LOAD_TEST\",\"message\":\"Hello from load test\",\"amount\":123.45}"),
+
+    SOAP("/ws", "text/xml", """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" \
+            xmlns:soap="http://netflix.oss.stack/bff/soap"><soapenv:Header/><soapenv:Body>\
+            <soap:ProcessRequestMessage><soap:type>LOAD_TEST</soap:type>\
+            <soap:message>Hello from SOAP load test</soap:message><soap:amount>456.78</soap:amount>\
+            </soap:ProcessRequestMessage></soapenv:Body></soapenv:Envelope>"""),
+
+    GRAPHQL("/graphql", "application/json",
+            "{\"query\":\"mutation { process(type: \\\"LOAD_TEST\\\", message: \\\"Hello from GraphQL load test\\\", "
+                    + "amount: 789.01) { requestId originalType originalMessage originalAmount computedOutput "
+                    + "processedBy instanceInfo timestamp clientCertSubject clientCertSerial middlewareProcessed } }\"}");
+
+    private final String path;
+    private final String contentType;
+    private final String body;
+
+    Route(String path, String contentType, String body) {
+        this.path = path;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String body() {
+        return body;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Same check as the sanity suite: 200 with mTLS proof and a computed output. */
+    public boolean succeeded(int status, String responseBody) {
+        return status == 200 && responseBody != null
+                && responseBody.contains("clientCertSubject") && responseBody.contains("computedOutput")
+                && (this != GRAPHQL || !responseBody.contains("\"errors\""));
+    }
+
+    public static Route forTag(String tag) {
+        return valueOf(tag.trim().toUpperCase(Locale.ROOT));
+    }
+}
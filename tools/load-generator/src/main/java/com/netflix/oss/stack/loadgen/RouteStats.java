@@ -0,0 +1,99 @@
+package com.netflix.oss.stack.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one route, in microseconds. Response time runs from
+ * the request's scheduled start, so time a late send spent waiting is counted
+ * (corrected for coordinated omission); service time runs from the actual send.
+ * Recorders are written by response threads and sampled by the reporter into
+ * running totals.
+ */
+final class RouteStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Route route;
+    private final Recorder responseRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram responseTime = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private Histogram responseInterval;
+    private Histogram serviceInterval;
+
+    RouteStats(Route route) {
+        this.route = route;
+    }
+
+    Route route() {
+        return route;
+    }
+
+    /** Records a completed or failed request; error is null on success. */
+    void record(long scheduledNanos, long sentNanos, long completedNanos, String error) {
+        responseRecorder.recordValue(toMicros(completedNanos - scheduledNanos));
+        serviceRecorder.recordValue(toMicros(completedNanos - sentNanos));
+        if (error == null) {
+            succeeded.increment();
+        } else {
+            errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+        }
+    }
+
+    /** A request that was due but not sent because max-in-flight requests were outstanding. */
+    void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Moves what was recorded since the previous call into the totals and returns
+     * the response times of that interval.
+     */
+    synchronized Histogram sample() {
+        responseInterval = responseRecorder.getIntervalHistogram(responseInterval);
+        serviceInterval = serviceRecorder.getIntervalHistogram(serviceInterval);
+        responseTime.add(responseInterval);
+        serviceTime.add(serviceInterval);
+        return responseInterval;
+    }
+
+    Histogram responseTime() {
+        return responseTime;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long failed() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((error, count) -> counts.put(error, count.sum()));
+        return counts;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)), HIGHEST_TRACKABLE_MICROS);
+    }
+}